@@ -0,0 +1,39 @@
+package com.ticket.adapters.jpa;
+
+import com.ticket.dto.TicketCountDto;
+import com.ticket.entity.ArchivedTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedTicketRepositoryJpa extends JpaRepository<ArchivedTicket, Long> {
+
+    // Closed tickets have no closedDate before it is stamped, so their age falls back to createdDate.
+    @Query(value = "SELECT id FROM ticket WHERE status = 'CLOSED' AND COALESCE(closed_date, created_date) < :cutoff " +
+            "ORDER BY id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockClosedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO archived_ticket (id, description, status, created_date, assigned_date, resolved_date, " +
+            "closed_date, resolution_summary, assigned_agent_id, archived_date) " +
+            "SELECT t.id, t.description, t.status, t.created_date, t.assigned_date, t.resolved_date, t.closed_date, " +
+            "t.resolution_summary, t.assigned_agent_id, :archivedDate FROM ticket t WHERE t.id IN (:ticketIds)",
+            nativeQuery = true)
+    int copyFromTickets(@Param("ticketIds") Collection<Long> ticketIds, @Param("archivedDate") LocalDateTime archivedDate);
+
+    @Modifying
+    @Query(value = "DELETE FROM ticket WHERE id IN (:ticketIds)", nativeQuery = true)
+    int deleteTickets(@Param("ticketIds") Collection<Long> ticketIds);
+
+    @Query("select new com.ticket.dto.TicketCountDto(t.assignedAgent.id, t.status, count(t)) from ArchivedTicket t " +
+            "group by t.assignedAgent.id, t.status")
+    List<TicketCountDto> countByAgentAndStatus();
+}
@@ -0,0 +1,13 @@
+package com.ticket.adapters.jpa;
+
+import com.ticket.entity.ImportProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportProgressRepositoryJpa extends JpaRepository<ImportProgress, ImportProgress.Key> {
+
+    List<ImportProgress> findByFileName(String fileName);
+}
@@ -0,0 +1,31 @@
+package com.ticket.adapters.jpa;
+
+import com.ticket.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepositoryJpa extends JpaRepository<OutboxEvent, Long> {
+
+    // Rows locked by another relay are skipped rather than waited for, so relays on several nodes drain disjoint batches.
+    @Query(value = "SELECT * FROM outbox_event ORDER BY id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    // Copies the ticket's current status and agent in the same statement, so conditional updates stay read-free.
+    @Modifying
+    @Query(value = "INSERT INTO outbox_event (id, ticket_id, type, previous_status, status, assigned_agent_id, created_date) " +
+            "SELECT NEXT VALUE FOR outbox_event_seq, t.id, :type, :previousStatus, t.status, t.assigned_agent_id, :createdDate " +
+            "FROM ticket t WHERE t.id = :ticketId",
+            nativeQuery = true)
+    int appendForTicket(@Param("ticketId") Long ticketId,
+                        @Param("type") String type,
+                        @Param("previousStatus") String previousStatus,
+                        @Param("createdDate") LocalDateTime createdDate);
+}
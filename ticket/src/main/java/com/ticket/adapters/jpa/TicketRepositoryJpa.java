@@ -1,11 +1,53 @@
 package com.ticket.adapters.jpa;
 
+import com.ticket.dto.TicketCountDto;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
 import com.ticket.entity.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 
 @Repository
 public interface TicketRepositoryJpa extends JpaRepository<Ticket, Long> {
 
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Ticket t set t.status = :target, t.version = t.version + 1, " +
+            "t.resolvedDate = coalesce(:resolvedDate, t.resolvedDate), t.closedDate = coalesce(:closedDate, t.closedDate) " +
+            "where t.id = :ticketId and t.status = :expected")
+    int updateStatusIfCurrent(@Param("ticketId") Long ticketId,
+                              @Param("expected") Status expected,
+                              @Param("target") Status target,
+                              @Param("resolvedDate") LocalDateTime resolvedDate,
+                              @Param("closedDate") LocalDateTime closedDate);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Ticket t set t.status = com.ticket.entity.Status.IN_PROGRESS, t.assignedAgent = :agent, " +
+            "t.assignedDate = :assignedDate, t.version = t.version + 1 " +
+            "where t.id = :ticketId and t.status = com.ticket.entity.Status.NEW")
+    int assignAgentIfNew(@Param("ticketId") Long ticketId,
+                         @Param("agent") Agent agent,
+                         @Param("assignedDate") LocalDateTime assignedDate);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Ticket t set t.status = com.ticket.entity.Status.CLOSED, t.closedDate = :closedDate, " +
+            "t.version = t.version + 1 " +
+            "where t.id = :ticketId and t.status = com.ticket.entity.Status.RESOLVED " +
+            "and t.resolutionSummary is not null and t.resolutionSummary <> ''")
+    int closeIfResolvedWithSummary(@Param("ticketId") Long ticketId, @Param("closedDate") LocalDateTime closedDate);
+
+    // Walks idx_ticket_agent_status_created_date in group order rather than the ticket rows.
+    @Query("select new com.ticket.dto.TicketCountDto(t.assignedAgent.id, t.status, count(t)) from Ticket t " +
+            "group by t.assignedAgent.id, t.status")
+    List<TicketCountDto> countByAgentAndStatus();
 }
@@ -0,0 +1,108 @@
+package com.ticket.adapters.memory;
+
+import com.ticket.entity.Status;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A fixed range of {@link #SIZE} rows with their status and agent bitsets. Each segment has its own lock, so writers
+ * to different segments never contend and a reader intersects one segment's bitsets while writers continue in the
+ * others. Rows are also readable without the lock, for callers that walk the date index and check each record.
+ */
+final class IndexSegment {
+
+    static final int SHIFT = 16;
+    static final int SIZE = 1 << SHIFT;
+    static final int MASK = SIZE - 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicReferenceArray<TicketRecord> rows = new AtomicReferenceArray<>(SIZE);
+    private final EnumMap<Status, BitSet> byStatus = new EnumMap<>(Status.class);
+    private final Map<Long, BitSet> byAgent = new HashMap<>();
+    private int highestRow = -1;
+
+    IndexSegment() {
+        for (Status status : Status.values()) {
+            byStatus.put(status, new BitSet(SIZE));
+        }
+    }
+
+    TicketRecord get(int row) {
+        return rows.get(row & MASK);
+    }
+
+    void put(TicketRecord previous, TicketRecord current) {
+        int bit = current.row() & MASK;
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                byStatus.get(previous.status()).clear(bit);
+                if (previous.agentId() != null) {
+                    byAgent.get(previous.agentId()).clear(bit);
+                }
+            }
+            byStatus.get(current.status()).set(bit);
+            if (current.agentId() != null) {
+                byAgent.computeIfAbsent(current.agentId(), id -> new BitSet()).set(bit);
+            }
+            rows.set(bit, current);
+            highestRow = Math.max(highestRow, bit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Passes every record of this segment whose bits match {@code statuses} (null for any) and {@code agentId} (null
+     * for any) and that satisfies {@code predicate} to {@code sink}. The bitsets are intersected under the read lock,
+     * so each record is seen in a state consistent with the bits that selected it.
+     */
+    void collect(EnumSet<Status> statuses, Long agentId, Predicate<TicketRecord> predicate, Consumer<TicketRecord> sink) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = null;
+            if (statuses != null) {
+                candidates = new BitSet(SIZE);
+                for (Status status : statuses) {
+                    candidates.or(byStatus.get(status));
+                }
+            }
+            if (agentId != null) {
+                BitSet agentRows = byAgent.get(agentId);
+                if (agentRows == null) {
+                    return;
+                }
+                if (candidates == null) {
+                    candidates = (BitSet) agentRows.clone();
+                } else {
+                    candidates.and(agentRows);
+                }
+            }
+            if (candidates == null) {
+                for (int bit = 0; bit <= highestRow; bit++) {
+                    offer(rows.get(bit), predicate, sink);
+                }
+                return;
+            }
+            for (int bit = candidates.nextSetBit(0); bit >= 0; bit = candidates.nextSetBit(bit + 1)) {
+                offer(rows.get(bit), predicate, sink);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void offer(TicketRecord record, Predicate<TicketRecord> predicate, Consumer<TicketRecord> sink) {
+        if (record != null && predicate.test(record)) {
+            sink.accept(record);
+        }
+    }
+}
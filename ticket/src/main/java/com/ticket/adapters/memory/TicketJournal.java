@@ -0,0 +1,426 @@
+package com.ticket.adapters.memory;
+
+import com.ticket.entity.Agent;
+import com.ticket.entity.Ticket;
+import com.ticket.util.TicketCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Durable history of the in-memory store: an append-only log of ticket mutations in memory-mapped segment files, and
+ * snapshots of every ticket that let old segments be deleted.
+ * <p>
+ * Positions in the log (LSNs) are byte offsets across all segments, and a segment file is named after the LSN of its
+ * first byte. A log entry is {@code [payload length][CRC32C][payload]}; the payload is the mutation kind and the full
+ * state of the ticket after it, in {@link TicketCodec} form, so replaying entries in order, keeping the highest version
+ * of each ticket, rebuilds the store. Appending only encodes into the mapped segment. Writers then wait in {@link #awaitDurable(long)}, where one of
+ * them forces the segment to disk for everyone that appended before it started: concurrent saves share a single sync.
+ * <p>
+ * A snapshot is taken without stopping writers for longer than it takes to roll the log to a new segment. The caller
+ * holds back every write that is logged but not yet applied while {@link #startSnapshot()} rolls, so every entry before
+ * the snapshot's LSN is visible to the snapshot; recovery loads the snapshot and replays the log from that LSN, so any
+ * ticket the snapshot missed or caught mid-update is corrected by the entries after it.
+ */
+final class TicketJournal implements AutoCloseable {
+
+    enum Mutation { CREATE, ASSIGN, RESOLVE, CLOSE, UPDATE }
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x54534e31;
+    private static final int ENTRY_HEADER = 2 * Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+
+    // A lock rather than a monitor: rolling a segment forces and maps files while holding it, which would pin the
+    // carrier of a virtual thread.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private FileChannel segmentChannel;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private long appendedLsn;
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final AtomicLong durableLsn = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    private volatile long snapshotLsn;
+
+    /**
+     * Opens the journal in {@code directory}, creating it if needed. Call {@link #recover} before appending.
+     */
+    TicketJournal(Path directory, int segmentSize, boolean sync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Feeds the latest snapshot and then every logged entry after it to {@code restore}, in log order, and opens a new
+     * segment for appending. Entries only hold agent ids, which {@code agents} resolves. Replay stops within a segment at the first torn or corrupt entry: it was never
+     * acknowledged, because every acknowledged entry was synced together with all entries before it.
+     */
+    void recover(Consumer<TicketRecord> restore, LongFunction<Agent> agents) {
+        try {
+            List<Long> snapshots = listLsns(SNAPSHOT_SUFFIX);
+            long replayFrom = 0;
+            if (!snapshots.isEmpty()) {
+                replayFrom = snapshots.get(snapshots.size() - 1);
+                // The log before it is gone, so there is nothing to fall back to.
+                if (!readSnapshot(file(replayFrom, SNAPSHOT_SUFFIX), restore, agents)) {
+                    throw new IllegalStateException("Ticket snapshot " + replayFrom + " in " + directory
+                            + " is corrupt");
+                }
+            }
+            snapshotLsn = replayFrom;
+
+            long end = replayFrom;
+            for (long start : listLsns(SEGMENT_SUFFIX)) {
+                if (start >= replayFrom) {
+                    end = Math.max(end, start + replayLog(file(start, SEGMENT_SUFFIX), restore, agents));
+                }
+            }
+            appendLock.lock();
+            try {
+                // A new segment, so nothing is ever appended after a torn entry.
+                openSegment(end);
+            } finally {
+                appendLock.unlock();
+            }
+            durableLsn.set(end);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Logs {@code current}, which replaces {@code previous} (null for a new ticket), and returns the LSN to wait for.
+     * Callers append under the ticket's lock so that entries for one ticket are logged in version order.
+     */
+    long append(TicketRecord previous, TicketRecord current) {
+        Mutation mutation = mutation(previous, current);
+        Ticket ticket = current.toTicket();
+        int maxEntrySize = ENTRY_HEADER + 1 + TicketCodec.maxEncodedSize(ticket);
+        CRC32C crc = new CRC32C();
+        appendLock.lock();
+        try {
+            if (maxEntrySize > segment.remaining()) {
+                if (maxEntrySize > segmentSize) {
+                    throw new IllegalArgumentException("Ticket " + current.id() + " does not fit in a log segment");
+                }
+                rollSegment();
+            }
+            // Encoded straight into the mapped segment; the header is filled in once the length is known.
+            int start = segment.position();
+            segment.position(start + ENTRY_HEADER);
+            segment.put((byte) mutation.ordinal());
+            TicketCodec.encode(ticket, segment);
+            int length = segment.position() - start - ENTRY_HEADER;
+            crc.update(segment.slice(start + ENTRY_HEADER, length));
+            segment.putInt(start, length);
+            segment.putInt(start + Integer.BYTES, (int) crc.getValue());
+            appendedLsn = segmentStart + segment.position();
+            return appendedLsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Returns once everything up to {@code lsn} is on disk. Only one thread syncs at a time; the others wait for it and
+     * usually find their entries covered by its sync, so a burst of writers costs one or two syncs instead of one each.
+     */
+    void awaitDurable(long lsn) {
+        if (!sync || durableLsn.get() >= lsn) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durableLsn.get() >= lsn) {
+                return;
+            }
+            MappedByteBuffer toSync;
+            long target;
+            appendLock.lock();
+            try {
+                toSync = segment;
+                target = appendedLsn;
+            } finally {
+                appendLock.unlock();
+            }
+            toSync.force();
+            syncs.incrementAndGet();
+            durableLsn.accumulateAndGet(target, Math::max);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new segment and returns its LSN: a snapshot taken from now on, together with the log from this LSN,
+     * covers every mutation, provided every entry appended before the roll has been applied to the store by the time
+     * the snapshot reads it. The caller keeps writers out between appending and applying while this runs.
+     */
+    long startSnapshot() {
+        appendLock.lock();
+        try {
+            rollSegment();
+            return segmentStart;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Writes every ticket supplied by {@code records} as the snapshot for {@code lsn}, then deletes the snapshots and
+     * log segments it replaces.
+     */
+    void writeSnapshot(long lsn, Consumer<Consumer<TicketRecord>> records) {
+        Path target = file(lsn, SNAPSHOT_SUFFIX);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C crc = new CRC32C();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 20), crc));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(lsn);
+            long[] count = new long[1];
+            ByteBuffer[] scratch = {ByteBuffer.allocate(4096)};
+            records.accept(record -> {
+                try {
+                    Ticket ticket = record.toTicket();
+                    int maxSize = 1 + TicketCodec.maxEncodedSize(ticket);
+                    if (scratch[0].capacity() < maxSize) {
+                        scratch[0] = ByteBuffer.allocate(maxSize);
+                    }
+                    ByteBuffer payload = scratch[0].clear();
+                    payload.put((byte) Mutation.UPDATE.ordinal());
+                    TicketCodec.encode(ticket, payload);
+                    out.writeInt(payload.position());
+                    out.write(payload.array(), 0, payload.position());
+                    count[0]++;
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            out.writeInt(-1);
+            out.writeLong(count[0]);
+            out.flush();
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            channel.force(true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            snapshotLsn = lsn;
+            for (long old : listLsns(SNAPSHOT_SUFFIX)) {
+                if (old < lsn) {
+                    Files.deleteIfExists(file(old, SNAPSHOT_SUFFIX));
+                }
+            }
+            for (long start : listLsns(SEGMENT_SUFFIX)) {
+                if (start < lsn) {
+                    Files.deleteIfExists(file(start, SEGMENT_SUFFIX));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Bytes logged since the last snapshot.
+     */
+    long logSizeSinceSnapshot() {
+        appendLock.lock();
+        try {
+            return appendedLsn - snapshotLsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    long syncCount() {
+        return syncs.get();
+    }
+
+    @Override
+    public void close() {
+        appendLock.lock();
+        try {
+            if (segment == null) {
+                return;
+            }
+            segment.force();
+            closeSegment();
+            segment = null;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Called with appendLock held.
+    private void rollSegment() {
+        long end = segmentStart + segment.position();
+        if (sync) {
+            segment.force();
+        }
+        durableLsn.accumulateAndGet(end, Math::max);
+        closeSegment();
+        openSegment(end);
+    }
+
+    // Called with appendLock held.
+    private void openSegment(long start) {
+        try {
+            // Truncated, in case recovery found only a torn entry in a segment starting here, and then zero-filled to
+            // its full size, so a zero length marks the end of the log.
+            segmentChannel = FileChannel.open(file(start, SEGMENT_SUFFIX), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            segmentStart = start;
+            appendedLsn = start;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void closeSegment() {
+        try {
+            segmentChannel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Returns the number of bytes of valid entries at the start of the segment.
+    private static int replayLog(Path path, Consumer<TicketRecord> restore, LongFunction<Agent> agents)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer log = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C crc = new CRC32C();
+            while (log.remaining() >= ENTRY_HEADER) {
+                int start = log.position();
+                int length = log.getInt();
+                int checksum = log.getInt();
+                if (length <= 0 || length > log.remaining()) {
+                    return start;
+                }
+                ByteBuffer payload = log.slice(log.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    return start;
+                }
+                restore.accept(decode(payload, agents));
+                log.position(log.position() + length);
+            }
+            return log.position();
+        }
+    }
+
+    // Returns false, having restored nothing, when the snapshot is incomplete or corrupt.
+    private static boolean readSnapshot(Path path, Consumer<TicketRecord> restore, LongFunction<Agent> agents)
+            throws IOException {
+        List<TicketRecord> records = new ArrayList<>();
+        CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 20), new CRC32C());
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                return false;
+            }
+            in.readLong();
+            byte[] payload = new byte[4096];
+            for (int length = in.readInt(); length >= 0; length = in.readInt()) {
+                if (payload.length < length) {
+                    payload = new byte[length];
+                }
+                in.readFully(payload, 0, length);
+                records.add(decode(ByteBuffer.wrap(payload, 0, length), agents));
+            }
+            long count = in.readLong();
+            int expected = (int) checked.getChecksum().getValue();
+            if (count != records.size() || in.readInt() != expected) {
+                return false;
+            }
+        } catch (EOFException ex) {
+            return false;
+        }
+        records.forEach(restore);
+        return true;
+    }
+
+    private List<Long> listLsns(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(suffix))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - suffix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path file(long lsn, String suffix) {
+        return directory.resolve(String.format("%020d%s", lsn, suffix));
+    }
+
+    private static Mutation mutation(TicketRecord previous, TicketRecord current) {
+        if (previous == null) {
+            return Mutation.CREATE;
+        }
+        if (previous.status() != current.status()) {
+            switch (current.status()) {
+                case IN_PROGRESS:
+                    return previous.agentId() == null && current.agentId() != null ? Mutation.ASSIGN : Mutation.UPDATE;
+                case RESOLVED:
+                    return Mutation.RESOLVE;
+                case CLOSED:
+                    return Mutation.CLOSE;
+                default:
+                    return Mutation.UPDATE;
+            }
+        }
+        return Mutation.UPDATE;
+    }
+
+    // The row is assigned again by the store that restores the record.
+    private static TicketRecord decode(ByteBuffer in, LongFunction<Agent> agents) {
+        in.get(); // the mutation kind; the state after it is all a replay needs
+        Ticket ticket = TicketCodec.decodeTicket(in, agents);
+        return TicketRecord.of(ticket, ticket.getId(), -1, ticket.getVersion());
+    }
+}
@@ -0,0 +1,63 @@
+package com.ticket.adapters.memory;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable stored state of one ticket. Callers only ever get copies as {@link Ticket} or {@link TicketDto}, so a
+ * service mutating the ticket it loaded cannot change the store behind the indexes' back. {@code row} is the ticket's
+ * position in the index segments and never changes.
+ */
+record TicketRecord(long id,
+                    int row,
+                    String description,
+                    Status status,
+                    LocalDateTime createdDate,
+                    LocalDateTime assignedDate,
+                    LocalDateTime resolvedDate,
+                    LocalDateTime closedDate,
+                    String resolutionSummary,
+                    Agent assignedAgent,
+                    long version) {
+
+    static TicketRecord of(Ticket ticket, long id, int row, long version) {
+        return new TicketRecord(id, row, ticket.getDescription(), ticket.getStatus(), ticket.getCreatedDate(),
+                ticket.getAssignedDate(), ticket.getResolvedDate(), ticket.getClosedDate(),
+                ticket.getResolutionSummary(), ticket.getAssignedAgent(), version);
+    }
+
+    TicketRecord withRow(int row) {
+        return new TicketRecord(id, row, description, status, createdDate, assignedDate, resolvedDate, closedDate,
+                resolutionSummary, assignedAgent, version);
+    }
+
+    Long agentId() {
+        return assignedAgent != null ? assignedAgent.getId() : null;
+    }
+
+    TicketRecord transition(Status status, Agent assignedAgent, LocalDateTime assignedDate,
+                            LocalDateTime resolvedDate, LocalDateTime closedDate) {
+        return new TicketRecord(id, row, description, status, createdDate, assignedDate, resolvedDate, closedDate,
+                resolutionSummary, assignedAgent, version + 1);
+    }
+
+    Ticket toTicket() {
+        Ticket ticket = new Ticket(id, description, status, createdDate);
+        ticket.setAssignedDate(assignedDate);
+        ticket.setResolvedDate(resolvedDate);
+        ticket.setClosedDate(closedDate);
+        ticket.setResolutionSummary(resolutionSummary);
+        ticket.setAssignedAgent(assignedAgent);
+        ticket.setVersion(version);
+        return ticket;
+    }
+
+    TicketDto toDto() {
+        return new TicketDto(id, description, status, createdDate, closedDate, null, resolutionSummary, agentId(),
+                assignedDate, resolvedDate);
+    }
+}
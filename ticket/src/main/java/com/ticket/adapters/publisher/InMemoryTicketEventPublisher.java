@@ -0,0 +1,32 @@
+package com.ticket.adapters.publisher;
+
+import com.ticket.entity.OutboxEvent;
+import com.ticket.ports.publisher.TicketEventPublisherPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects published events in memory, so tests can assert on what the relay delivered.
+ */
+@Component
+@ConditionalOnProperty(name = "ticket.outbox.publisher", havingValue = "in-memory")
+public class InMemoryTicketEventPublisher implements TicketEventPublisherPort {
+
+    private final List<OutboxEvent> published = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) {
+        published.addAll(events);
+    }
+
+    public synchronized List<OutboxEvent> getPublished() {
+        return List.copyOf(published);
+    }
+
+    public synchronized void clear() {
+        published.clear();
+    }
+}
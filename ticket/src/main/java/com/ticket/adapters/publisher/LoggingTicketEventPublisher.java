@@ -0,0 +1,23 @@
+package com.ticket.adapters.publisher;
+
+import com.ticket.entity.OutboxEvent;
+import com.ticket.ports.publisher.TicketEventPublisherPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticket.outbox.publisher", havingValue = "logging", matchIfMissing = true)
+public class LoggingTicketEventPublisher implements TicketEventPublisherPort {
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.info("Ticket {} {}: {} -> {}, agent {}", event.getTicketId(), event.getType(),
+                    event.getPreviousStatus(), event.getStatus(), event.getAssignedAgentId());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ticket.adapters.r2dbc;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking access to the same database the JPA adapters use. Only the {@link DatabaseClient} is a bean: a
+ * {@code ConnectionFactory} bean would make Spring Boot back off from configuring the JDBC {@code DataSource}.
+ */
+@Configuration
+public class R2dbcConfiguration {
+
+    private final ConnectionPool connectionPool;
+
+    public R2dbcConfiguration(@Value("${ticket.r2dbc.url}") String url,
+                              @Value("${spring.datasource.username:sa}") String username,
+                              @Value("${spring.datasource.password:}") String password,
+                              @Value("${ticket.r2dbc.pool.max-size:20}") int maxSize,
+                              @Value("${ticket.r2dbc.pool.max-idle-time:30m}") Duration maxIdleTime) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.dispose();
+    }
+}
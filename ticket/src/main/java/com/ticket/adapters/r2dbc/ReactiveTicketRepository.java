@@ -0,0 +1,211 @@
+package com.ticket.adapters.r2dbc;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.events.TicketEventType;
+import com.ticket.ports.repository.ReactiveTicketRepositoryPort;
+import com.ticket.ports.repository.VersionedTicket;
+import com.ticket.util.LocalDateTimeProvider;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * R2DBC counterpart of the ticket JPA adapter. Writes keep the same rules as the JPA mapping: ids come from
+ * {@code ticket_seq} and every update increments {@code version}, so both adapters can work on the same rows. Each
+ * write appends its outbox event in the same transaction, as the JPA adapter does.
+ */
+@Repository
+public class ReactiveTicketRepository implements ReactiveTicketRepositoryPort {
+
+    private static final String SELECT_TICKET = "SELECT id, description, status, created_date, closed_date, " +
+            "resolution_summary, assigned_agent_id, assigned_date, resolved_date, version FROM ticket";
+
+    // Same statement as OutboxEventRepositoryJpa.appendForTicket: status and agent are copied from the updated row.
+    private static final String APPEND_OUTBOX_EVENT = "INSERT INTO outbox_event (id, ticket_id, type, previous_status, " +
+            "status, assigned_agent_id, created_date) SELECT NEXT VALUE FOR outbox_event_seq, t.id, :type, " +
+            ":previousStatus, t.status, t.assigned_agent_id, :createdDate FROM ticket t WHERE t.id = :ticketId";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final LocalDateTimeProvider localDateTimeProvider;
+
+    public ReactiveTicketRepository(DatabaseClient databaseClient, LocalDateTimeProvider localDateTimeProvider) {
+        this.databaseClient = databaseClient;
+        // Not a bean: a second TransactionManager would make @Transactional on the JPA adapters ambiguous.
+        this.transactionalOperator = TransactionalOperator.create(
+                new R2dbcTransactionManager(databaseClient.getConnectionFactory()));
+        this.localDateTimeProvider = localDateTimeProvider;
+    }
+
+    @Override
+    public Mono<TicketDto> insert(String description, Status status, LocalDateTime createdDate) {
+        // Under the pooled-lo optimizer a sequence value is the bottom of the block that fetched it, so this id is a
+        // block of its own that Hibernate never hands out.
+        return databaseClient.sql("SELECT NEXT VALUE FOR ticket_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("INSERT INTO ticket (id, description, status, created_date, version) " +
+                                "VALUES (:id, :description, :status, :createdDate, 0)")
+                        .bind("id", id)
+                        .bind("description", description)
+                        .bind("status", status.name())
+                        .bind("createdDate", createdDate)
+                        .then()
+                        .then(appendOutboxEvent(id, null, status))
+                        .then(findById(id)))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<TicketDto> findById(Long ticketId) {
+        return databaseClient.sql(SELECT_TICKET + " WHERE id = :id")
+                .bind("id", ticketId)
+                .map(ReactiveTicketRepository::toTicketDto)
+                .one();
+    }
+
+    @Override
+    public Mono<VersionedTicket> findVersionedById(Long ticketId) {
+        return databaseClient.sql(SELECT_TICKET + " WHERE id = :id")
+                .bind("id", ticketId)
+                .map(row -> new VersionedTicket(toTicketDto(row), row.get("version", Long.class)))
+                .one();
+    }
+
+    @Override
+    public Flux<TicketDto> findWithFilters(List<Status> statuses,
+                                           LocalDateTime startDate,
+                                           LocalDateTime endDate,
+                                           Long assignedAgentId) {
+        StringBuilder sql = new StringBuilder(SELECT_TICKET);
+        List<String> conditions = new ArrayList<>();
+        if (statuses != null && !statuses.isEmpty()) {
+            List<String> placeholders = new ArrayList<>();
+            for (int i = 0; i < statuses.size(); i++) {
+                placeholders.add(":status" + i);
+            }
+            conditions.add("status IN (" + String.join(", ", placeholders) + ")");
+        }
+        if (startDate != null) {
+            conditions.add("created_date >= :startDate");
+        }
+        if (endDate != null) {
+            conditions.add("created_date <= :endDate");
+        }
+        if (assignedAgentId != null) {
+            conditions.add("assigned_agent_id = :assignedAgentId");
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY created_date, id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        if (statuses != null) {
+            for (int i = 0; i < statuses.size(); i++) {
+                spec = spec.bind("status" + i, statuses.get(i).name());
+            }
+        }
+        if (startDate != null) {
+            spec = spec.bind("startDate", startDate);
+        }
+        if (endDate != null) {
+            spec = spec.bind("endDate", endDate);
+        }
+        if (assignedAgentId != null) {
+            spec = spec.bind("assignedAgentId", assignedAgentId);
+        }
+        return spec.map(ReactiveTicketRepository::toTicketDto).all();
+    }
+
+    @Override
+    public Mono<Boolean> compareAndSetStatus(Long ticketId, Status expected, Status target, LocalDateTime changedDate) {
+        String stamp = switch (target) {
+            case RESOLVED -> ", resolved_date = :changedDate";
+            case CLOSED -> ", closed_date = :changedDate";
+            default -> "";
+        };
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE ticket SET status = :target, " +
+                        "version = version + 1" + stamp + " WHERE id = :id AND status = :expected")
+                .bind("target", target.name());
+        if (!stamp.isEmpty()) {
+            spec = spec.bind("changedDate", changedDate);
+        }
+        return spec
+                .bind("id", ticketId)
+                .bind("expected", expected.name())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> appendOutboxEventIfUpdated(rows, ticketId, expected, target))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Boolean> compareAndAssignAgent(Long ticketId, Long agentId, LocalDateTime assignedDate) {
+        return databaseClient.sql("UPDATE ticket SET status = 'IN_PROGRESS', assigned_agent_id = :agentId, " +
+                        "assigned_date = :assignedDate, version = version + 1 WHERE id = :id AND status = 'NEW'")
+                .bind("agentId", agentId)
+                .bind("assignedDate", assignedDate)
+                .bind("id", ticketId)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> appendOutboxEventIfUpdated(rows, ticketId, Status.NEW, Status.IN_PROGRESS))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Boolean> compareAndClose(Long ticketId, LocalDateTime closedDate) {
+        return databaseClient.sql("UPDATE ticket SET status = 'CLOSED', closed_date = :closedDate, version = version + 1 " +
+                        "WHERE id = :id AND status = 'RESOLVED' " +
+                        "AND resolution_summary IS NOT NULL AND resolution_summary <> ''")
+                .bind("closedDate", closedDate)
+                .bind("id", ticketId)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(rows -> appendOutboxEventIfUpdated(rows, ticketId, Status.RESOLVED, Status.CLOSED))
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Boolean> appendOutboxEventIfUpdated(long rows, Long ticketId, Status previousStatus, Status status) {
+        if (rows != 1) {
+            return Mono.just(false);
+        }
+        return appendOutboxEvent(ticketId, previousStatus, status).thenReturn(true);
+    }
+
+    private Mono<Void> appendOutboxEvent(Long ticketId, Status previousStatus, Status status) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(APPEND_OUTBOX_EVENT)
+                .bind("ticketId", ticketId)
+                .bind("type", TicketEventType.forTransition(previousStatus, status).name());
+        spec = previousStatus == null
+                ? spec.bindNull("previousStatus", String.class)
+                : spec.bind("previousStatus", previousStatus.name());
+        return spec
+                .bind("createdDate", localDateTimeProvider.now())
+                .then();
+    }
+
+    private static TicketDto toTicketDto(Readable row) {
+        String status = row.get("status", String.class);
+        return new TicketDto(
+                row.get("id", Long.class),
+                row.get("description", String.class),
+                status == null ? null : Status.valueOf(status),
+                row.get("created_date", LocalDateTime.class),
+                row.get("closed_date", LocalDateTime.class),
+                null,
+                row.get("resolution_summary", String.class),
+                row.get("assigned_agent_id", Long.class),
+                row.get("assigned_date", LocalDateTime.class),
+                row.get("resolved_date", LocalDateTime.class));
+    }
+}
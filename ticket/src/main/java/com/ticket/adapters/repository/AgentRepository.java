@@ -1,15 +1,134 @@
 package com.ticket.adapters.repository;
 
+import com.ticket.adapters.jpa.AgentRepositoryJpa;
 import com.ticket.entity.Agent;
 import com.ticket.ports.repository.AgentRepositoryPort;
+import com.ticket.util.LongObjectMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Agents are a small set read on every assignment, so all of them are served from an immutable in-memory snapshot.
+ * A refresh builds a new snapshot and publishes it with a single volatile write; readers never see a partial one.
+ * <p>
+ * An id missing from the snapshot is looked up by primary key, and the snapshot is rebuilt when the agent exists.
+ * An unknown name can only be resolved by a rebuild, which happens at most once per refresh interval.
+ */
 @Repository
 public class AgentRepository implements AgentRepositoryPort {
+
+    static final String LOOKUPS_METRIC = "agents.snapshot.lookups";
+
+    private final AgentRepositoryJpa agentRepositoryJpa;
+    private final long minRefreshIntervalNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Long.MIN_VALUE);
+
+    public AgentRepository(AgentRepositoryJpa agentRepositoryJpa,
+                           @Value("${ticket.agents.min-refresh-interval:5s}") Duration minRefreshInterval,
+                           MeterRegistry meterRegistry) {
+        this.agentRepositoryJpa = agentRepositoryJpa;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.hits = meterRegistry.counter(LOOKUPS_METRIC, "result", "hit");
+        this.misses = meterRegistry.counter(LOOKUPS_METRIC, "result", "miss");
+        meterRegistry.gauge("agents.snapshot.size", this, repository -> repository.snapshot.agents.size());
+    }
+
+    /**
+     * Rebuilds the snapshot. Refreshes are serialized, so a slow reload cannot publish its result over a newer one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        // A lock rather than a monitor: the reload blocks on JDBC and must not pin a virtual thread's carrier.
+        refreshLock.lock();
+        try {
+            reload();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
     @Override
     public Optional<Agent> findById(Long agentId) {
+        Optional<Agent> agent = snapshot.agentsById.get(agentId);
+        if (agent != null) {
+            hits.increment();
+            return agent;
+        }
+        misses.increment();
+        Optional<Agent> loaded = agentRepositoryJpa.findById(agentId);
+        if (loaded.isPresent()) {
+            refresh();
+        }
+        return loaded;
+    }
+
+    @Override
+    public Optional<Agent> findByName(String agentName) {
+        Optional<Agent> agent = snapshot.agentsByName.get(agentName);
+        if (agent != null) {
+            hits.increment();
+            return agent;
+        }
+        misses.increment();
+        if (refreshIfStale()) {
+            return snapshot.agentsByName.getOrDefault(agentName, Optional.empty());
+        }
         return Optional.empty();
     }
+
+    @Override
+    public List<Agent> findAll() {
+        return snapshot.agents;
+    }
+
+    private boolean refreshIfStale() {
+        if (System.nanoTime() - snapshot.loadedAtNanos < minRefreshIntervalNanos) {
+            return false;
+        }
+        refreshLock.lock();
+        try {
+            if (System.nanoTime() - snapshot.loadedAtNanos >= minRefreshIntervalNanos) {
+                reload();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+        return true;
+    }
+
+    private void reload() {
+        snapshot = new Snapshot(agentRepositoryJpa.findAll(), System.nanoTime());
+    }
+
+    // Values are pre-wrapped in Optional so that a hit returns a shared instance instead of allocating one.
+    private static final class Snapshot {
+        private final List<Agent> agents;
+        private final LongObjectMap<Optional<Agent>> agentsById;
+        private final Map<String, Optional<Agent>> agentsByName;
+        private final long loadedAtNanos;
+
+        private Snapshot(List<Agent> agents, long loadedAtNanos) {
+            this.agents = List.copyOf(agents);
+            this.agentsById = LongObjectMap.of(this.agents, Agent::getId, Optional::of);
+            Map<String, Optional<Agent>> byName = new HashMap<>();
+            this.agents.forEach(agent -> byName.put(agent.getName(), Optional.of(agent)));
+            this.agentsByName = Map.copyOf(byName);
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package com.ticket.adapters.repository;
+
+import com.ticket.entity.Status;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timers and result-size summaries for filtered ticket queries, tagged by query kind and by which predicates were
+ * active. The filter shape is encoded as a bit mask, so recording looks up an array slot instead of building tags.
+ */
+class FilterQueryMetrics {
+
+    static final String QUERY_TIMER = "ticket.repository.filter";
+    static final String RESULT_SIZE_SUMMARY = "ticket.repository.filter.results";
+
+    enum Query { ENTITIES, DTOS, PAGE, STREAM, AGGREGATE }
+
+    private static final int STATUS = 1;
+    private static final int START_DATE = 2;
+    private static final int END_DATE = 4;
+    private static final int AGENT = 8;
+    private static final int SHAPES = 16;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer[] timers = new Timer[Query.values().length * SHAPES];
+    private final DistributionSummary[] resultSizes = new DistributionSummary[Query.values().length];
+
+    FilterQueryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Query query : Query.values()) {
+            resultSizes[query.ordinal()] = DistributionSummary.builder(RESULT_SIZE_SUMMARY)
+                    .description("Rows returned by a filtered ticket query")
+                    .tag("query", tagValue(query))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+
+    static int shape(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, Long assignedAgentId) {
+        int shape = 0;
+        if (statuses != null && !statuses.isEmpty()) shape |= STATUS;
+        if (startDate != null) shape |= START_DATE;
+        if (endDate != null) shape |= END_DATE;
+        if (assignedAgentId != null) shape |= AGENT;
+        return shape;
+    }
+
+    Timer timer(Query query, int shape) {
+        int slot = query.ordinal() * SHAPES + shape;
+        Timer timer = timers[slot];
+        if (timer == null) {
+            // Racing threads get the same meter back from the registry, so the unsynchronized write is harmless.
+            timer = Timer.builder(QUERY_TIMER)
+                    .description("Time to run a filtered ticket query")
+                    .tag("query", tagValue(query))
+                    .tag("predicates", predicatesTag(shape))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            timers[slot] = timer;
+        }
+        return timer;
+    }
+
+    void recordResultSize(Query query, int size) {
+        resultSizes[query.ordinal()].record(size);
+    }
+
+    private static String tagValue(Query query) {
+        return query.name().toLowerCase();
+    }
+
+    private static String predicatesTag(int shape) {
+        List<String> predicates = new ArrayList<>();
+        if ((shape & STATUS) != 0) predicates.add("status");
+        if ((shape & START_DATE) != 0) predicates.add("startDate");
+        if ((shape & END_DATE) != 0) predicates.add("endDate");
+        if ((shape & AGENT) != 0) predicates.add("assignedAgent");
+        return predicates.isEmpty() ? "none" : String.join("+", predicates);
+    }
+}
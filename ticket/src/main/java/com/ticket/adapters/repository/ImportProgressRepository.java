@@ -0,0 +1,28 @@
+package com.ticket.adapters.repository;
+
+import com.ticket.adapters.jpa.ImportProgressRepositoryJpa;
+import com.ticket.entity.ImportProgress;
+import com.ticket.ports.repository.ImportProgressRepositoryPort;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class ImportProgressRepository implements ImportProgressRepositoryPort {
+
+    private final ImportProgressRepositoryJpa importProgressRepositoryJpa;
+
+    public ImportProgressRepository(ImportProgressRepositoryJpa importProgressRepositoryJpa) {
+        this.importProgressRepositoryJpa = importProgressRepositoryJpa;
+    }
+
+    @Override
+    public List<ImportProgress> findByFileName(String fileName) {
+        return importProgressRepositoryJpa.findByFileName(fileName);
+    }
+
+    @Override
+    public void save(ImportProgress progress) {
+        importProgressRepositoryJpa.save(progress);
+    }
+}
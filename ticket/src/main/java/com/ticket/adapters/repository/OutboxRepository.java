@@ -0,0 +1,28 @@
+package com.ticket.adapters.repository;
+
+import com.ticket.adapters.jpa.OutboxEventRepositoryJpa;
+import com.ticket.entity.OutboxEvent;
+import com.ticket.ports.repository.OutboxRepositoryPort;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class OutboxRepository implements OutboxRepositoryPort {
+
+    private final OutboxEventRepositoryJpa outboxEventRepositoryJpa;
+
+    public OutboxRepository(OutboxEventRepositoryJpa outboxEventRepositoryJpa) {
+        this.outboxEventRepositoryJpa = outboxEventRepositoryJpa;
+    }
+
+    @Override
+    public List<OutboxEvent> lockNextBatch(int limit) {
+        return outboxEventRepositoryJpa.lockNextBatch(limit);
+    }
+
+    @Override
+    public void deleteAll(List<OutboxEvent> events) {
+        outboxEventRepositoryJpa.deleteAllByIdInBatch(events.stream().map(OutboxEvent::getId).toList());
+    }
+}
@@ -1,72 +1,539 @@
 package com.ticket.adapters.repository;
 
+import com.ticket.adapters.jpa.ArchivedTicketRepositoryJpa;
+import com.ticket.adapters.jpa.OutboxEventRepositoryJpa;
 import com.ticket.adapters.jpa.TicketRepositoryJpa;
+import com.ticket.dto.TicketAggregateDto;
+import com.ticket.dto.TicketCountDto;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketGrouping;
 import com.ticket.entity.Agent;
+import com.ticket.entity.ArchivedTicket;
+import com.ticket.entity.OutboxEvent;
 import com.ticket.entity.Status;
 import com.ticket.entity.Ticket;
+import com.ticket.events.TicketEventType;
 import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.adapters.repository.FilterQueryMetrics.Query;
+import com.ticket.util.ContinuationToken;
+import com.ticket.util.LocalDateTimeProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Repository
+@ConditionalOnProperty(name = "ticket.repository", havingValue = "jpa", matchIfMissing = true)
 public class TicketRepository implements TicketRepositoryPort {
 
     private final TicketRepositoryJpa ticketRepositoryJpa;
+    private final OutboxEventRepositoryJpa outboxEventRepositoryJpa;
+    private final ArchivedTicketRepositoryJpa archivedTicketRepositoryJpa;
+    private final FilterQueryMetrics filterQueryMetrics;
+    private final LocalDateTimeProvider localDateTimeProvider;
+    private final Duration archiveMinAge;
 
+    private static final String ID_FIELD = "id";
+    private static final String DESCRIPTION_FIELD = "description";
     private static final String STATUS_FIELD = "status";
     private static final String CREATED_DATE_FIELD = "createdDate";
+    private static final String ASSIGNED_DATE_FIELD = "assignedDate";
+    private static final String RESOLVED_DATE_FIELD = "resolvedDate";
+    private static final String CLOSED_DATE_FIELD = "closedDate";
+    private static final String RESOLUTION_SUMMARY_FIELD = "resolutionSummary";
     private static final String ASSIGNED_AGENT_FIELD = "assignedAgent";
-    private static final String NAME_FIELD = "name";
+
+    private static final String COUNT_ALIAS = "count";
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    // The order of every projected listing; live and archived rows are merged on it.
+    private static final Comparator<TicketDto> LISTING_ORDER = Comparator
+            .comparing(TicketDto::getCreatedDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TicketDto::getId);
 
     @PersistenceContext
     private EntityManager entityManager;
 
-    public TicketRepository(TicketRepositoryJpa ticketRepositoryJpa) {
+    public TicketRepository(TicketRepositoryJpa ticketRepositoryJpa,
+                            OutboxEventRepositoryJpa outboxEventRepositoryJpa,
+                            ArchivedTicketRepositoryJpa archivedTicketRepositoryJpa,
+                            MeterRegistry meterRegistry,
+                            LocalDateTimeProvider localDateTimeProvider,
+                            @Value("${ticket.archive.min-age:30d}") Duration archiveMinAge) {
         this.ticketRepositoryJpa = ticketRepositoryJpa;
+        this.outboxEventRepositoryJpa = outboxEventRepositoryJpa;
+        this.archivedTicketRepositoryJpa = archivedTicketRepositoryJpa;
+        this.filterQueryMetrics = new FilterQueryMetrics(meterRegistry);
+        this.localDateTimeProvider = localDateTimeProvider;
+        this.archiveMinAge = archiveMinAge;
     }
 
+    /**
+     * Writes the ticket and its outbox event in one transaction, so an event is relayed if and only if the change
+     * commits.
+     */
     @Override
-    public Ticket save(Ticket newTicket) {
-        return ticketRepositoryJpa.save(newTicket);
+    @Transactional
+    public Ticket save(Ticket ticket) {
+        Status previousStatus = ticket.getPersistedStatus();
+        Ticket savedTicket = ticketRepositoryJpa.save(ticket);
+        outboxEventRepositoryJpa.save(outboxEvent(previousStatus, savedTicket));
+        return savedTicket;
+    }
+
+    @Override
+    @Transactional
+    public List<Ticket> saveAll(List<Ticket> tickets) {
+        List<Status> previousStatuses = tickets.stream().map(Ticket::getPersistedStatus).toList();
+        List<Ticket> savedTickets = ticketRepositoryJpa.saveAll(tickets);
+        List<OutboxEvent> outboxEvents = new ArrayList<>(savedTickets.size());
+        for (int i = 0; i < savedTickets.size(); i++) {
+            outboxEvents.add(outboxEvent(previousStatuses.get(i), savedTickets.get(i)));
+        }
+        outboxEventRepositoryJpa.saveAll(outboxEvents);
+        return savedTickets;
+    }
+
+    /**
+     * Like {@link #saveAll}, every imported ticket gets a {@code CREATED} outbox event in the same transaction, so
+     * downstream consumers learn about imported history exactly when it commits.
+     */
+    @Override
+    @Transactional
+    public List<Ticket> importAll(List<Ticket> tickets) {
+        List<Ticket> savedTickets = ticketRepositoryJpa.saveAll(tickets);
+        List<OutboxEvent> outboxEvents = new ArrayList<>(savedTickets.size());
+        for (Ticket savedTicket : savedTickets) {
+            outboxEvents.add(outboxEvent(null, savedTicket));
+        }
+        outboxEventRepositoryJpa.saveAll(outboxEvents);
+        return savedTickets;
     }
 
     @Override
     public Optional<Ticket> findById(Long ticketId) {
-        return ticketRepositoryJpa.findById(ticketId);
+        return ticketRepositoryJpa.findById(ticketId)
+                .or(() -> archivedTicketRepositoryJpa.findById(ticketId).map(ArchivedTicket::toTicket));
+    }
+
+    @Override
+    public List<Ticket> findAllById(Collection<Long> ticketIds) {
+        List<Ticket> tickets = ticketRepositoryJpa.findAllById(ticketIds);
+        if (tickets.size() == ticketIds.size()) {
+            return tickets;
+        }
+        Set<Long> missingIds = new HashSet<>(ticketIds);
+        tickets.forEach(ticket -> missingIds.remove(ticket.getId()));
+        List<Ticket> found = new ArrayList<>(tickets);
+        archivedTicketRepositoryJpa.findAllById(missingIds).forEach(archived -> found.add(archived.toTicket()));
+        return found;
+    }
+
+    /**
+     * Copies up to {@code limit} closed tickets older than {@code cutoff} into the archive table and deletes them from
+     * {@code ticket}. Rows locked by another archiver are skipped, so concurrent runs move disjoint batches.
+     */
+    @Override
+    @Transactional
+    public int archiveClosedBefore(LocalDateTime cutoff, int limit) {
+        List<Long> ticketIds = archivedTicketRepositoryJpa.lockClosedBefore(cutoff, limit);
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        archivedTicketRepositoryJpa.copyFromTickets(ticketIds, localDateTimeProvider.now());
+        archivedTicketRepositoryJpa.deleteTickets(ticketIds);
+        return ticketIds.size();
+    }
+
+    @Override
+    @Transactional
+    public boolean compareAndSetStatus(Long ticketId, Status expected, Status target, LocalDateTime changedDate) {
+        return ticketRepositoryJpa.updateStatusIfCurrent(ticketId, expected, target,
+                target == Status.RESOLVED ? changedDate : null,
+                target == Status.CLOSED ? changedDate : null) == 1
+                && appendOutboxEvent(ticketId, expected, target);
+    }
+
+    @Override
+    @Transactional
+    public boolean compareAndAssignAgent(Long ticketId, Agent agent, LocalDateTime assignedDate) {
+        return ticketRepositoryJpa.assignAgentIfNew(ticketId, agent, assignedDate) == 1
+                && appendOutboxEvent(ticketId, Status.NEW, Status.IN_PROGRESS);
+    }
+
+    @Override
+    @Transactional
+    public boolean compareAndClose(Long ticketId, LocalDateTime closedDate) {
+        return ticketRepositoryJpa.closeIfResolvedWithSummary(ticketId, closedDate) == 1
+                && appendOutboxEvent(ticketId, Status.RESOLVED, Status.CLOSED);
+    }
+
+    /**
+     * Counts tickets matching the filter per requested group in a single {@code GROUP BY}, truncating
+     * {@code createdDate} in the database for time buckets, so only one row per group is transferred. When the
+     * archive can match, it is grouped the same way and its counts are added to the live ones.
+     */
+    @Override
+    public List<TicketAggregateDto> aggregateWithFilters(List<Status> statuses,
+                                                         LocalDateTime startDate,
+                                                         LocalDateTime endDate,
+                                                         Long assignedAgentId,
+                                                         Set<TicketGrouping> groupings) {
+        return recordList(Query.AGGREGATE, statuses, startDate, endDate, assignedAgentId, () -> {
+            List<TicketAggregateDto> live = aggregate(Ticket.class, statuses, startDate, endDate, assignedAgentId, groupings);
+            if (!includesArchive(statuses, startDate)) {
+                return live;
+            }
+            List<TicketAggregateDto> archived =
+                    aggregate(ArchivedTicket.class, statuses, startDate, endDate, assignedAgentId, groupings);
+            return archived.isEmpty() ? live : mergeAggregates(live, archived);
+        });
+    }
+
+    private List<TicketAggregateDto> aggregate(Class<?> table,
+                                               List<Status> statuses,
+                                               LocalDateTime startDate,
+                                               LocalDateTime endDate,
+                                               Long assignedAgentId,
+                                               Set<TicketGrouping> groupings) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> ticketRoot = query.from(table);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgentId, cb, ticketRoot);
+
+        Expression<Status> status = groupings.contains(TicketGrouping.STATUS) ? ticketRoot.get(STATUS_FIELD) : null;
+        Expression<Long> agentId = groupings.contains(TicketGrouping.AGENT)
+                ? ticketRoot.get(ASSIGNED_AGENT_FIELD).get(ID_FIELD) : null;
+        Expression<LocalDateTime> bucket = groupings.contains(TicketGrouping.HOUR) ? truncate(cb, ticketRoot, "hour")
+                : groupings.contains(TicketGrouping.DAY) ? truncate(cb, ticketRoot, "day")
+                : null;
+
+        List<Expression<?>> groups = Stream.<Expression<?>>of(status, agentId, bucket).filter(Objects::nonNull).toList();
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(cb.count(ticketRoot).alias(COUNT_ALIAS));
+
+        query.multiselect(selections)
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(groups)
+                .orderBy(groups.stream().map(cb::asc).toList());
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(row -> new TicketAggregateDto(
+                        status != null ? row.get(status) : null,
+                        agentId != null ? row.get(agentId) : null,
+                        bucket != null ? row.get(bucket) : null,
+                        row.get(COUNT_ALIAS, Long.class)))
+                .toList();
+    }
+
+    @Override
+    public List<TicketCountDto> countByAgentAndStatus() {
+        List<TicketCountDto> live = ticketRepositoryJpa.countByAgentAndStatus();
+        List<TicketCountDto> archived = archivedTicketRepositoryJpa.countByAgentAndStatus();
+        if (archived.isEmpty()) {
+            return live;
+        }
+        Map<List<Object>, TicketCountDto> counts = new LinkedHashMap<>();
+        Stream.concat(live.stream(), archived.stream()).forEach(count -> counts.merge(
+                Arrays.asList(count.getAssignedAgentId(), count.getStatus()),
+                new TicketCountDto(count.getAssignedAgentId(), count.getStatus(), count.getCount()),
+                (sum, more) -> {
+                    sum.setCount(sum.getCount() + more.getCount());
+                    return sum;
+                }));
+        return new ArrayList<>(counts.values());
     }
 
     @Override
     public List<Ticket> findWithFilters(List<Status> statuses,
                                         LocalDateTime startDate,
                                         LocalDateTime endDate,
-                                        String assignedAgent) {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Ticket> query = cb.createQuery(Ticket.class);
-        Root<Ticket> ticketRoot = query.from(Ticket.class);
+                                        Long assignedAgentId) {
+        return recordList(Query.ENTITIES, statuses, startDate, endDate, assignedAgentId, () -> {
+            List<Ticket> tickets = findEntities(Ticket.class, statuses, startDate, endDate, assignedAgentId);
+            if (!includesArchive(statuses, startDate)) {
+                return tickets;
+            }
+            List<Ticket> found = new ArrayList<>(tickets);
+            findEntities(ArchivedTicket.class, statuses, startDate, endDate, assignedAgentId)
+                    .forEach(archived -> found.add(archived.toTicket()));
+            return found;
+        });
+    }
 
-        Join<Ticket, Agent> agentJoin = ticketRoot.join(ASSIGNED_AGENT_FIELD, JoinType.LEFT);
+    @Override
+    public List<TicketDto> findDtosWithFilters(List<Status> statuses,
+                                               LocalDateTime startDate,
+                                               LocalDateTime endDate,
+                                               Long assignedAgentId) {
+        return recordList(Query.DTOS, statuses, startDate, endDate, assignedAgentId,
+                () -> findProjections(statuses, startDate, endDate, assignedAgentId, null, null));
+    }
 
-        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, cb, ticketRoot, agentJoin);
+    @Override
+    public List<TicketDto> findPageWithFilters(List<Status> statuses,
+                                               LocalDateTime startDate,
+                                               LocalDateTime endDate,
+                                               Long assignedAgentId,
+                                               ContinuationToken after,
+                                               int limit) {
+        return recordList(Query.PAGE, statuses, startDate, endDate, assignedAgentId,
+                () -> findProjections(statuses, startDate, endDate, assignedAgentId, after, limit));
+    }
+
+    @Override
+    public Stream<TicketDto> streamWithFilters(List<Status> statuses,
+                                               LocalDateTime startDate,
+                                               LocalDateTime endDate,
+                                               Long assignedAgentId) {
+        // Only the time to open the cursor is recorded; rows are fetched while the caller consumes the stream.
+        Timer timer = filterQueryMetrics.timer(Query.STREAM,
+                FilterQueryMetrics.shape(statuses, startDate, endDate, assignedAgentId));
+        return timer.record(() -> {
+            Stream<TicketDto> live = streamProjections(Ticket.class, statuses, startDate, endDate, assignedAgentId);
+            if (!includesArchive(statuses, startDate)) {
+                return live;
+            }
+            Stream<TicketDto> archived =
+                    streamProjections(ArchivedTicket.class, statuses, startDate, endDate, assignedAgentId);
+            return mergeOrdered(live, archived);
+        });
+    }
+
+    /**
+     * Whether archived tickets can match the filter. The archive only holds CLOSED tickets, and a ticket is only
+     * archived once it is {@code ticket.archive.min-age} old, so a filter without CLOSED or starting after that age
+     * reads the live table alone.
+     */
+    private boolean includesArchive(List<Status> statuses, LocalDateTime startDate) {
+        if (statuses != null && !statuses.isEmpty() && !statuses.contains(Status.CLOSED)) {
+            return false;
+        }
+        return startDate == null || startDate.isBefore(localDateTimeProvider.now().minus(archiveMinAge));
+    }
+
+    private <T> List<T> findEntities(Class<T> table,
+                                     List<Status> statuses,
+                                     LocalDateTime startDate,
+                                     LocalDateTime endDate,
+                                     Long assignedAgentId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(table);
+        Root<T> ticketRoot = query.from(table);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgentId, cb, ticketRoot);
 
         query.where(predicates.toArray(new Predicate[0]));
 
         return entityManager.createQuery(query).getResultList();
     }
 
+    // Both tables are read in listing order with the same limit, so the first limit rows of the merge are exact.
+    // A null limit reads every match.
+    private List<TicketDto> findProjections(List<Status> statuses,
+                                            LocalDateTime startDate,
+                                            LocalDateTime endDate,
+                                            Long assignedAgentId,
+                                            ContinuationToken after,
+                                            Integer limit) {
+        List<TicketDto> live = listProjections(Ticket.class, statuses, startDate, endDate, assignedAgentId, after, limit);
+        if (!includesArchive(statuses, startDate)) {
+            return live;
+        }
+        List<TicketDto> archived =
+                listProjections(ArchivedTicket.class, statuses, startDate, endDate, assignedAgentId, after, limit);
+        if (archived.isEmpty()) {
+            return live;
+        }
+        try (Stream<TicketDto> merged = mergeOrdered(live.stream(), archived.stream())) {
+            return merged.limit(limit != null ? limit : Long.MAX_VALUE).toList();
+        }
+    }
+
+    private List<TicketDto> listProjections(Class<?> table,
+                                            List<Status> statuses,
+                                            LocalDateTime startDate,
+                                            LocalDateTime endDate,
+                                            Long assignedAgentId,
+                                            ContinuationToken after,
+                                            Integer limit) {
+        TypedQuery<TicketDto> query = entityManager
+                .createQuery(buildProjectionQuery(table, statuses, startDate, endDate, assignedAgentId, after));
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    private Stream<TicketDto> streamProjections(Class<?> table,
+                                                List<Status> statuses,
+                                                LocalDateTime startDate,
+                                                LocalDateTime endDate,
+                                                Long assignedAgentId) {
+        return entityManager.createQuery(buildProjectionQuery(table, statuses, startDate, endDate, assignedAgentId, null))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    // Merges two streams already in listing order, pulling one row at a time from each, and closes both.
+    private static Stream<TicketDto> mergeOrdered(Stream<TicketDto> first, Stream<TicketDto> second) {
+        Iterator<TicketDto> left = first.iterator();
+        Iterator<TicketDto> right = second.iterator();
+        Iterator<TicketDto> merged = new Iterator<>() {
+            private TicketDto nextLeft = left.hasNext() ? left.next() : null;
+            private TicketDto nextRight = right.hasNext() ? right.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextLeft != null || nextRight != null;
+            }
+
+            @Override
+            public TicketDto next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                TicketDto next;
+                if (nextRight == null || (nextLeft != null && LISTING_ORDER.compare(nextLeft, nextRight) <= 0)) {
+                    next = nextLeft;
+                    nextLeft = left.hasNext() ? left.next() : null;
+                } else {
+                    next = nextRight;
+                    nextRight = right.hasNext() ? right.next() : null;
+                }
+                return next;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(first::close)
+                .onClose(second::close);
+    }
+
+    // Adds archived counts to the live group with the same key and keeps the groups in the query's order.
+    private static List<TicketAggregateDto> mergeAggregates(List<TicketAggregateDto> live,
+                                                            List<TicketAggregateDto> archived) {
+        Map<List<Object>, TicketAggregateDto> groups = new HashMap<>();
+        Stream.concat(live.stream(), archived.stream()).forEach(group -> groups.merge(
+                Arrays.asList(group.getStatus(), group.getAssignedAgentId(), group.getBucket()),
+                new TicketAggregateDto(group.getStatus(), group.getAssignedAgentId(), group.getBucket(), group.getCount()),
+                (sum, more) -> {
+                    sum.setCount(sum.getCount() + more.getCount());
+                    return sum;
+                }));
+        List<TicketAggregateDto> merged = new ArrayList<>(groups.values());
+        merged.sort(Comparator
+                .comparing((TicketAggregateDto group) -> group.getStatus() != null ? group.getStatus().name() : null,
+                        Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(TicketAggregateDto::getAssignedAgentId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(TicketAggregateDto::getBucket, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return merged;
+    }
+
+    private Expression<LocalDateTime> truncate(CriteriaBuilder cb, Root<?> ticketRoot, String unit) {
+        return cb.function("date_trunc", LocalDateTime.class, cb.literal(unit), ticketRoot.get(CREATED_DATE_FIELD));
+    }
+
+    private OutboxEvent outboxEvent(Status previousStatus, Ticket savedTicket) {
+        Agent assignedAgent = savedTicket.getAssignedAgent();
+        return new OutboxEvent(savedTicket.getId(),
+                TicketEventType.forTransition(previousStatus, savedTicket.getStatus()),
+                previousStatus,
+                savedTicket.getStatus(),
+                assignedAgent != null ? assignedAgent.getId() : null,
+                localDateTimeProvider.now());
+    }
+
+    private boolean appendOutboxEvent(Long ticketId, Status previousStatus, Status status) {
+        outboxEventRepositoryJpa.appendForTicket(ticketId,
+                TicketEventType.forTransition(previousStatus, status).name(),
+                previousStatus.name(),
+                localDateTimeProvider.now());
+        return true;
+    }
+
+    private <T> List<T> recordList(Query kind,
+                                   List<Status> statuses,
+                                   LocalDateTime startDate,
+                                   LocalDateTime endDate,
+                                   Long assignedAgentId,
+                                   Supplier<List<T>> execution) {
+        Timer timer = filterQueryMetrics.timer(kind, FilterQueryMetrics.shape(statuses, startDate, endDate, assignedAgentId));
+        List<T> results = timer.record(execution);
+        filterQueryMetrics.recordResultSize(kind, results.size());
+        return results;
+    }
+
+    /**
+     * Selects {@link TicketDto} rows directly, so no entity is hydrated, snapshotted or kept in the persistence context.
+     * Only the agent id is projected; the service resolves agent names from its in-memory directory.
+     */
+    private CriteriaQuery<TicketDto> buildProjectionQuery(Class<?> table,
+                                                          List<Status> statuses,
+                                                          LocalDateTime startDate,
+                                                          LocalDateTime endDate,
+                                                          Long assignedAgentId,
+                                                          ContinuationToken after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketDto> query = cb.createQuery(TicketDto.class);
+        Root<?> ticketRoot = query.from(table);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgentId, cb, ticketRoot);
+
+        if (after != null) {
+            predicates.add(buildKeysetPredicate(after, cb, ticketRoot));
+        }
+
+        query.select(cb.construct(TicketDto.class,
+                        ticketRoot.get(ID_FIELD),
+                        ticketRoot.get(DESCRIPTION_FIELD),
+                        ticketRoot.get(STATUS_FIELD),
+                        ticketRoot.get(CREATED_DATE_FIELD),
+                        ticketRoot.get(CLOSED_DATE_FIELD),
+                        cb.nullLiteral(String.class),
+                        ticketRoot.get(RESOLUTION_SUMMARY_FIELD),
+                        ticketRoot.get(ASSIGNED_AGENT_FIELD).get(ID_FIELD),
+                        ticketRoot.get(ASSIGNED_DATE_FIELD),
+                        ticketRoot.get(RESOLVED_DATE_FIELD)))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(ticketRoot.get(CREATED_DATE_FIELD)), cb.asc(ticketRoot.get(ID_FIELD)));
+
+        return query;
+    }
+
+    private Predicate buildKeysetPredicate(ContinuationToken after, CriteriaBuilder cb, Root<?> ticketRoot) {
+        Path<LocalDateTime> createdDate = ticketRoot.get(CREATED_DATE_FIELD);
+        Path<Long> id = ticketRoot.get(ID_FIELD);
+
+        // The leading range on createdDate alone lets the (…, createdDate, id) indexes seek instead of scan.
+        return cb.and(
+                cb.greaterThanOrEqualTo(createdDate, after.getCreatedDate()),
+                cb.or(cb.greaterThan(createdDate, after.getCreatedDate()), cb.greaterThan(id, after.getId()))
+        );
+    }
+
     private List<Predicate> buildPredicates(List<Status> statuses,
                                             LocalDateTime startDate,
                                             LocalDateTime endDate,
-                                            String assignedAgent,
+                                            Long assignedAgentId,
                                             CriteriaBuilder cb,
-                                            Root<Ticket> ticketRoot,
-                                            Join<Ticket, Agent> agentJoin) {
+                                            Root<?> ticketRoot) {
         List<Predicate> predicates = new ArrayList<>();
 
         if (statuses != null && !statuses.isEmpty()) {
@@ -81,8 +548,9 @@ public class TicketRepository implements TicketRepositoryPort {
             predicates.add(cb.lessThanOrEqualTo(ticketRoot.get(CREATED_DATE_FIELD), endDate));
         }
 
-        if (assignedAgent != null && !assignedAgent.trim().isEmpty()) {
-            predicates.add(cb.equal(agentJoin.get(NAME_FIELD), assignedAgent));
+        if (assignedAgentId != null) {
+            // Compares the foreign key column itself, so no join with Agent is needed.
+            predicates.add(cb.equal(ticketRoot.get(ASSIGNED_AGENT_FIELD).get(ID_FIELD), assignedAgentId));
         }
 
         return predicates;
@@ -0,0 +1,102 @@
+package com.ticket.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticket.dto.TicketDto;
+import com.ticket.ports.cache.TicketCachePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of {@link TicketDto} by id: a bounded in-process tier in front of an optional shared tier.
+ * <p>
+ * The in-process tier holds futures. A miss installs an empty future under the per-key compute and the calling
+ * thread then loads the ticket outside of it, so no monitor is held during I/O (a virtual thread would otherwise pin
+ * its carrier) while concurrent readers of the same id still wait for that single load.
+ * <p>
+ * Transitions evict rather than put: their after-commit hooks may run in the opposite order of the commits, and a put
+ * from the older one would then stay cached. Eviction removes the future, so a load that raced a transition only
+ * completes its own future and is never stored. The same holds for the shared tier: a loaded value is only published
+ * there while its future is still the mapped entry, and is withdrawn again if an eviction removed it meanwhile.
+ */
+@Component
+public class TicketCache {
+
+    static final String CACHE_NAME = "tickets";
+
+    private final AsyncCache<Long, TicketDto> localCache;
+    private final Optional<TicketCachePort> secondLevelCache;
+
+    public TicketCache(@Value("${ticket.cache.maximum-size:10000}") long maximumSize,
+                       @Value("${ticket.cache.time-to-live:30s}") Duration timeToLive,
+                       Optional<TicketCachePort> secondLevelCache,
+                       MeterRegistry meterRegistry) {
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .buildAsync();
+        this.secondLevelCache = secondLevelCache;
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, CACHE_NAME);
+    }
+
+    public TicketDto get(Long ticketId, Function<Long, TicketDto> loader) {
+        CompletableFuture<TicketDto> pending = new CompletableFuture<>();
+        CompletableFuture<TicketDto> cached = localCache.get(ticketId, (id, executor) -> pending);
+        if (cached == pending) {
+            try {
+                pending.complete(load(ticketId, pending, loader));
+            } catch (RuntimeException ex) {
+                pending.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public void evict(Long ticketId) {
+        localCache.synchronous().invalidate(ticketId);
+        secondLevelCache.ifPresent(cache -> cache.evict(ticketId));
+    }
+
+    private TicketDto load(Long ticketId, CompletableFuture<TicketDto> pending, Function<Long, TicketDto> loader) {
+        return secondLevelCache
+                .flatMap(cache -> cache.get(ticketId))
+                .orElseGet(() -> {
+                    TicketDto ticketDto = loader.apply(ticketId);
+                    secondLevelCache.ifPresent(cache -> publish(cache, ticketId, pending, ticketDto));
+                    return ticketDto;
+                });
+    }
+
+    /**
+     * Puts a loaded ticket into the shared tier unless an eviction has superseded this load. The check is repeated
+     * after the put: if the mapping changed in between, the entry is evicted again, since the eviction may have run
+     * before the put. The checks read through the map view so they are not recorded as cache hits.
+     */
+    private void publish(TicketCachePort cache, Long ticketId, CompletableFuture<TicketDto> pending,
+                         TicketDto ticketDto) {
+        if (localCache.asMap().get(ticketId) != pending) {
+            return;
+        }
+        cache.put(ticketDto);
+        if (localCache.asMap().get(ticketId) != pending) {
+            cache.evict(ticketId);
+        }
+    }
+}
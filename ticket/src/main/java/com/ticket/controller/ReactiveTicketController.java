@@ -0,0 +1,75 @@
+package com.ticket.controller;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketFilterDto;
+import com.ticket.entity.Status;
+import com.ticket.ports.driver.ReactiveTicketServicePort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of {@link TicketController}. Results are written as they are emitted and the next row is only
+ * requested once the previous one has been written, so large listings stream with backpressure.
+ */
+@RestController
+@RequestMapping("/reactive/tickets")
+public class ReactiveTicketController {
+
+    private static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private final ReactiveTicketServicePort reactiveTicketServicePort;
+
+    public ReactiveTicketController(ReactiveTicketServicePort reactiveTicketServicePort) {
+        this.reactiveTicketServicePort = reactiveTicketServicePort;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<TicketDto>> createTicket(@RequestBody TicketDto ticketDto) {
+        return reactiveTicketServicePort.createTicket(ticketDto, LocalDateTime.now())
+                .map(createdTicket -> new ResponseEntity<>(createdTicket, HttpStatus.CREATED));
+    }
+
+    @PutMapping("/{id}/agent/{agentId}")
+    public Mono<TicketDto> assignAgentToTicket(@PathVariable("id") Long ticketId, @PathVariable Long agentId) {
+        return reactiveTicketServicePort.assignAgentToTicket(ticketId, agentId);
+    }
+
+    @PutMapping("/{id}/resolve")
+    public Mono<TicketDto> resolveTicket(@PathVariable("id") Long ticketId) {
+        return reactiveTicketServicePort.resolveTicket(ticketId);
+    }
+
+    @PutMapping("/{id}/close")
+    public Mono<TicketDto> closeTicket(@PathVariable("id") Long ticketId) {
+        return reactiveTicketServicePort.closeTicket(ticketId);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TicketDto> getTicketById(@PathVariable("id") Long ticketId) {
+        return reactiveTicketServicePort.getTicketById(ticketId);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TicketDto> getTickets(TicketFilterDto filter) {
+        return reactiveTicketServicePort.getTickets(filter);
+    }
+
+    /**
+     * Long poll: responds as soon as the ticket leaves {@code status}, or with the unchanged ticket after
+     * {@code timeout} (capped at one minute).
+     */
+    @GetMapping("/{id}/changes")
+    public Mono<TicketDto> awaitStatusChange(@PathVariable("id") Long ticketId,
+                                             @RequestParam Status status,
+                                             @RequestParam(defaultValue = "PT30S") Duration timeout) {
+        Duration wait = timeout.compareTo(MAX_WAIT) > 0 ? MAX_WAIT : timeout;
+        return reactiveTicketServicePort.awaitStatusChange(ticketId, status, wait);
+    }
+}
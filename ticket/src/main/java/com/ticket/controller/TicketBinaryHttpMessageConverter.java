@@ -0,0 +1,105 @@
+package com.ticket.controller;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketPageDto;
+import com.ticket.util.TicketCodec;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Reads and writes tickets, ticket lists and ticket pages as {@value #MEDIA_TYPE_VALUE} through {@link TicketCodec},
+ * for clients that send {@code Accept: application/x-ticket-binary}. Agent names are not part of the binary form;
+ * clients resolve {@code assignedAgentId} themselves.
+ */
+public class TicketBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-ticket-binary";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public TicketBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == TicketDto.class || clazz == TicketPageDto.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isTicketType(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (type != null ? isTicketType(type) : supports(clazz)) && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ByteBuffer buffer;
+        if (body instanceof TicketDto ticketDto) {
+            buffer = ByteBuffer.allocate(TicketCodec.maxEncodedSize(ticketDto));
+            TicketCodec.encode(ticketDto, buffer);
+        } else if (body instanceof TicketPageDto page) {
+            buffer = ByteBuffer.allocate(TicketCodec.maxEncodedSize(page));
+            TicketCodec.encode(page, buffer);
+        } else {
+            @SuppressWarnings("unchecked")
+            List<TicketDto> ticketDtos = (List<TicketDto>) body;
+            buffer = ByteBuffer.allocate(TicketCodec.maxEncodedSize(ticketDtos));
+            TicketCodec.encode(ticketDtos, buffer);
+        }
+        outputMessage.getHeaders().setContentLength(buffer.position());
+        outputMessage.getBody().write(buffer.array(), 0, buffer.position());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return decode(type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        return decode(clazz, inputMessage);
+    }
+
+    private Object decode(Type type, HttpInputMessage inputMessage) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(inputMessage.getBody().readAllBytes());
+        try {
+            if (type == TicketDto.class) {
+                return TicketCodec.decodeDto(buffer);
+            }
+            if (type == TicketPageDto.class) {
+                return TicketCodec.decodePage(buffer);
+            }
+            return TicketCodec.decodeDtos(buffer);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException ex) {
+            throw new HttpMessageNotReadableException("Malformed ticket binary body: " + ex.getMessage(), ex,
+                    inputMessage);
+        }
+    }
+
+    private static boolean isTicketType(Type type) {
+        if (type == TicketDto.class || type == TicketPageDto.class) {
+            return true;
+        }
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == TicketDto.class;
+    }
+}
@@ -1,24 +1,40 @@
 package com.ticket.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticket.dto.BatchResultDto;
+import com.ticket.dto.TicketAggregateDto;
 import com.ticket.dto.TicketDto;
 import com.ticket.dto.TicketFilterDto;
+import com.ticket.dto.TicketGrouping;
+import com.ticket.dto.TicketPageDto;
+import com.ticket.dto.TicketSearchHitDto;
 import com.ticket.ports.driver.TicketServicePort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/tickets")
 public class TicketController {
 
+    private static final byte NEW_LINE = '\n';
+
     private TicketServicePort ticketServicePort;
+    private ObjectMapper objectMapper;
 
-    public TicketController(TicketServicePort ticketServicePort) {
+    public TicketController(TicketServicePort ticketServicePort, ObjectMapper objectMapper) {
         this.ticketServicePort = ticketServicePort;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -27,12 +43,24 @@ public class TicketController {
         return new ResponseEntity<>(createdTicket, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDto> createTickets(@RequestBody List<TicketDto> ticketDtos) {
+        BatchResultDto result = ticketServicePort.createTickets(ticketDtos, LocalDateTime.now());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}/agent/{agentId}")
     public ResponseEntity<TicketDto> assignAgent(@PathVariable Long id, @PathVariable Long agentId) {
         TicketDto updatedTicket = ticketServicePort.assignAgentToTicket(id, agentId);
         return new ResponseEntity<>(updatedTicket, HttpStatus.OK);
     }
 
+    @PutMapping("/batch/agent/{agentId}")
+    public ResponseEntity<BatchResultDto> assignAgent(@PathVariable Long agentId, @RequestBody List<Long> ticketIds) {
+        BatchResultDto result = ticketServicePort.assignAgentToTickets(ticketIds, agentId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}/resolve")
     public ResponseEntity<TicketDto> resolveTicket(@PathVariable Long id) {
         TicketDto resolvedTicket = ticketServicePort.resolveTicket(id);
@@ -40,12 +68,24 @@ public class TicketController {
     }
 
 
+    @PutMapping("/batch/resolve")
+    public ResponseEntity<BatchResultDto> resolveTickets(@RequestBody List<Long> ticketIds) {
+        BatchResultDto result = ticketServicePort.resolveTickets(ticketIds);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}/close")
     public ResponseEntity<TicketDto> closeTicket(@PathVariable Long id) {
         TicketDto closedTicket = ticketServicePort.closeTicket(id);
         return new ResponseEntity<>(closedTicket, HttpStatus.OK);
     }
 
+    @PutMapping("/batch/close")
+    public ResponseEntity<BatchResultDto> closeTickets(@RequestBody List<Long> ticketIds) {
+        BatchResultDto result = ticketServicePort.closeTickets(ticketIds);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TicketDto> updateTicket(@PathVariable Long id, @RequestBody TicketDto updatedTicketDetails) {
         TicketDto updatedTicket = ticketServicePort.updateTicket(id, updatedTicketDetails);
@@ -59,8 +99,47 @@ public class TicketController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TicketDto>> getTickets(TicketFilterDto filter) {
-        List<TicketDto> tickets = ticketServicePort.getTickets(filter);
+    public ResponseEntity<TicketPageDto> getTickets(TicketFilterDto filter) {
+        TicketPageDto tickets = ticketServicePort.getTicketPage(filter);
         return ResponseEntity.ok(tickets);
     }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTickets(TicketFilterDto filter) {
+        StreamingResponseBody body = outputStream ->
+                ticketServicePort.streamTickets(filter, ticketDto -> writeLine(outputStream, ticketDto));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/aggregate")
+    public ResponseEntity<List<TicketAggregateDto>> aggregateTickets(
+            TicketFilterDto filter,
+            @RequestParam(name = "groupBy", required = false) Set<TicketGrouping> groupings) {
+        List<TicketAggregateDto> aggregates =
+                ticketServicePort.aggregateTickets(filter, groupings == null ? Set.of() : groupings);
+        return ResponseEntity.ok(aggregates);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TicketSearchHitDto>> searchTickets(@RequestParam("q") String query, TicketFilterDto filter) {
+        List<TicketSearchHitDto> hits = ticketServicePort.searchTickets(query, filter);
+        return ResponseEntity.ok(hits);
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Integer> rebuildSearchIndex() {
+        int indexedTickets = ticketServicePort.rebuildSearchIndex();
+        return new ResponseEntity<>(indexedTickets, HttpStatus.OK);
+    }
+
+    private void writeLine(OutputStream outputStream, TicketDto ticketDto) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(ticketDto));
+            outputStream.write(NEW_LINE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
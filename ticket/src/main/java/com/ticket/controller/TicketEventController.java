@@ -0,0 +1,98 @@
+package com.ticket.controller;
+
+import com.ticket.entity.Status;
+import com.ticket.events.TicketEvent;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventId;
+import com.ticket.events.TicketEventSubscription;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams ticket change events as Server-Sent Events. Each event carries its {@link TicketEventId} as the SSE id, so a
+ * client that reconnects with {@code Last-Event-ID} (or {@code ?after=}) resumes where it left off as long as the
+ * events are still buffered and the bus has not restarted since; otherwise it receives a {@code reset} event and should
+ * reload its view of the tickets.
+ */
+@RestController
+@RequestMapping("/tickets/events")
+public class TicketEventController {
+
+    private final TicketEventBus ticketEventBus;
+    private final Duration heartbeatInterval;
+    private final Duration streamTimeout;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public TicketEventController(TicketEventBus ticketEventBus,
+                                 @Value("${ticket.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                 @Value("${ticket.events.stream-timeout:30m}") Duration streamTimeout,
+                                 MeterRegistry meterRegistry) {
+        this.ticketEventBus = ticketEventBus;
+        this.heartbeatInterval = heartbeatInterval;
+        this.streamTimeout = streamTimeout;
+        meterRegistry.gauge("ticket.events.subscribers", subscribers);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(required = false) Status status,
+                                   @RequestParam(required = false) Long assignedAgentId,
+                                   @RequestParam(required = false) String after,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        String resumeAfter = lastEventId != null ? lastEventId : after;
+        TicketEventId afterId = resumeAfter != null ? TicketEventId.parse(resumeAfter, ticketEventBus.epoch())
+                : new TicketEventId(ticketEventBus.epoch(), ticketEventBus.lastSequence());
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        TicketEventSubscription subscription = new TicketEventSubscription(ticketEventBus,
+                TicketEventSubscription.matching(status, assignedAgentId), afterId.epoch(), afterId.sequence(),
+                heartbeatInterval, new EmitterSink(emitter, ticketEventBus.epoch()));
+
+        subscribers.incrementAndGet();
+        Thread sender = Thread.ofVirtual().name("ticket-events").unstarted(() -> {
+            try {
+                subscription.run();
+            } finally {
+                subscribers.decrementAndGet();
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(sender::interrupt);
+        emitter.onTimeout(sender::interrupt);
+        emitter.onError(ex -> sender.interrupt());
+        sender.start();
+        return emitter;
+    }
+
+    private record EmitterSink(SseEmitter emitter, long epoch) implements TicketEventSubscription.Sink {
+
+        @Override
+        public void event(TicketEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(new TicketEventId(epoch, event.getSequence()).toString())
+                    .name("ticket")
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void reset(long nextSequence) throws IOException {
+            // The id moves the client's Last-Event-ID into this epoch, so a reconnect before the next event does not
+            // reset again.
+            emitter.send(SseEmitter.event()
+                    .id(new TicketEventId(epoch, nextSequence - 1).toString())
+                    .name("reset")
+                    .data(nextSequence));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+}
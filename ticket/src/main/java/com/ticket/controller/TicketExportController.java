@@ -0,0 +1,26 @@
+package com.ticket.controller;
+
+import com.ticket.dto.TicketExportDto;
+import com.ticket.ports.driver.TicketExportServicePort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/tickets/export")
+public class TicketExportController {
+
+    private final TicketExportServicePort ticketExportServicePort;
+
+    public TicketExportController(TicketExportServicePort ticketExportServicePort) {
+        this.ticketExportServicePort = ticketExportServicePort;
+    }
+
+    @PostMapping
+    public ResponseEntity<TicketExportDto> exportTickets(@RequestParam(name = "after", required = false) String after) {
+        return new ResponseEntity<>(ticketExportServicePort.exportTickets(after), HttpStatus.OK);
+    }
+}
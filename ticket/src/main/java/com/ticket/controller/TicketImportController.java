@@ -0,0 +1,35 @@
+package com.ticket.controller;
+
+import com.ticket.dto.TicketImportDto;
+import com.ticket.ports.driver.TicketImportServicePort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/tickets/import")
+public class TicketImportController {
+
+    private final TicketImportServicePort ticketImportServicePort;
+
+    public TicketImportController(TicketImportServicePort ticketImportServicePort) {
+        this.ticketImportServicePort = ticketImportServicePort;
+    }
+
+    // Imports can take minutes, so they run in the background; poll GET /tickets/import for progress.
+    @PostMapping
+    public ResponseEntity<TicketImportDto> importTickets(@RequestParam(name = "file") String fileName) {
+        return new ResponseEntity<>(ticketImportServicePort.startImport(fileName), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping
+    public ResponseEntity<TicketImportDto> getImport() {
+        return ticketImportServicePort.getImport()
+                .map(status -> new ResponseEntity<>(status, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
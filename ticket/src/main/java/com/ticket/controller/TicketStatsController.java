@@ -0,0 +1,35 @@
+package com.ticket.controller;
+
+import com.ticket.dto.TicketStatsDto;
+import com.ticket.dto.TicketTimingsDto;
+import com.ticket.ports.driver.TicketStatsServicePort;
+import com.ticket.ports.driver.TicketTimingServicePort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/tickets/stats")
+public class TicketStatsController {
+
+    private final TicketStatsServicePort ticketStatsServicePort;
+    private final TicketTimingServicePort ticketTimingServicePort;
+
+    public TicketStatsController(TicketStatsServicePort ticketStatsServicePort,
+                                 TicketTimingServicePort ticketTimingServicePort) {
+        this.ticketStatsServicePort = ticketStatsServicePort;
+        this.ticketTimingServicePort = ticketTimingServicePort;
+    }
+
+    @GetMapping
+    public ResponseEntity<TicketStatsDto> getStats() {
+        return new ResponseEntity<>(ticketStatsServicePort.getStats(), HttpStatus.OK);
+    }
+
+    @GetMapping("/timings")
+    public ResponseEntity<TicketTimingsDto> getTimings() {
+        return new ResponseEntity<>(ticketTimingServicePort.getTimings(), HttpStatus.OK);
+    }
+}
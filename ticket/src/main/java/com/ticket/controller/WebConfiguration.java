@@ -0,0 +1,20 @@
+package com.ticket.controller;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    /**
+     * Adds the binary ticket converter after the defaults, so it is only chosen when a client asks for it and requests
+     * accepting anything still get JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new TicketBinaryHttpMessageConverter());
+    }
+}
@@ -1,41 +1,92 @@
 package com.ticket.controller.exception;
 
 import com.ticket.exception.*;
+import com.ticket.util.ErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @RestControllerAdvice
 public class ControllerExceptionHandler {
 
+    static final String ERRORS_METRIC = "ticket.api.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public ControllerExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(InvalidTicketStateException.class)
     public ResponseEntity<String> handleInvalidTicketState(InvalidTicketStateException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return respond(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(AgentNotFoundException.class)
     public ResponseEntity<String> handleAgentNotFoundException(AgentNotFoundException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return respond(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(TicketNotFoundException.class)
     public ResponseEntity<String> handleTicketNotFoundException(TicketNotFoundException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+        return respond(ex, ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(MissingResolutionSummaryException.class)
     public ResponseEntity<String> handleMissingResolutionSummary(MissingResolutionSummaryException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return respond(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(InvalidDateRangeException.class)
     public ResponseEntity<String> handleInvalidDateRange(InvalidDateRangeException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return respond(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidGroupingException.class)
+    public ResponseEntity<String> handleInvalidGrouping(InvalidGroupingException ex) {
+        return respond(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MissingDescriptionException.class)
     public ResponseEntity<String> handleMissingDescription(MissingDescriptionException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return respond(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidContinuationTokenException.class)
+    public ResponseEntity<String> handleInvalidContinuationToken(InvalidContinuationTokenException ex) {
+        return respond(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    public ResponseEntity<String> handleInvalidImportFile(InvalidImportFileException ex) {
+        return respond(ex, ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TicketConflictException.class)
+    public ResponseEntity<String> handleTicketConflict(TicketConflictException ex) {
+        return respond(ex, ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return respond(ex, ErrorMessages.TICKET_MODIFIED_CONCURRENTLY, HttpStatus.CONFLICT);
+    }
+
+    private ResponseEntity<String> respond(Exception ex, String message, HttpStatus status) {
+        errorCounters.computeIfAbsent(ex.getClass(), type -> Counter.builder(ERRORS_METRIC)
+                        .description("Exceptions translated into error responses")
+                        .tag("exception", type.getSimpleName())
+                        .tag("status", String.valueOf(status.value()))
+                        .register(meterRegistry))
+                .increment();
+        return new ResponseEntity<>(message, status);
     }
 }
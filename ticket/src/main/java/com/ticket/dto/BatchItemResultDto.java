@@ -0,0 +1,24 @@
+package com.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDto {
+    private Integer index;
+    private Long ticketId;
+    private TicketDto ticket;
+    private String error;
+
+
+    public static BatchItemResultDto success(Integer index, TicketDto ticket) {
+        return new BatchItemResultDto(index, ticket.getId(), ticket, null);
+    }
+
+    public static BatchItemResultDto failure(Integer index, Long ticketId, String error) {
+        return new BatchItemResultDto(index, ticketId, null, error);
+    }
+}
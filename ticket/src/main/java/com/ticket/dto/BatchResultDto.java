@@ -0,0 +1,22 @@
+package com.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDto {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResultDto> items;
+
+
+    public static BatchResultDto of(List<BatchItemResultDto> items) {
+        int failed = (int) items.stream().filter(item -> item.getError() != null).count();
+        return new BatchResultDto(items.size() - failed, failed, items);
+    }
+}
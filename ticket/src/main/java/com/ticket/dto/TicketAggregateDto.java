@@ -0,0 +1,23 @@
+package com.ticket.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ticket.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One group of an aggregate query. Only the dimensions that were grouped by are set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TicketAggregateDto {
+    private Status status;
+    private Long assignedAgentId;
+    private LocalDateTime bucket;
+    private long count;
+}
@@ -0,0 +1,15 @@
+package com.ticket.dto;
+
+import com.ticket.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCountDto {
+    private Long assignedAgentId;
+    private Status status;
+    private long count;
+}
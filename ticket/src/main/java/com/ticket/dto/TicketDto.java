@@ -19,8 +19,19 @@ public class TicketDto{
     private LocalDateTime closedDate;
     private String assignedAgent;
     private String resolutionSummary;
+    private Long assignedAgentId;
+    private LocalDateTime assignedDate;
+    private LocalDateTime resolvedDate;
 
 
+    public TicketDto(Long id, String description, Status status, LocalDateTime createdDate,
+                     LocalDateTime closedDate, String assignedAgent, String resolutionSummary) {
+        this(id, description, status, createdDate);
+        this.closedDate = closedDate;
+        this.assignedAgent = assignedAgent;
+        this.resolutionSummary = resolutionSummary;
+    }
+
     public TicketDto(Long id, String description, Status status, LocalDateTime createdDate) {
         this.id = id;
         this.description = description;
@@ -0,0 +1,19 @@
+package com.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Percentiles of one ticket duration, in milliseconds, over every transition recorded since startup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketDurationDto {
+    private long count;
+    private long p50;
+    private long p90;
+    private long p99;
+    private long max;
+}
@@ -0,0 +1,14 @@
+package com.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketExportDto {
+    private String file;
+    private long tickets;
+    private String watermark;
+}
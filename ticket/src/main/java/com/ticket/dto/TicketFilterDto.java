@@ -16,6 +16,15 @@ public class TicketFilterDto {
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     private String assignedAgent;
+    private Long assignedAgentId;
+    private String continuationToken;
+    private Integer limit;
 
 
+    public TicketFilterDto(List<Status> status, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent) {
+        this.status = status;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.assignedAgent = assignedAgent;
+    }
 }
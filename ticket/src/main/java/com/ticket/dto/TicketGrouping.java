@@ -0,0 +1,9 @@
+package com.ticket.dto;
+
+public enum TicketGrouping {
+    STATUS,
+    AGENT,
+    // Truncates createdDate to the start of its hour or day; at most one of the two can be requested.
+    HOUR,
+    DAY
+}
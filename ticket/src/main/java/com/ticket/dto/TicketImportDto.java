@@ -0,0 +1,24 @@
+package com.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketImportDto {
+    private String file;
+    private TicketImportState state;
+    // Fraction of the file's bytes imported or rejected so far, including those imported by earlier runs.
+    private double progress;
+    private long imported;
+    private long rejected;
+    private int chunks;
+    private int resumedChunks;
+    private long elapsedMillis;
+    private List<String> errors;
+    private String failure;
+}
@@ -0,0 +1,7 @@
+package com.ticket.dto;
+
+public enum TicketImportState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
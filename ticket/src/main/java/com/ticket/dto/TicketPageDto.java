@@ -0,0 +1,15 @@
+package com.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketPageDto {
+    private List<TicketDto> tickets;
+    private String continuationToken;
+}
@@ -0,0 +1,13 @@
+package com.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSearchHitDto {
+    private TicketDto ticket;
+    private double score;
+}
@@ -0,0 +1,18 @@
+package com.ticket.dto;
+
+import com.ticket.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketStatsDto {
+    private Map<Status, Long> byStatus;
+    private Map<Long, Map<Status, Long>> byAgent;
+    private LocalDateTime reconciledAt;
+}
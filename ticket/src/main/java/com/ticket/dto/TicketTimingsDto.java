@@ -0,0 +1,17 @@
+package com.ticket.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketTimingsDto {
+    private TicketDurationDto timeToAssign;
+    private TicketDurationDto timeToResolve;
+    private Map<Long, TicketDurationDto> timeToAssignByAgent;
+    private Map<Long, TicketDurationDto> timeToResolveByAgent;
+}
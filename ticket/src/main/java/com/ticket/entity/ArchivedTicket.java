@@ -0,0 +1,59 @@
+package com.ticket.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A closed ticket moved out of the {@code ticket} table by the archiver. Closed tickets never change again, so the row
+ * keeps the ticket's id and columns as they were and has no version. Field names match {@link Ticket}, so the same
+ * filter criteria apply to both tables.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_archived_ticket_created_date_id", columnList = "createdDate, id"),
+        @Index(name = "idx_archived_ticket_agent_created_date", columnList = "assignedAgentId, createdDate")
+})
+public class ArchivedTicket {
+
+    @Id
+    private Long id;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private LocalDateTime createdDate;
+
+    private LocalDateTime assignedDate;
+
+    private LocalDateTime resolvedDate;
+
+    private LocalDateTime closedDate;
+
+    private String resolutionSummary;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignedAgentId")
+    private Agent assignedAgent;
+
+    private LocalDateTime archivedDate;
+
+    // Detached and never saved: archived tickets are read through the same model as live ones.
+    public Ticket toTicket() {
+        Ticket ticket = new Ticket(id, description, status, createdDate);
+        ticket.setAssignedDate(assignedDate);
+        ticket.setResolvedDate(resolvedDate);
+        ticket.setClosedDate(closedDate);
+        ticket.setResolutionSummary(resolutionSummary);
+        ticket.setAssignedAgent(assignedAgent);
+        return ticket;
+    }
+}
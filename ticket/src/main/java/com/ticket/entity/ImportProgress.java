@@ -0,0 +1,44 @@
+package com.ticket.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * How far the import of one chunk of an import file has committed. The row is written in the transaction that saves
+ * the chunk's batch, so it never claims a batch that was rolled back nor misses one that committed. {@code fingerprint}
+ * identifies the version of the file the offsets belong to.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(ImportProgress.Key.class)
+public class ImportProgress {
+
+    @Id
+    private String fileName;
+
+    @Id
+    private int chunk;
+
+    private String fingerprint;
+
+    private long committedOffset;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String fileName;
+        private int chunk;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ticket.entity;
+
+import com.ticket.events.TicketEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ticket change waiting to be relayed downstream. Rows are written in the same transaction as the ticket change and
+ * deleted once published, so the table only holds the backlog.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    private Long ticketId;
+
+    @Enumerated(EnumType.STRING)
+    private TicketEventType type;
+
+    @Enumerated(EnumType.STRING)
+    private Status previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private Long assignedAgentId;
+
+    private LocalDateTime createdDate;
+
+    public OutboxEvent(Long ticketId, TicketEventType type, Status previousStatus, Status status, Long assignedAgentId,
+                       LocalDateTime createdDate) {
+        this.ticketId = ticketId;
+        this.type = type;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.assignedAgentId = assignedAgentId;
+        this.createdDate = createdDate;
+    }
+}
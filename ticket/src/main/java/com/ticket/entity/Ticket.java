@@ -2,10 +2,12 @@ package com.ticket.entity;
 
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -14,10 +16,16 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_ticket_created_date_id", columnList = "createdDate, id"),
+        @Index(name = "idx_ticket_status_created_date_id", columnList = "status, createdDate, id"),
+        @Index(name = "idx_ticket_agent_status_created_date", columnList = "assignedAgentId, status, createdDate")
+})
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 50)
     private Long id;
 
     private String description;
@@ -27,13 +35,26 @@ public class Ticket {
 
     private LocalDateTime createdDate;
 
+    private LocalDateTime assignedDate;
+
+    private LocalDateTime resolvedDate;
+
     private LocalDateTime closedDate;
 
     private String resolutionSummary;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignedAgentId")
     private Agent assignedAgent;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    // Status as last read from or written to the database, so a save can tell which transition it records.
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private Status persistedStatus;
+
 
     public Ticket(Long id, String description, Status status, LocalDateTime createdDate) {
         this.id = id;
@@ -42,4 +63,11 @@ public class Ticket {
         this.createdDate = createdDate;
     }
 
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedStatus() {
+        this.persistedStatus = status;
+    }
+
 }
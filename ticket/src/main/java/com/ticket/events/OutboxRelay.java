@@ -0,0 +1,89 @@
+package com.ticket.events;
+
+import com.ticket.entity.OutboxEvent;
+import com.ticket.ports.publisher.TicketEventPublisherPort;
+import com.ticket.ports.repository.OutboxRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox into the {@link TicketEventPublisherPort}. Each batch is locked, published and deleted in one
+ * transaction: a failed publish rolls back and leaves the batch for the next run, and concurrent relays skip rows
+ * another relay has locked instead of publishing them twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticket.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxRepositoryPort outboxRepository;
+    private final TicketEventPublisherPort publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter relayedEvents;
+    private final Counter failedBatches;
+    private final Timer lag;
+    private final Timer publishTimer;
+
+    public OutboxRelay(OutboxRepositoryPort outboxRepository,
+                       TicketEventPublisherPort publisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${ticket.outbox.relay.batch-size:100}") int batchSize,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.relayedEvents = meterRegistry.counter("ticket.outbox.relayed");
+        this.failedBatches = meterRegistry.counter("ticket.outbox.failures");
+        this.lag = Timer.builder("ticket.outbox.lag")
+                .description("Time from the ticket change to its publication")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publishTimer = meterRegistry.timer("ticket.outbox.publish");
+    }
+
+    /**
+     * Relays batches until the outbox holds less than a full batch, so a backlog is drained in one run.
+     */
+    @Scheduled(fixedDelayString = "${ticket.outbox.relay.interval-ms:1000}")
+    public void relay() {
+        try {
+            while (relayBatch() == batchSize) {
+                // Keep draining.
+            }
+        } catch (RuntimeException ex) {
+            failedBatches.increment();
+            log.warn("Outbox relay failed; the batch stays queued for the next run", ex);
+        }
+    }
+
+    public int relayBatch() {
+        List<OutboxEvent> relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxRepository.lockNextBatch(batchSize);
+            if (!batch.isEmpty()) {
+                publishTimer.record(() -> publisher.publish(batch));
+                outboxRepository.deleteAll(batch);
+            }
+            return batch;
+        });
+        LocalDateTime relayedAt = LocalDateTime.now();
+        for (OutboxEvent event : relayed) {
+            lag.record(Duration.between(event.getCreatedDate(), relayedAt));
+        }
+        relayedEvents.increment(relayed.size());
+        return relayed.size();
+    }
+}
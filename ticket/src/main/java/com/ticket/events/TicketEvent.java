@@ -0,0 +1,29 @@
+package com.ticket.events;
+
+import com.ticket.entity.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed ticket transition. {@code sequence} is assigned by {@link TicketEventBus}, starts at 1 and has no gaps.
+ * {@code timestamp} is when the transition was published; {@code createdDate} is when the ticket was created and
+ * {@code transitionDate} is the date the transition stamped on the ticket (its assigned, resolved or closed date), which
+ * unlike {@code timestamp} does not include the time spent committing the transaction.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class TicketEvent {
+    private final long sequence;
+    private final TicketEventType type;
+    private final Long ticketId;
+    private final Status previousStatus;
+    private final Status status;
+    private final Long assignedAgentId;
+    private final LocalDateTime timestamp;
+    private final LocalDateTime createdDate;
+    private final LocalDateTime transitionDate;
+}
@@ -0,0 +1,137 @@
+package com.ticket.events;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.util.LocalDateTimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process ring buffer of the most recent {@link TicketEvent}s. Publishers serialize on a short lock to assign the
+ * sequence; readers never lock and detect that they fell behind when the first event they get back is not the one
+ * they asked for.
+ */
+@Component
+public class TicketEventBus {
+
+    private final TicketEvent[] ring;
+    private final int mask;
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Condition published = publishLock.newCondition();
+    private final List<TicketEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final Counter publishedEvents;
+    private final LocalDateTimeProvider localDateTimeProvider;
+    // Start time of this bus; event ids carry it, so subscribers notice when sequences started over.
+    private final long epoch = System.currentTimeMillis();
+
+    private volatile long lastSequence;
+
+    public TicketEventBus(@Value("${ticket.events.capacity:65536}") int capacity, MeterRegistry meterRegistry,
+                          LocalDateTimeProvider localDateTimeProvider) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new TicketEvent[size];
+        this.mask = size - 1;
+        this.publishedEvents = meterRegistry.counter("ticket.events.published");
+        this.localDateTimeProvider = localDateTimeProvider;
+    }
+
+    public void addListener(TicketEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public TicketEvent publish(TicketEventType type, Status previousStatus, TicketDto ticketDto) {
+        TicketEvent event;
+        LocalDateTime timestamp = localDateTimeProvider.now();
+        publishLock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            event = new TicketEvent(sequence, type, ticketDto.getId(), previousStatus, ticketDto.getStatus(),
+                    ticketDto.getAssignedAgentId(), timestamp, ticketDto.getCreatedDate(), transitionDate(type, ticketDto));
+            ring[(int) (sequence & mask)] = event;
+            lastSequence = sequence;
+            published.signalAll();
+        } finally {
+            publishLock.unlock();
+        }
+        publishedEvents.increment();
+        // Outside the lock, so listeners of concurrent publishers may observe events out of sequence order.
+        for (TicketEventListener listener : listeners) {
+            listener.onEvent(event);
+        }
+        return event;
+    }
+
+    private static LocalDateTime transitionDate(TicketEventType type, TicketDto ticketDto) {
+        return switch (type) {
+            case CREATED -> ticketDto.getCreatedDate();
+            case ASSIGNED -> ticketDto.getAssignedDate();
+            case RESOLVED -> ticketDto.getResolvedDate();
+            case CLOSED -> ticketDto.getClosedDate();
+            case UPDATED -> null;
+        };
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns up to {@code max} consecutive events following {@code afterSequence}. When the events right after it
+     * have already been overwritten, the result starts at the oldest retained event instead.
+     */
+    public List<TicketEvent> readAfter(long afterSequence, int max) {
+        long last = lastSequence;
+        long from = Math.max(afterSequence + 1, last - ring.length + 1);
+        long to = Math.min(last, from + max - 1);
+        List<TicketEvent> events = new ArrayList<>((int) Math.max(0, to - from + 1));
+        for (long sequence = from; sequence <= to; sequence++) {
+            TicketEvent event = ring[(int) (sequence & mask)];
+            if (event == null || event.getSequence() != sequence) {
+                // Overwritten by a publisher that wrapped around while we were reading.
+                break;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Blocks until an event newer than {@code afterSequence} is published or the timeout elapses.
+     */
+    public boolean awaitAfter(long afterSequence, Duration timeout) throws InterruptedException {
+        if (lastSequence > afterSequence) {
+            return true;
+        }
+        long remaining = timeout.toNanos();
+        publishLock.lock();
+        try {
+            while (lastSequence <= afterSequence) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = published.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    int capacity() {
+        return ring.length;
+    }
+}
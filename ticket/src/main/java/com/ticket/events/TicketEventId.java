@@ -0,0 +1,33 @@
+package com.ticket.events;
+
+/**
+ * The SSE id of an event: the epoch of the {@link TicketEventBus} that published it and its sequence on that bus,
+ * written {@code <epoch>-<sequence>}. Sequences start over whenever the bus does, so a sequence alone cannot tell a
+ * subscriber resuming after a restart that the events it has seen are gone.
+ */
+public record TicketEventId(long epoch, long sequence) {
+
+    // Epoch of ids that cannot be parsed; no bus has it, so they always rewind.
+    static final long UNKNOWN_EPOCH = -1;
+
+    /**
+     * Parses an id sent back by a client. A bare sequence, as sent by clients from before ids carried the epoch, is
+     * taken to be from {@code currentEpoch}.
+     */
+    public static TicketEventId parse(String id, long currentEpoch) {
+        int separator = id.indexOf('-');
+        try {
+            return separator < 0
+                    ? new TicketEventId(currentEpoch, Long.parseLong(id.strip()))
+                    : new TicketEventId(Long.parseLong(id.substring(0, separator).strip()),
+                    Long.parseLong(id.substring(separator + 1).strip()));
+        } catch (NumberFormatException ex) {
+            return new TicketEventId(UNKNOWN_EPOCH, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return epoch + "-" + sequence;
+    }
+}
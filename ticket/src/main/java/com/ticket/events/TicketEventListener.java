@@ -0,0 +1,9 @@
+package com.ticket.events;
+
+/**
+ * Called on the publishing thread after each event is stored. Implementations must be fast and must not block.
+ */
+@FunctionalInterface
+public interface TicketEventListener {
+    void onEvent(TicketEvent event);
+}
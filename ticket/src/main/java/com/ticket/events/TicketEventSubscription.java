@@ -0,0 +1,99 @@
+package com.ticket.events;
+
+import com.ticket.entity.Status;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Pumps events from a {@link TicketEventBus} to one subscriber, starting after a given sequence. Meant to run on its
+ * own (virtual) thread: it blocks while the bus is idle and sends a heartbeat whenever the bus stayed idle for the
+ * heartbeat interval. It stops when the sink fails or the thread is interrupted.
+ */
+public class TicketEventSubscription implements Runnable {
+
+    static final int READ_BATCH_SIZE = 256;
+
+    public interface Sink {
+        void event(TicketEvent event) throws IOException;
+
+        /**
+         * The subscriber asked for events that are no longer buffered, or resumed from an event of an earlier epoch of
+         * the bus; delivery resumes at {@code nextSequence}.
+         */
+        void reset(long nextSequence) throws IOException;
+
+        void heartbeat() throws IOException;
+    }
+
+    private final TicketEventBus ticketEventBus;
+    private final Predicate<TicketEvent> filter;
+    private final Duration heartbeatInterval;
+    private final Sink sink;
+    private long epoch;
+    private long cursor;
+
+    /**
+     * Starts after sequence {@code afterSequence} of bus epoch {@code epoch}. Another epoch than the bus's means the
+     * bus restarted since, so the subscription then rewinds to the bus's first event.
+     */
+    public TicketEventSubscription(TicketEventBus ticketEventBus, Predicate<TicketEvent> filter, long epoch,
+                                   long afterSequence, Duration heartbeatInterval, Sink sink) {
+        this.ticketEventBus = ticketEventBus;
+        this.filter = filter;
+        this.heartbeatInterval = heartbeatInterval;
+        this.sink = sink;
+        this.epoch = epoch;
+        this.cursor = afterSequence;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!pump() && !ticketEventBus.awaitAfter(cursor, heartbeatInterval)) {
+                    sink.heartbeat();
+                }
+            }
+        } catch (IOException | InterruptedException ex) {
+            // Subscriber went away or the stream was completed; nothing left to deliver to.
+        }
+    }
+
+    /**
+     * Delivers everything currently buffered after the cursor. Returns {@code false} when there was nothing new.
+     */
+    boolean pump() throws IOException {
+        // Sequences start over with every epoch, so a cursor from another epoch, or one ahead of the bus, is rewound.
+        boolean restarted = epoch != ticketEventBus.epoch() || cursor > ticketEventBus.lastSequence();
+        if (restarted) {
+            epoch = ticketEventBus.epoch();
+            cursor = 0;
+        }
+        List<TicketEvent> events = ticketEventBus.readAfter(cursor, READ_BATCH_SIZE);
+        if (events.isEmpty()) {
+            if (restarted) {
+                sink.reset(cursor + 1);
+            }
+            return false;
+        }
+        long first = events.get(0).getSequence();
+        if (restarted || first > cursor + 1) {
+            sink.reset(first);
+        }
+        for (TicketEvent event : events) {
+            if (filter.test(event)) {
+                sink.event(event);
+            }
+        }
+        cursor = events.get(events.size() - 1).getSequence();
+        return true;
+    }
+
+    public static Predicate<TicketEvent> matching(Status status, Long assignedAgentId) {
+        return event -> (status == null || status == event.getStatus())
+                && (assignedAgentId == null || assignedAgentId.equals(event.getAssignedAgentId()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.ticket.events;
+
+import com.ticket.entity.Status;
+
+public enum TicketEventType {
+    CREATED,
+    ASSIGNED,
+    RESOLVED,
+    CLOSED,
+    UPDATED;
+
+    /**
+     * Infers the event from a ticket's persisted and new status; {@code previousStatus} is {@code null} for a ticket
+     * that has not been stored yet.
+     */
+    public static TicketEventType forTransition(Status previousStatus, Status status) {
+        if (previousStatus == null) {
+            return CREATED;
+        }
+        if (previousStatus == status) {
+            return UPDATED;
+        }
+        return switch (status) {
+            case IN_PROGRESS -> ASSIGNED;
+            case RESOLVED -> RESOLVED;
+            case CLOSED -> CLOSED;
+            case NEW -> UPDATED;
+        };
+    }
+}
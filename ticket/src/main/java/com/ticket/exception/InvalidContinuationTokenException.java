@@ -0,0 +1,7 @@
+package com.ticket.exception;
+
+public class InvalidContinuationTokenException extends RuntimeException {
+    public InvalidContinuationTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ticket.exception;
+
+public class InvalidGroupingException extends RuntimeException {
+    public InvalidGroupingException(String message) {
+        super(message);
+    }
+}
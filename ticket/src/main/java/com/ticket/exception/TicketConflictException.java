@@ -0,0 +1,7 @@
+package com.ticket.exception;
+
+public class TicketConflictException extends RuntimeException {
+    public TicketConflictException(String message) {
+        super(message);
+    }
+}
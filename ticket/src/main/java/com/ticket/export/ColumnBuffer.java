@@ -0,0 +1,102 @@
+package com.ticket.export;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Bytes of one column of the chunk being written. The buffer is cleared and reused for every chunk, so it only grows
+ * to the size of the largest chunk of its column.
+ */
+final class ColumnBuffer {
+
+    private ByteBuffer buffer;
+
+    ColumnBuffer(int initialCapacity) {
+        buffer = ByteBuffer.allocate(initialCapacity);
+    }
+
+    void clear() {
+        buffer.clear();
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    /**
+     * The bytes written since the last {@link #clear()}, ready to be written to a channel.
+     */
+    ByteBuffer flip() {
+        return buffer.flip();
+    }
+
+    void put(byte value) {
+        ensureRemaining(1);
+        buffer.put(value);
+    }
+
+    void put(byte[] bytes, int length) {
+        ensureRemaining(length);
+        buffer.put(bytes, 0, length);
+    }
+
+    void putVarint(long value) {
+        ensureRemaining(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    void putZigzag(long value) {
+        putVarint((value << 1) ^ (value >> 63));
+    }
+
+    void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarint(bytes.length);
+        put(bytes, bytes.length);
+    }
+
+    /**
+     * Writes {@code value} as zigzag varint epoch seconds (UTC) relative to {@code previous}, then varint nanos.
+     */
+    void putTimestamp(LocalDateTime value, long previousEpochSecond) {
+        putZigzag(value.toEpochSecond(ZoneOffset.UTC) - previousEpochSecond);
+        putVarint(value.getNano());
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            grown.put(buffer.flip());
+            buffer = grown;
+        }
+    }
+
+    static long getVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    static long getZigzag(ByteBuffer in) {
+        long value = getVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static String getString(ByteBuffer in, int length) {
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ticket.export;
+
+/**
+ * Columns of a ticket export file, in the order they are stored within each chunk.
+ */
+public enum TicketColumn {
+    ID,
+    CREATED_DATE,
+    ASSIGNED_DATE,
+    RESOLVED_DATE,
+    CLOSED_DATE,
+    STATUS,
+    ASSIGNED_AGENT,
+    DESCRIPTION,
+    RESOLUTION_SUMMARY
+}
@@ -0,0 +1,229 @@
+package com.ticket.export;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.util.ContinuationToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads a file written by {@link TicketColumnWriter}. Chunks are memory-mapped one at a time, and queries over a
+ * single column, like {@link #countByStatus()}, only touch that column's bytes.
+ */
+public final class TicketColumnReader implements Closeable {
+
+    private static final int TRAILER_SIZE = Integer.BYTES + TicketColumnWriter.MAGIC.length;
+
+    private final FileChannel channel;
+    private final long[] chunkOffsets;
+    private final int[] chunkRows;
+    private final long[][] columnSizes;
+    private final long rowCount;
+    private final ContinuationToken watermark;
+
+    public TicketColumnReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TicketColumnWriter.MAGIC.length + 1);
+            ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_SIZE, TRAILER_SIZE);
+            if (!hasMagic(header) || header.get() != TicketColumnWriter.FORMAT_VERSION) {
+                throw new IOException("Not a ticket export file: " + file);
+            }
+            int footerSize = trailer.getInt();
+            if (!hasMagic(trailer)) {
+                throw new IOException("Incomplete ticket export file: " + file);
+            }
+
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_SIZE - footerSize, footerSize);
+            int chunks = (int) ColumnBuffer.getVarint(footer);
+            chunkOffsets = new long[chunks];
+            chunkRows = new int[chunks];
+            columnSizes = new long[chunks][TicketColumnWriter.COLUMNS];
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                chunkOffsets[chunk] = ColumnBuffer.getVarint(footer);
+                chunkRows[chunk] = (int) ColumnBuffer.getVarint(footer);
+                for (int column = 0; column < TicketColumnWriter.COLUMNS; column++) {
+                    columnSizes[chunk][column] = ColumnBuffer.getVarint(footer);
+                }
+            }
+            rowCount = ColumnBuffer.getVarint(footer);
+            if (footer.get() == 1) {
+                LocalDateTime createdDate = getTimestamp(footer, 0);
+                watermark = new ContinuationToken(createdDate, ColumnBuffer.getVarint(footer));
+            } else {
+                watermark = null;
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public int chunkCount() {
+        return chunkOffsets.length;
+    }
+
+    /**
+     * The {@code (createdDate, id)} of the last ticket in the file, or null if it has none.
+     */
+    public ContinuationToken watermark() {
+        return watermark;
+    }
+
+    /**
+     * Passes every ticket to {@code consumer} in file order, with the agent's name when the export had it.
+     */
+    public void forEach(Consumer<TicketDto> consumer) throws IOException {
+        for (int chunk = 0; chunk < chunkOffsets.length; chunk++) {
+            int rows = chunkRows[chunk];
+            long[] ids = readIds(column(chunk, TicketColumn.ID), rows);
+            LocalDateTime[] createdDates = readTimestamps(column(chunk, TicketColumn.CREATED_DATE), rows);
+            LocalDateTime[] assignedDates = readTimestamps(column(chunk, TicketColumn.ASSIGNED_DATE), rows);
+            LocalDateTime[] resolvedDates = readTimestamps(column(chunk, TicketColumn.RESOLVED_DATE), rows);
+            LocalDateTime[] closedDates = readTimestamps(column(chunk, TicketColumn.CLOSED_DATE), rows);
+            Status[] statuses = readStatuses(column(chunk, TicketColumn.STATUS), rows);
+            ByteBuffer agents = column(chunk, TicketColumn.ASSIGNED_AGENT);
+            int agentCount = (int) ColumnBuffer.getVarint(agents);
+            long[] agentIds = new long[agentCount + 1];
+            String[] agentNames = new String[agentCount + 1];
+            for (int code = 1; code <= agentCount; code++) {
+                agentIds[code] = ColumnBuffer.getVarint(agents);
+                int nameLength = (int) ColumnBuffer.getVarint(agents);
+                agentNames[code] = nameLength == 0 ? null : ColumnBuffer.getString(agents, nameLength - 1);
+            }
+            String[] descriptions = readText(column(chunk, TicketColumn.DESCRIPTION), rows);
+            String[] resolutionSummaries = readText(column(chunk, TicketColumn.RESOLUTION_SUMMARY), rows);
+
+            for (int row = 0; row < rows; row++) {
+                int agent = (int) ColumnBuffer.getVarint(agents);
+                consumer.accept(new TicketDto(ids[row], descriptions[row], statuses[row], createdDates[row],
+                        closedDates[row], agentNames[agent], resolutionSummaries[row],
+                        agent == 0 ? null : agentIds[agent], assignedDates[row], resolvedDates[row]));
+            }
+        }
+    }
+
+    /**
+     * Number of tickets per status, read from the status column alone.
+     */
+    public Map<Status, Long> countByStatus() throws IOException {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (int chunk = 0; chunk < chunkOffsets.length; chunk++) {
+            ByteBuffer column = column(chunk, TicketColumn.STATUS);
+            Status[] dictionary = readStatusDictionary(column);
+            long[] codeCounts = new long[dictionary.length];
+            for (int row = 0; row < chunkRows[chunk]; row++) {
+                codeCounts[column.get()]++;
+            }
+            for (int code = 1; code < dictionary.length; code++) {
+                if (codeCounts[code] > 0) {
+                    counts.merge(dictionary[code], codeCounts[code], Long::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer column(int chunk, TicketColumn column) throws IOException {
+        long offset = chunkOffsets[chunk];
+        for (int i = 0; i < column.ordinal(); i++) {
+            offset += columnSizes[chunk][i];
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, columnSizes[chunk][column.ordinal()]);
+    }
+
+    private static long[] readIds(ByteBuffer column, int rows) {
+        long[] ids = new long[rows];
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            previous += ColumnBuffer.getZigzag(column);
+            ids[row] = previous;
+        }
+        return ids;
+    }
+
+    private static LocalDateTime[] readTimestamps(ByteBuffer column, int rows) {
+        LocalDateTime[] values = new LocalDateTime[rows];
+        ByteBuffer presence = column.slice(0, (rows + 7) / 8);
+        column.position((rows + 7) / 8);
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            if (isPresent(presence, row)) {
+                values[row] = getTimestamp(column, previous);
+                previous = values[row].toEpochSecond(ZoneOffset.UTC);
+            }
+        }
+        return values;
+    }
+
+    private static Status[] readStatuses(ByteBuffer column, int rows) {
+        Status[] dictionary = readStatusDictionary(column);
+        Status[] values = new Status[rows];
+        for (int row = 0; row < rows; row++) {
+            values[row] = dictionary[column.get()];
+        }
+        return values;
+    }
+
+    // Index 0 is left null for rows without a status.
+    private static Status[] readStatusDictionary(ByteBuffer column) {
+        int size = (int) ColumnBuffer.getVarint(column);
+        Status[] dictionary = new Status[size + 1];
+        for (int code = 1; code <= size; code++) {
+            dictionary[code] = Status.valueOf(ColumnBuffer.getString(column, (int) ColumnBuffer.getVarint(column)));
+        }
+        return dictionary;
+    }
+
+    private static String[] readText(ByteBuffer column, int rows) {
+        String[] values = new String[rows];
+        int presenceSize = (rows + 7) / 8;
+        ByteBuffer presence = column.slice(0, presenceSize);
+        column.position(presenceSize);
+        int lengthsSize = (int) ColumnBuffer.getVarint(column);
+        ByteBuffer lengths = column.slice(column.position(), lengthsSize);
+        column.position(column.position() + lengthsSize);
+        for (int row = 0; row < rows; row++) {
+            if (isPresent(presence, row)) {
+                values[row] = ColumnBuffer.getString(column, (int) ColumnBuffer.getVarint(lengths));
+            }
+        }
+        return values;
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer in, long previousEpochSecond) {
+        long epochSecond = previousEpochSecond + ColumnBuffer.getZigzag(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, (int) ColumnBuffer.getVarint(in), ZoneOffset.UTC);
+    }
+
+    private static boolean isPresent(ByteBuffer presence, int row) {
+        return (presence.get(row >>> 3) & (1 << (row & 7))) != 0;
+    }
+
+    private static boolean hasMagic(ByteBuffer in) {
+        byte[] magic = new byte[TicketColumnWriter.MAGIC.length];
+        in.get(magic);
+        return Arrays.equals(magic, TicketColumnWriter.MAGIC);
+    }
+}
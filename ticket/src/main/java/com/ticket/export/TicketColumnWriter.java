@@ -0,0 +1,301 @@
+package com.ticket.export;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.util.ContinuationToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Writes tickets, in the order given, to a column-chunked export file.
+ * <p>
+ * The file is the magic {@code TKTC} and a format version byte, then chunks of up to {@code rowsPerChunk} rows, then a
+ * footer and a trailer of the footer's length and the magic again. Within a chunk each {@link TicketColumn} is stored
+ * contiguously, so a reader that needs one column reads only that column's bytes:
+ * <ul>
+ *     <li>ids are zigzag varint deltas from the previous row;</li>
+ *     <li>timestamps are a presence bitmap, then zigzag varint epoch seconds (UTC) relative to the previous present
+ *     value in the column and varint nanos;</li>
+ *     <li>status and agent are dictionary-encoded per chunk: the dictionary (status names; agent ids and names), then one
+ *     code per row, 0 for none;</li>
+ *     <li>text is a presence bitmap, the size of the lengths block, varint UTF-8 lengths, and the UTF-8 bytes.</li>
+ * </ul>
+ * The footer holds each chunk's offset, row count and column sizes, the total row count, and the watermark for the
+ * next incremental export to continue from: the {@code (createdDate, id)} of the last ticket written, unless the
+ * caller set another one.
+ * <p>
+ * Only the current chunk is held in memory, in column buffers reused from chunk to chunk, and chunks are written
+ * through the channel with a gathering write.
+ */
+public final class TicketColumnWriter implements Closeable {
+
+    static final byte[] MAGIC = "TKTC".getBytes(StandardCharsets.US_ASCII);
+    static final byte FORMAT_VERSION = 1;
+    static final int COLUMNS = TicketColumn.values().length;
+
+    private record Chunk(long offset, int rows, long[] columnSizes) {
+    }
+
+    private final FileChannel channel;
+    private final int rowsPerChunk;
+    private final LongFunction<String> agentNames;
+    private final Map<Long, String> agentNameCache = new HashMap<>();
+
+    private final ColumnBuffer ids;
+    private final ColumnBuffer[] timestamps = new ColumnBuffer[4];
+    private final long[] previousEpochSeconds = new long[4];
+    private final byte[][] timestampPresence = new byte[4][];
+    private final ColumnBuffer statusCodes;
+    private final Map<String, Integer> statusDictionary = new LinkedHashMap<>();
+    private final ColumnBuffer agentCodes;
+    private final Map<Long, Integer> agentDictionary = new LinkedHashMap<>();
+    private final ColumnBuffer[] textLengths = new ColumnBuffer[2];
+    private final ColumnBuffer[] textBytes = new ColumnBuffer[2];
+    private final byte[][] textPresence = new byte[2][];
+    private final ColumnBuffer dictionaries = new ColumnBuffer(1024);
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private long position;
+    private int rows;
+    private long previousId;
+    private long totalRows;
+    private ContinuationToken watermark;
+
+    public TicketColumnWriter(Path file, int rowsPerChunk, LongFunction<String> agentNames) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.rowsPerChunk = rowsPerChunk;
+        this.agentNames = agentNames;
+        ids = new ColumnBuffer(rowsPerChunk * 3);
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = new ColumnBuffer(rowsPerChunk * 6);
+            timestampPresence[i] = new byte[(rowsPerChunk + 7) / 8];
+        }
+        statusCodes = new ColumnBuffer(rowsPerChunk);
+        agentCodes = new ColumnBuffer(rowsPerChunk);
+        for (int i = 0; i < textLengths.length; i++) {
+            textLengths[i] = new ColumnBuffer(rowsPerChunk);
+            textBytes[i] = new ColumnBuffer(rowsPerChunk * 32);
+            textPresence[i] = new byte[(rowsPerChunk + 7) / 8];
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 1).put(MAGIC).put(FORMAT_VERSION).flip();
+        writeFully(header);
+    }
+
+    public void write(TicketDto ticket) throws IOException {
+        ids.putZigzag(ticket.getId() - previousId);
+        previousId = ticket.getId();
+
+        putTimestamp(0, ticket.getCreatedDate());
+        putTimestamp(1, ticket.getAssignedDate());
+        putTimestamp(2, ticket.getResolvedDate());
+        putTimestamp(3, ticket.getClosedDate());
+
+        String status = ticket.getStatus() != null ? ticket.getStatus().name() : null;
+        statusCodes.put((byte) (status != null
+                ? statusDictionary.computeIfAbsent(status, name -> statusDictionary.size() + 1) : 0));
+        Long agentId = ticket.getAssignedAgentId();
+        agentCodes.putVarint(agentId != null
+                ? agentDictionary.computeIfAbsent(agentId, id -> agentDictionary.size() + 1) : 0);
+
+        putText(0, ticket.getDescription());
+        putText(1, ticket.getResolutionSummary());
+
+        if (ticket.getCreatedDate() != null) {
+            watermark = new ContinuationToken(ticket.getCreatedDate(), ticket.getId());
+        }
+        rows++;
+        totalRows++;
+        if (rows == rowsPerChunk) {
+            flushChunk();
+        }
+    }
+
+    public long rowCount() {
+        return totalRows;
+    }
+
+    /**
+     * The {@code (createdDate, id)} of the last ticket written with a creation date, or null if there was none, unless
+     * set explicitly.
+     */
+    public ContinuationToken watermark() {
+        return watermark;
+    }
+
+    /**
+     * Replaces the watermark recorded in the footer, for exports that cover more than the tickets they wrote.
+     */
+    public void setWatermark(ContinuationToken watermark) {
+        this.watermark = watermark;
+    }
+
+    /**
+     * Writes the last chunk and the footer, and syncs and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) {
+                flushChunk();
+            }
+            writeFooter();
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void putTimestamp(int column, LocalDateTime value) {
+        if (value == null) {
+            return;
+        }
+        timestampPresence[column][rows >>> 3] |= (byte) (1 << (rows & 7));
+        timestamps[column].putTimestamp(value, previousEpochSeconds[column]);
+        previousEpochSeconds[column] = value.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private void putText(int column, String value) {
+        if (value == null) {
+            return;
+        }
+        textPresence[column][rows >>> 3] |= (byte) (1 << (rows & 7));
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        textLengths[column].putVarint(bytes.length);
+        textBytes[column].put(bytes, bytes.length);
+    }
+
+    private void flushChunk() throws IOException {
+        int presenceBytes = (rows + 7) / 8;
+        ByteBuffer[][] columns = new ByteBuffer[COLUMNS][];
+        columns[TicketColumn.ID.ordinal()] = new ByteBuffer[]{ids.flip()};
+        for (int i = 0; i < timestamps.length; i++) {
+            columns[TicketColumn.CREATED_DATE.ordinal() + i] = new ByteBuffer[]{
+                    ByteBuffer.wrap(timestampPresence[i], 0, presenceBytes), timestamps[i].flip()};
+        }
+
+        // Both dictionaries go into one buffer; each column gets a slice of it.
+        dictionaries.clear();
+        dictionaries.putVarint(statusDictionary.size());
+        statusDictionary.keySet().forEach(dictionaries::putString);
+        int statusDictionarySize = dictionaries.position();
+        dictionaries.putVarint(agentDictionary.size());
+        for (Long agentId : agentDictionary.keySet()) {
+            dictionaries.putVarint(agentId);
+            String name = agentNameCache.computeIfAbsent(agentId, agentNames::apply);
+            if (name == null) {
+                dictionaries.putVarint(0);
+            } else {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                dictionaries.putVarint(bytes.length + 1L);
+                dictionaries.put(bytes, bytes.length);
+            }
+        }
+        ByteBuffer dictionaryBytes = dictionaries.flip();
+        columns[TicketColumn.STATUS.ordinal()] = new ByteBuffer[]{
+                dictionaryBytes.slice(0, statusDictionarySize), statusCodes.flip()};
+        columns[TicketColumn.ASSIGNED_AGENT.ordinal()] = new ByteBuffer[]{
+                dictionaryBytes.slice(statusDictionarySize, dictionaryBytes.limit() - statusDictionarySize),
+                agentCodes.flip()};
+
+        for (int i = 0; i < textLengths.length; i++) {
+            ByteBuffer lengths = textLengths[i].flip();
+            ByteBuffer lengthsSize = ByteBuffer.allocate(5);
+            putVarint(lengthsSize, lengths.remaining());
+            columns[TicketColumn.DESCRIPTION.ordinal() + i] = new ByteBuffer[]{
+                    ByteBuffer.wrap(textPresence[i], 0, presenceBytes), lengthsSize.flip(), lengths,
+                    textBytes[i].flip()};
+        }
+
+        long[] columnSizes = new long[COLUMNS];
+        List<ByteBuffer> all = new ArrayList<>();
+        for (int column = 0; column < COLUMNS; column++) {
+            for (ByteBuffer part : columns[column]) {
+                columnSizes[column] += part.remaining();
+                all.add(part);
+            }
+        }
+        chunks.add(new Chunk(position, rows, columnSizes));
+        writeFully(all.toArray(ByteBuffer[]::new));
+
+        resetChunk();
+    }
+
+    private void resetChunk() {
+        ids.clear();
+        previousId = 0;
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i].clear();
+            previousEpochSeconds[i] = 0;
+            Arrays.fill(timestampPresence[i], (byte) 0);
+        }
+        statusCodes.clear();
+        statusDictionary.clear();
+        agentCodes.clear();
+        agentDictionary.clear();
+        for (int i = 0; i < textLengths.length; i++) {
+            textLengths[i].clear();
+            textBytes[i].clear();
+            Arrays.fill(textPresence[i], (byte) 0);
+        }
+        rows = 0;
+    }
+
+    private void writeFooter() throws IOException {
+        ColumnBuffer footer = new ColumnBuffer(64 + chunks.size() * (8 + 4 * COLUMNS));
+        footer.putVarint(chunks.size());
+        for (Chunk chunk : chunks) {
+            footer.putVarint(chunk.offset());
+            footer.putVarint(chunk.rows());
+            for (long columnSize : chunk.columnSizes()) {
+                footer.putVarint(columnSize);
+            }
+        }
+        footer.putVarint(totalRows);
+        footer.put((byte) (watermark != null ? 1 : 0));
+        if (watermark != null) {
+            footer.putTimestamp(watermark.getCreatedDate(), 0);
+            footer.putVarint(watermark.getId());
+        }
+        ByteBuffer footerBytes = footer.flip();
+        ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES + MAGIC.length)
+                .putInt(footerBytes.remaining())
+                .put(MAGIC)
+                .flip();
+        writeFully(footerBytes, trailer);
+    }
+
+    private void writeFully(ByteBuffer... buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            long written = channel.write(buffers);
+            remaining -= written;
+            position += written;
+        }
+    }
+
+    private static void putVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+}
@@ -0,0 +1,118 @@
+package com.ticket.imports;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * RFC 4180 CSV: comma separated, optionally double-quoted values with {@code ""} for a quote, and CRLF or LF line
+ * ends. Quoted values may span lines. An empty unquoted value is absent; {@code ""} is an empty string.
+ */
+final class CsvRecordParser extends TicketRecordParser {
+
+    // Field ordinal per column of the header, -1 for ignored columns.
+    private final int[] columns;
+
+    CsvRecordParser(int[] columns) {
+        this.columns = columns;
+    }
+
+    int[] columns() {
+        return columns;
+    }
+
+    /**
+     * Reads the header at {@code in}'s position and maps its column names to fields.
+     */
+    static CsvRecordParser forHeader(ByteBuffer in) {
+        CsvRecordParser headerParser = new CsvRecordParser(new int[0]);
+        int[] columns = new int[0];
+        while (in.hasRemaining()) {
+            String name = headerParser.readValue(in);
+            ImportField field = name != null ? ImportField.ofKey(name.strip()) : null;
+            columns = Arrays.copyOf(columns, columns.length + 1);
+            columns[columns.length - 1] = field != null ? field.ordinal() : -1;
+            if (endOfRecord(in)) {
+                break;
+            }
+        }
+        return new CsvRecordParser(columns);
+    }
+
+    @Override
+    public boolean next(ByteBuffer in, String[] fields) {
+        while (in.hasRemaining() && (in.get(in.position()) == '\n' || in.get(in.position()) == '\r')) {
+            in.get();
+        }
+        if (!in.hasRemaining()) {
+            return false;
+        }
+        Arrays.fill(fields, null);
+        try {
+            for (int column = 0; ; column++) {
+                String value = readValue(in);
+                if (column < columns.length && columns[column] >= 0) {
+                    fields[columns[column]] = value;
+                }
+                if (endOfRecord(in)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            skipLine(in);
+            throw ex;
+        }
+    }
+
+    // Leaves the position at the separator or line end after the value.
+    private String readValue(ByteBuffer in) {
+        startValue();
+        if (!in.hasRemaining() || in.get(in.position()) != '"') {
+            int start = in.position();
+            while (in.hasRemaining()) {
+                byte b = in.get(in.position());
+                if (b == ',' || b == '\n' || b == '\r') {
+                    break;
+                }
+                append(in.get());
+            }
+            return in.position() == start ? null : value();
+        }
+        in.get();
+        while (true) {
+            if (!in.hasRemaining()) {
+                throw new IllegalArgumentException("Unterminated quoted value");
+            }
+            byte b = in.get();
+            if (b == '"') {
+                if (in.hasRemaining() && in.get(in.position()) == '"') {
+                    in.get();
+                } else {
+                    break;
+                }
+            }
+            append(b);
+        }
+        if (in.hasRemaining()) {
+            byte b = in.get(in.position());
+            if (b != ',' && b != '\n' && b != '\r') {
+                throw new IllegalArgumentException("Unexpected character after a quoted value");
+            }
+        }
+        return value();
+    }
+
+    // Consumes the separator or line end after a value; true at the end of the record.
+    private static boolean endOfRecord(ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            return true;
+        }
+        byte b = in.get();
+        if (b == ',') {
+            return false;
+        }
+        if (b == '\r' && in.hasRemaining() && in.get(in.position()) == '\n') {
+            in.get();
+        }
+        return true;
+    }
+}
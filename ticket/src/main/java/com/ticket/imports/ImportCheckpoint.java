@@ -0,0 +1,61 @@
+package com.ticket.imports;
+
+import com.ticket.entity.ImportProgress;
+import com.ticket.ports.repository.ImportProgressRepositoryPort;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How far into each chunk of an {@link ImportFile} the import has committed, so a restarted import skips what is
+ * already saved. Offsets are kept as one {@link ImportProgress} row per chunk, keyed by the file name and tagged with
+ * the file's fingerprint. Offsets only grow.
+ * <p>
+ * {@link #commit} must run in the transaction that saves the batch it describes: the batch and its offset then commit
+ * or roll back together, so a crash at any point neither imports a batch twice nor skips one.
+ */
+public final class ImportCheckpoint {
+
+    private final ImportProgressRepositoryPort repository;
+    private final String fileName;
+    private final String fingerprint;
+    private final Map<Integer, Long> committed;
+
+    private ImportCheckpoint(ImportProgressRepositoryPort repository, String fileName, String fingerprint,
+                             Map<Integer, Long> committed) {
+        this.repository = repository;
+        this.fileName = fileName;
+        this.fingerprint = fingerprint;
+        this.committed = committed;
+    }
+
+    /**
+     * Loads the offsets committed by earlier imports of {@code fileName}.
+     *
+     * @throws IllegalStateException if they were committed for a different fingerprint
+     */
+    public static ImportCheckpoint open(ImportProgressRepositoryPort repository, String fileName, String fingerprint) {
+        Map<Integer, Long> committed = new HashMap<>();
+        for (ImportProgress progress : repository.findByFileName(fileName)) {
+            if (!progress.getFingerprint().equals(fingerprint)) {
+                throw new IllegalStateException("Import progress of " + fileName + " belongs to a different file or chunk size");
+            }
+            committed.put(progress.getChunk(), progress.getCommittedOffset());
+        }
+        return new ImportCheckpoint(repository, fileName, fingerprint, committed);
+    }
+
+    /**
+     * The offset up to which {@code chunk} was committed by an earlier run, or its start if none was.
+     */
+    public long committedOffset(ImportFile.Chunk chunk) {
+        return Math.max(chunk.start(), committed.getOrDefault(chunk.index(), chunk.start()));
+    }
+
+    /**
+     * Records that every record of {@code chunk} before {@code offset} is saved or was rejected.
+     */
+    public void commit(ImportFile.Chunk chunk, long offset) {
+        repository.save(new ImportProgress(fileName, chunk.index(), fingerprint, offset));
+    }
+}
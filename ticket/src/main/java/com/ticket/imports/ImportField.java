@@ -0,0 +1,34 @@
+package com.ticket.imports;
+
+/**
+ * Ticket fields read from an import file, named as in the JSON API. Other columns or keys are ignored.
+ */
+public enum ImportField {
+    DESCRIPTION("description"),
+    STATUS("status"),
+    CREATED_DATE("createdDate"),
+    ASSIGNED_DATE("assignedDate"),
+    RESOLVED_DATE("resolvedDate"),
+    CLOSED_DATE("closedDate"),
+    ASSIGNED_AGENT("assignedAgent"),
+    RESOLUTION_SUMMARY("resolutionSummary");
+
+    private final String key;
+
+    ImportField(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    static ImportField ofKey(String key) {
+        for (ImportField field : values()) {
+            if (field.key.equals(key)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
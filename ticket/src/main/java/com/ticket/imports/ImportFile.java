@@ -0,0 +1,143 @@
+package com.ticket.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A CSV or NDJSON ticket file split into chunks of whole records that can be parsed independently, each memory-mapped
+ * only while it is read.
+ * <p>
+ * Chunk boundaries are the first record boundary at least {@code chunkSize} bytes after the previous one. NDJSON lines
+ * cannot contain raw line breaks, so only the bytes near each boundary are read; CSV values may be quoted across lines,
+ * so every byte is scanned once for quotes. The same file and chunk size always give the same chunks, which is what
+ * lets an {@link ImportCheckpoint} refer to them by index.
+ */
+public final class ImportFile implements Closeable {
+
+    public record Chunk(int index, long start, long end) {
+    }
+
+    private static final long SCAN_WINDOW = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final int[] csvColumns;
+    private final List<Chunk> chunks;
+    private final String fingerprint;
+
+    private ImportFile(FileChannel channel, int[] csvColumns, List<Chunk> chunks, String fingerprint) {
+        this.channel = channel;
+        this.csvColumns = csvColumns;
+        this.chunks = chunks;
+        this.fingerprint = fingerprint;
+    }
+
+    public static boolean isSupported(String fileName) {
+        return isCsv(fileName) || isNdjson(fileName);
+    }
+
+    public static ImportFile open(Path path, long chunkSize) throws IOException {
+        String fileName = path.getFileName().toString();
+        if (!isSupported(fileName)) {
+            throw new IllegalArgumentException("Unsupported import file: " + fileName);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            int[] csvColumns = null;
+            long dataStart = 0;
+            if (isCsv(fileName)) {
+                ByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, SCAN_WINDOW));
+                csvColumns = CsvRecordParser.forHeader(head).columns();
+                dataStart = head.position();
+            }
+            List<Chunk> chunks = split(channel, dataStart, chunkSize, csvColumns != null);
+            String fingerprint = size + " " + Files.getLastModifiedTime(path).toMillis() + " " + chunkSize;
+            return new ImportFile(channel, csvColumns, chunks, fingerprint);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public List<Chunk> chunks() {
+        return chunks;
+    }
+
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Identifies the file contents and chunking, so a checkpoint is only reused for the file it was written for.
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    public TicketRecordParser newParser() {
+        return csvColumns != null ? new CsvRecordParser(csvColumns) : new NdjsonRecordParser();
+    }
+
+    /**
+     * Maps the bytes from {@code from} to the end of {@code chunk}.
+     */
+    public ByteBuffer map(Chunk chunk, long from) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, chunk.end() - from);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static List<Chunk> split(FileChannel channel, long dataStart, long chunkSize, boolean quoted)
+            throws IOException {
+        long size = channel.size();
+        List<Chunk> chunks = new ArrayList<>();
+        long start = dataStart;
+        while (start < size) {
+            long target = start + chunkSize;
+            long end = size;
+            if (target < size) {
+                // A chunk starts outside quotes, so quote tracking can start over at each chunk.
+                long scan = quoted ? start : target;
+                boolean inQuotes = false;
+                search:
+                while (scan < size) {
+                    ByteBuffer window =
+                            channel.map(FileChannel.MapMode.READ_ONLY, scan, Math.min(SCAN_WINDOW, size - scan));
+                    while (window.hasRemaining()) {
+                        byte b = window.get();
+                        if (b == '"' && quoted) {
+                            inQuotes = !inQuotes;
+                        } else if (b == '\n' && !inQuotes && scan + window.position() >= target) {
+                            end = scan + window.position();
+                            break search;
+                        }
+                    }
+                    scan += window.limit();
+                }
+            }
+            chunks.add(new Chunk(chunks.size(), start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static boolean isCsv(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    private static boolean isNdjson(String fileName) {
+        String lowerCase = fileName.toLowerCase(Locale.ROOT);
+        return lowerCase.endsWith(".ndjson") || lowerCase.endsWith(".jsonl");
+    }
+}
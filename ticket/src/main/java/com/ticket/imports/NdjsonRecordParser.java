@@ -0,0 +1,158 @@
+package com.ticket.imports;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * One flat JSON object per line. String values are read as is, other scalars as their JSON text; nested objects and
+ * arrays are rejected.
+ */
+final class NdjsonRecordParser extends TicketRecordParser {
+
+    @Override
+    public boolean next(ByteBuffer in, String[] fields) {
+        skipWhitespace(in);
+        if (!in.hasRemaining()) {
+            return false;
+        }
+        int lineEnd = in.position();
+        while (lineEnd < in.limit() && in.get(lineEnd) != '\n') {
+            lineEnd++;
+        }
+        int next = Math.min(lineEnd + 1, in.limit());
+        ByteBuffer line = in.slice(in.position(), lineEnd - in.position());
+        in.position(next);
+
+        Arrays.fill(fields, null);
+        expect(line, '{');
+        skipWhitespace(line);
+        if (peek(line) == '}') {
+            return true;
+        }
+        while (true) {
+            skipWhitespace(line);
+            expect(line, '"');
+            ImportField field = ImportField.ofKey(readString(line));
+            skipWhitespace(line);
+            expect(line, ':');
+            skipWhitespace(line);
+            String value = readValue(line);
+            if (field != null) {
+                fields[field.ordinal()] = value;
+            }
+            skipWhitespace(line);
+            if (peek(line) == '}') {
+                return true;
+            }
+            expect(line, ',');
+        }
+    }
+
+    private String readValue(ByteBuffer in) {
+        byte b = peek(in);
+        if (b == '"') {
+            in.get();
+            return readString(in);
+        }
+        if (b == '{' || b == '[') {
+            throw new IllegalArgumentException("Nested values are not supported");
+        }
+        startValue();
+        while (in.hasRemaining()) {
+            b = in.get(in.position());
+            if (b == ',' || b == '}' || b == ' ' || b == '\t' || b == '\r') {
+                break;
+            }
+            append(in.get());
+        }
+        String value = value();
+        return value.equals("null") ? null : value;
+    }
+
+    // Reads the rest of a string whose opening quote was consumed.
+    private String readString(ByteBuffer in) {
+        startValue();
+        while (true) {
+            if (!in.hasRemaining()) {
+                throw new IllegalArgumentException("Unterminated string");
+            }
+            byte b = in.get();
+            if (b == '"') {
+                return value();
+            }
+            if (b != '\\') {
+                append(b);
+                continue;
+            }
+            if (!in.hasRemaining()) {
+                throw new IllegalArgumentException("Unterminated string");
+            }
+            byte escaped = in.get();
+            switch (escaped) {
+                case '"', '\\', '/' -> append(escaped);
+                case 'b' -> append((byte) '\b');
+                case 'f' -> append((byte) '\f');
+                case 'n' -> append((byte) '\n');
+                case 'r' -> append((byte) '\r');
+                case 't' -> append((byte) '\t');
+                case 'u' -> appendUnicodeEscape(in);
+                default -> throw new IllegalArgumentException("Invalid escape in string");
+            }
+        }
+    }
+
+    // Surrogate pairs arrive as two escapes; they are combined before encoding to UTF-8.
+    private void appendUnicodeEscape(ByteBuffer in) {
+        char high = readHex(in);
+        if (Character.isHighSurrogate(high) && in.remaining() >= 6 && in.get(in.position()) == '\\'
+                && in.get(in.position() + 1) == 'u') {
+            in.position(in.position() + 2);
+            char low = readHex(in);
+            for (byte b : new String(new char[]{high, low}).getBytes(StandardCharsets.UTF_8)) {
+                append(b);
+            }
+            return;
+        }
+        append(high);
+    }
+
+    private static char readHex(ByteBuffer in) {
+        if (in.remaining() < 4) {
+            throw new IllegalArgumentException("Invalid unicode escape");
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(in.get(), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid unicode escape");
+            }
+            value = value << 4 | digit;
+        }
+        return (char) value;
+    }
+
+    private static void skipWhitespace(ByteBuffer in) {
+        while (in.hasRemaining()) {
+            byte b = in.get(in.position());
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return;
+            }
+            in.get();
+        }
+    }
+
+    private static byte peek(ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected end of record");
+        }
+        return in.get(in.position());
+    }
+
+    private static void expect(ByteBuffer in, char expected) {
+        if (peek(in) != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "'");
+        }
+        in.get();
+    }
+}
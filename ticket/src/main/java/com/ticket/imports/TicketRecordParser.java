@@ -0,0 +1,55 @@
+package com.ticket.imports;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parses one record at a time out of a mapped chunk of an import file. Parsers keep a scratch buffer, so each worker
+ * uses its own from {@link ImportFile#newParser()}.
+ */
+public abstract class TicketRecordParser {
+
+    private byte[] scratch = new byte[256];
+    private int scratchLength;
+
+    /**
+     * Reads the record at {@code in}'s position into {@code fields}, indexed by {@link ImportField} ordinal with null
+     * for absent fields, and leaves the position at the start of the next record. Blank lines are skipped.
+     *
+     * @return false if there was no record before the end of {@code in}
+     * @throws IllegalArgumentException if the record is malformed; the position is then past it
+     */
+    public abstract boolean next(ByteBuffer in, String[] fields);
+
+    void startValue() {
+        scratchLength = 0;
+    }
+
+    void append(byte value) {
+        if (scratchLength == scratch.length) {
+            scratch = Arrays.copyOf(scratch, scratch.length * 2);
+        }
+        scratch[scratchLength++] = value;
+    }
+
+    void append(char value) {
+        if (value < 0x80) {
+            append((byte) value);
+        } else {
+            for (byte b : String.valueOf(value).getBytes(StandardCharsets.UTF_8)) {
+                append(b);
+            }
+        }
+    }
+
+    String value() {
+        return new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+    }
+
+    static void skipLine(ByteBuffer in) {
+        while (in.hasRemaining() && in.get() != '\n') {
+            // Skip to the next record.
+        }
+    }
+}
@@ -9,7 +9,8 @@ import org.mapstruct.Mapping;
 public interface TicketMapper {
 
     @Mapping(source="id", target="id")
-    @Mapping(source = "assignedAgent.name", target="assignedAgent")
+    @Mapping(source = "assignedAgent.id", target="assignedAgentId")
+    @Mapping(target = "assignedAgent", ignore = true)
     TicketDto convertToTicketDto(Ticket ticket);
 
 }
@@ -0,0 +1,13 @@
+package com.ticket.ports.cache;
+
+import com.ticket.dto.TicketDto;
+
+import java.util.Optional;
+
+public interface TicketCachePort {
+    Optional<TicketDto> get(Long ticketId);
+
+    void put(TicketDto ticketDto);
+
+    void evict(Long ticketId);
+}
@@ -0,0 +1,26 @@
+package com.ticket.ports.driver;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketFilterDto;
+import com.ticket.entity.Status;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public interface ReactiveTicketServicePort {
+    Mono<TicketDto> createTicket(TicketDto ticketDto, LocalDateTime localDateTime);
+
+    Mono<TicketDto> assignAgentToTicket(Long ticketId, Long agentId);
+
+    Mono<TicketDto> resolveTicket(Long ticketId);
+
+    Mono<TicketDto> closeTicket(Long ticketId);
+
+    Mono<TicketDto> getTicketById(Long ticketId);
+
+    Flux<TicketDto> getTickets(TicketFilterDto ticketFilterDto);
+
+    Mono<TicketDto> awaitStatusChange(Long ticketId, Status currentStatus, Duration timeout);
+}
@@ -0,0 +1,7 @@
+package com.ticket.ports.driver;
+
+import com.ticket.dto.TicketExportDto;
+
+public interface TicketExportServicePort {
+    TicketExportDto exportTickets(String after);
+}
@@ -0,0 +1,22 @@
+package com.ticket.ports.driver;
+
+import com.ticket.dto.TicketImportDto;
+
+import java.util.Optional;
+
+public interface TicketImportServicePort {
+    /**
+     * Imports the file on the calling thread and returns once it is done.
+     */
+    TicketImportDto importTickets(String fileName);
+
+    /**
+     * Starts importing the file in the background and returns its initial status.
+     */
+    TicketImportDto startImport(String fileName);
+
+    /**
+     * Status of the running import, or of the last one if none is running.
+     */
+    Optional<TicketImportDto> getImport();
+}
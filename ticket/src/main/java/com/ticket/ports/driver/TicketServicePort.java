@@ -1,24 +1,49 @@
 package com.ticket.ports.driver;
 
 
+import com.ticket.dto.BatchResultDto;
+import com.ticket.dto.TicketAggregateDto;
 import com.ticket.dto.TicketDto;
 import com.ticket.dto.TicketFilterDto;
+import com.ticket.dto.TicketGrouping;
+import com.ticket.dto.TicketPageDto;
+import com.ticket.dto.TicketSearchHitDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface TicketServicePort {
     TicketDto createTicket(TicketDto ticketDto, LocalDateTime localDateTime);
 
+    BatchResultDto createTickets(List<TicketDto> ticketDtos, LocalDateTime localDateTime);
+
     TicketDto assignAgentToTicket(Long ticketId, Long agentId);
 
+    BatchResultDto assignAgentToTickets(List<Long> ticketIds, Long agentId);
+
     TicketDto resolveTicket(Long ticketId);
 
+    BatchResultDto resolveTickets(List<Long> ticketIds);
+
     TicketDto closeTicket(Long ticketId);
 
+    BatchResultDto closeTickets(List<Long> ticketIds);
+
     TicketDto updateTicket(Long ticketId, TicketDto ticketDto);
 
     TicketDto getTicketById(Long ticketId);
 
     List<TicketDto> getTickets(TicketFilterDto ticketFilterDto);
+
+    TicketPageDto getTicketPage(TicketFilterDto ticketFilterDto);
+
+    void streamTickets(TicketFilterDto ticketFilterDto, Consumer<TicketDto> consumer);
+
+    List<TicketAggregateDto> aggregateTickets(TicketFilterDto ticketFilterDto, Set<TicketGrouping> groupings);
+
+    List<TicketSearchHitDto> searchTickets(String query, TicketFilterDto ticketFilterDto);
+
+    int rebuildSearchIndex();
 }
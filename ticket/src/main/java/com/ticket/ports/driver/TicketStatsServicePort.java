@@ -0,0 +1,7 @@
+package com.ticket.ports.driver;
+
+import com.ticket.dto.TicketStatsDto;
+
+public interface TicketStatsServicePort {
+    TicketStatsDto getStats();
+}
@@ -0,0 +1,7 @@
+package com.ticket.ports.driver;
+
+import com.ticket.dto.TicketTimingsDto;
+
+public interface TicketTimingServicePort {
+    TicketTimingsDto getTimings();
+}
@@ -0,0 +1,13 @@
+package com.ticket.ports.publisher;
+
+import com.ticket.entity.OutboxEvent;
+
+import java.util.List;
+
+public interface TicketEventPublisherPort {
+    /**
+     * Publishes a batch in outbox order. Throwing leaves the whole batch in the outbox to be retried, so downstream
+     * consumers must tolerate redelivery of events they already received.
+     */
+    void publish(List<OutboxEvent> events);
+}
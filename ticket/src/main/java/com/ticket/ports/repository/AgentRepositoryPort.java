@@ -2,8 +2,13 @@ package com.ticket.ports.repository;
 
 import com.ticket.entity.Agent;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface AgentRepositoryPort {
     Optional<Agent> findById(Long agentId);
+
+    Optional<Agent> findByName(String agentName);
+
+    List<Agent> findAll();
 }
@@ -0,0 +1,15 @@
+package com.ticket.ports.repository;
+
+import com.ticket.entity.ImportProgress;
+
+import java.util.List;
+
+public interface ImportProgressRepositoryPort {
+    List<ImportProgress> findByFileName(String fileName);
+
+    /**
+     * Inserts or replaces the progress of the chunk. Joins the caller's transaction, so it commits together with the
+     * batch it describes.
+     */
+    void save(ImportProgress progress);
+}
@@ -0,0 +1,15 @@
+package com.ticket.ports.repository;
+
+import com.ticket.entity.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxRepositoryPort {
+    /**
+     * Locks and returns the oldest unpublished events, skipping rows already locked by another transaction. Must be
+     * called inside a transaction, which keeps the rows locked until it ends.
+     */
+    List<OutboxEvent> lockNextBatch(int limit);
+
+    void deleteAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,28 @@
+package com.ticket.ports.repository;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ReactiveTicketRepositoryPort {
+    Mono<TicketDto> insert(String description, Status status, LocalDateTime createdDate);
+
+    Mono<TicketDto> findById(Long ticketId);
+
+    Mono<VersionedTicket> findVersionedById(Long ticketId);
+
+    Flux<TicketDto> findWithFilters(List<Status> statuses,
+                                    LocalDateTime startDate,
+                                    LocalDateTime endDate,
+                                    Long assignedAgentId);
+
+    Mono<Boolean> compareAndSetStatus(Long ticketId, Status expected, Status target, LocalDateTime changedDate);
+
+    Mono<Boolean> compareAndAssignAgent(Long ticketId, Long agentId, LocalDateTime assignedDate);
+
+    Mono<Boolean> compareAndClose(Long ticketId, LocalDateTime closedDate);
+}
@@ -1,20 +1,79 @@
 package com.ticket.ports.repository;
 
+import com.ticket.dto.TicketAggregateDto;
+import com.ticket.dto.TicketCountDto;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketGrouping;
+import com.ticket.entity.Agent;
 import com.ticket.entity.Status;
 import com.ticket.entity.Ticket;
+import com.ticket.util.ContinuationToken;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface TicketRepositoryPort {
     Ticket save(Ticket newTicket);
 
+    List<Ticket> saveAll(List<Ticket> tickets);
+
+    /**
+     * Inserts tickets in whatever state they are in, in one transaction, for bulk loads of historical tickets. Each
+     * ticket is recorded as a {@code CREATED} outbox event; nothing is published in-process.
+     */
+    List<Ticket> importAll(List<Ticket> tickets);
+
     Optional<Ticket> findById(Long ticketId);
 
+    List<Ticket> findAllById(Collection<Long> ticketIds);
+
+    /**
+     * Moves the ticket from {@code expected} to {@code target} if it is still in {@code expected}, stamping
+     * {@code changedDate} as its resolved or closed date when {@code target} is RESOLVED or CLOSED.
+     */
+    boolean compareAndSetStatus(Long ticketId, Status expected, Status target, LocalDateTime changedDate);
+
+    boolean compareAndAssignAgent(Long ticketId, Agent agent, LocalDateTime assignedDate);
+
+    boolean compareAndClose(Long ticketId, LocalDateTime closedDate);
+
+    /**
+     * Moves up to {@code limit} CLOSED tickets closed (or, without a closed date, created) before {@code cutoff} to
+     * the archive and returns how many were moved. Archived tickets stay readable through every find method.
+     */
+    int archiveClosedBefore(LocalDateTime cutoff, int limit);
+
     List<Ticket> findWithFilters(List<Status> statuses,
                                  LocalDateTime startDate,
                                  LocalDateTime endDate,
-                                 String assignedAgent);
+                                 Long assignedAgentId);
+
+    List<TicketDto> findDtosWithFilters(List<Status> statuses,
+                                        LocalDateTime startDate,
+                                        LocalDateTime endDate,
+                                        Long assignedAgentId);
+
+    List<TicketDto> findPageWithFilters(List<Status> statuses,
+                                        LocalDateTime startDate,
+                                        LocalDateTime endDate,
+                                        Long assignedAgentId,
+                                        ContinuationToken after,
+                                        int limit);
+
+    Stream<TicketDto> streamWithFilters(List<Status> statuses,
+                                        LocalDateTime startDate,
+                                        LocalDateTime endDate,
+                                        Long assignedAgentId);
+
+    List<TicketAggregateDto> aggregateWithFilters(List<Status> statuses,
+                                                  LocalDateTime startDate,
+                                                  LocalDateTime endDate,
+                                                  Long assignedAgentId,
+                                                  Set<TicketGrouping> groupings);
 
+    List<TicketCountDto> countByAgentAndStatus();
 }
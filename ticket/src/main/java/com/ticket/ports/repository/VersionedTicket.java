@@ -0,0 +1,10 @@
+package com.ticket.ports.repository;
+
+import com.ticket.dto.TicketDto;
+
+/**
+ * A ticket together with the row version it was read at, for consumers that must not let an older read replace a
+ * newer one.
+ */
+public record VersionedTicket(TicketDto ticket, long version) {
+}
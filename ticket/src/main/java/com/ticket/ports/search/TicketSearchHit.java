@@ -0,0 +1,4 @@
+package com.ticket.ports.search;
+
+public record TicketSearchHit(long ticketId, double score) {
+}
@@ -0,0 +1,30 @@
+package com.ticket.ports.search;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TicketSearchIndexPort {
+    /**
+     * Adds the ticket or refreshes its indexed text and filter fields, unless a newer {@code version} of it is already
+     * indexed: the hooks of two transitions on one ticket may run in the opposite order of their commits.
+     */
+    void index(TicketDto ticketDto, long version);
+
+    /**
+     * Returns the best matches containing every query term, ranked by TF-IDF, best first.
+     */
+    List<TicketSearchHit> search(String query,
+                                 List<Status> statuses,
+                                 LocalDateTime startDate,
+                                 LocalDateTime endDate,
+                                 Long assignedAgentId,
+                                 int limit);
+
+    /**
+     * Rebuilds the index from the database and returns the number of indexed tickets.
+     */
+    int rebuild();
+}
@@ -0,0 +1,186 @@
+package com.ticket.search;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.ports.search.TicketSearchHit;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Term to {@link PostingList} map over ticket description and resolution summary, plus the per-ticket fields needed to
+ * apply the status, date and agent filters without reading the ticket. Not thread-safe; {@link TicketSearchIndex}
+ * guards it.
+ */
+final class InvertedIndex {
+
+    // Version of tickets read without one, as by a rebuild; it never outranks a versioned update.
+    static final long UNKNOWN_VERSION = Long.MIN_VALUE;
+
+    private static final String[] NO_TERMS = new String[0];
+    // Lower score is worse; on equal scores the higher id is worse, so results list ties by ascending id.
+    private static final Comparator<TicketSearchHit> WORST_FIRST = Comparator
+            .comparingDouble(TicketSearchHit::score)
+            .thenComparing(TicketSearchHit::ticketId, Comparator.reverseOrder());
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedTicket> tickets = new HashMap<>();
+
+    private static final class IndexedTicket {
+        private final int textHash;
+        private final String[] terms;
+        private long version;
+        private Status status;
+        private Long assignedAgentId;
+        private LocalDateTime createdDate;
+
+        private IndexedTicket(int textHash, String[] terms) {
+            this.textHash = textHash;
+            this.terms = terms;
+        }
+    }
+
+    int size() {
+        return tickets.size();
+    }
+
+    /**
+     * Indexes the ticket unless an entry with a higher version is already there; {@code version} may be
+     * {@link #UNKNOWN_VERSION}, which any later put replaces.
+     */
+    void put(TicketDto ticketDto, long version) {
+        long ticketId = ticketDto.getId();
+        int textHash = Objects.hash(ticketDto.getDescription(), ticketDto.getResolutionSummary());
+        IndexedTicket indexed = tickets.get(ticketId);
+        if (indexed != null && version < indexed.version) {
+            return;
+        }
+
+        // Transitions only change the filter fields, so the postings are rewritten only when the text changed.
+        if (indexed == null || indexed.textHash != textHash) {
+            if (indexed != null) {
+                removePostings(ticketId, indexed);
+            }
+            Map<String, Integer> frequencies =
+                    TicketTokenizer.termFrequencies(ticketDto.getDescription(), ticketDto.getResolutionSummary());
+            int length = 0;
+            for (int frequency : frequencies.values()) {
+                length += frequency;
+            }
+            double norm = Math.sqrt(length);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList())
+                        .put(ticketId, (float) (entry.getValue() / norm));
+            }
+            indexed = new IndexedTicket(textHash, frequencies.keySet().toArray(NO_TERMS));
+            tickets.put(ticketId, indexed);
+        }
+
+        indexed.version = version;
+        indexed.status = ticketDto.getStatus();
+        indexed.assignedAgentId = ticketDto.getAssignedAgentId();
+        indexed.createdDate = ticketDto.getCreatedDate();
+    }
+
+    /**
+     * Intersects the posting lists of all query terms, starting from the rarest, and keeps the {@code limit} best
+     * scores in a min-heap. Score is the sum of {@code tf * idf} over the query terms, divided by the square root of
+     * the ticket's term count so long tickets do not win on length alone. That division is folded into the posting
+     * weights at index time, so an unfiltered query never looks up the ticket, and a hit is only allocated once it
+     * beats the current worst of the top {@code limit}.
+     */
+    List<TicketSearchHit> search(Collection<String> terms,
+                                 List<Status> statuses,
+                                 LocalDateTime startDate,
+                                 LocalDateTime endDate,
+                                 Long assignedAgentId,
+                                 int limit) {
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        PostingList[] lists = new PostingList[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list == null) {
+                return List.of();
+            }
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+        double[] idf = new double[lists.length];
+        for (int t = 0; t < lists.length; t++) {
+            idf[t] = Math.log(1.0 + (double) tickets.size() / lists[t].size());
+        }
+
+        Predicate<IndexedTicket> filter = filter(statuses, startDate, endDate, assignedAgentId);
+        boolean filtered = filter != null;
+        PriorityQueue<TicketSearchHit> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        int[] cursors = new int[lists.length];
+        PostingList rarest = lists[0];
+
+        candidates:
+        for (int c = 0; c < rarest.size(); c++) {
+            long ticketId = rarest.ticketId(c);
+            double score = rarest.weight(c) * idf[0];
+            for (int t = 1; t < lists.length; t++) {
+                int index = lists[t].find(ticketId, cursors[t]);
+                if (index < 0) {
+                    cursors[t] = -index - 1;
+                    if (cursors[t] >= lists[t].size()) {
+                        break candidates;
+                    }
+                    continue candidates;
+                }
+                cursors[t] = index;
+                score += lists[t].weight(index) * idf[t];
+            }
+            if (best.size() == limit && !beats(score, ticketId, best.peek())) {
+                continue;
+            }
+            if (filtered && !filter.test(tickets.get(ticketId))) {
+                continue;
+            }
+            best.add(new TicketSearchHit(ticketId, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<TicketSearchHit> hits = new ArrayList<>(best);
+        hits.sort(WORST_FIRST.reversed());
+        return hits;
+    }
+
+    private static boolean beats(double score, long ticketId, TicketSearchHit worst) {
+        return score > worst.score() || (score == worst.score() && ticketId < worst.ticketId());
+    }
+
+    private void removePostings(long ticketId, IndexedTicket indexed) {
+        for (String term : indexed.terms) {
+            PostingList list = postings.get(term);
+            list.remove(ticketId);
+            if (list.size() == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // Same semantics as the repository filter: inclusive date bounds and an exact agent id. Null when nothing is set.
+    private static Predicate<IndexedTicket> filter(List<Status> statuses,
+                                                   LocalDateTime startDate,
+                                                   LocalDateTime endDate,
+                                                   Long assignedAgentId) {
+        if ((statuses == null || statuses.isEmpty()) && startDate == null && endDate == null && assignedAgentId == null) {
+            return null;
+        }
+        EnumSet<Status> allowed = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(Status.class) : EnumSet.copyOf(statuses);
+        return ticket -> allowed.contains(ticket.status)
+                && (startDate == null || (ticket.createdDate != null && !ticket.createdDate.isBefore(startDate)))
+                && (endDate == null || (ticket.createdDate != null && !ticket.createdDate.isAfter(endDate)))
+                && (assignedAgentId == null || assignedAgentId.equals(ticket.assignedAgentId));
+    }
+}
@@ -0,0 +1,75 @@
+package com.ticket.search;
+
+import java.util.Arrays;
+
+/**
+ * Ticket ids containing one term, kept sorted in parallel primitive arrays with the term's weight in that ticket (its
+ * frequency already divided by the square root of the ticket length). New tickets get increasing ids, so the common
+ * insert is an append.
+ */
+final class PostingList {
+
+    private long[] ticketIds = new long[4];
+    private float[] weights = new float[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long ticketId(int index) {
+        return ticketIds[index];
+    }
+
+    float weight(int index) {
+        return weights[index];
+    }
+
+    void put(long ticketId, float weight) {
+        if (size > 0 && ticketIds[size - 1] >= ticketId) {
+            int index = Arrays.binarySearch(ticketIds, 0, size, ticketId);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            insertAt(-index - 1, ticketId, weight);
+            return;
+        }
+        insertAt(size, ticketId, weight);
+    }
+
+    void remove(long ticketId) {
+        int index = Arrays.binarySearch(ticketIds, 0, size, ticketId);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ticketIds, index + 1, ticketIds, index, size - index - 1);
+        System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Finds {@code ticketId} at or after {@code from}, galloping forward first since callers probe increasing ids.
+     * Returns the index, or {@code -(insertion point) - 1} when it is absent.
+     */
+    int find(long ticketId, int from) {
+        int bound = 1;
+        while (from + bound < size && ticketIds[from + bound] < ticketId) {
+            bound <<= 1;
+        }
+        return Arrays.binarySearch(ticketIds, from + (bound >> 1), Math.min(from + bound + 1, size), ticketId);
+    }
+
+    private void insertAt(int index, long ticketId, float weight) {
+        if (size == ticketIds.length) {
+            int capacity = size + (size >> 1) + 1;
+            ticketIds = Arrays.copyOf(ticketIds, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        System.arraycopy(ticketIds, index, ticketIds, index + 1, size - index);
+        System.arraycopy(weights, index, weights, index + 1, size - index);
+        ticketIds[index] = ticketId;
+        weights[index] = weight;
+        size++;
+    }
+}
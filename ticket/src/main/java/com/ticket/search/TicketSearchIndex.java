@@ -0,0 +1,138 @@
+package com.ticket.search;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.ports.search.TicketSearchHit;
+import com.ticket.ports.search.TicketSearchIndexPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory full-text index over ticket description and resolution summary. Searches share a read lock; the services
+ * index each ticket after its transaction commits. A rebuild streams every ticket into a fresh {@link InvertedIndex}
+ * while searches keep using the current one, then replays the updates that arrived meanwhile and swaps it in.
+ * Tickets are never dropped: archived tickets stay readable, so they stay searchable too, as the rebuild streams them
+ * along with the live ones.
+ */
+@Component
+public class TicketSearchIndex implements TicketSearchIndexPort {
+
+    private final TicketRepositoryPort ticketRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Timer searchTimer;
+
+    private record Update(TicketDto ticketDto, long version) {
+    }
+
+    private InvertedIndex index = new InvertedIndex();
+    private Queue<Update> updatesDuringRebuild;
+
+    public TicketSearchIndex(TicketRepositoryPort ticketRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.ticketRepository = ticketRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.searchTimer = Timer.builder("ticket.search.query").publishPercentileHistogram().register(meterRegistry);
+        Gauge.builder("ticket.search.documents", this, TicketSearchIndex::size).register(meterRegistry);
+    }
+
+    @Override
+    public void index(TicketDto ticketDto, long version) {
+        lock.writeLock().lock();
+        try {
+            index.put(ticketDto, version);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(new Update(ticketDto, version));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TicketSearchHit> search(String query,
+                                        List<Status> statuses,
+                                        LocalDateTime startDate,
+                                        LocalDateTime endDate,
+                                        Long assignedAgentId,
+                                        int limit) {
+        return searchTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return index.search(TicketTokenizer.distinctTerms(query), statuses, startDate, endDate,
+                        assignedAgentId, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public int rebuild() {
+        rebuildLock.lock();
+        try {
+            Queue<Update> updates = new ArrayDeque<>();
+            lock.writeLock().lock();
+            try {
+                updatesDuringRebuild = updates;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            InvertedIndex rebuilt = new InvertedIndex();
+            boolean streamed = false;
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<TicketDto> tickets = ticketRepository.streamWithFilters(null, null, null, null)) {
+                        tickets.forEach(ticketDto -> rebuilt.put(ticketDto, InvertedIndex.UNKNOWN_VERSION));
+                    }
+                });
+                streamed = true;
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    updatesDuringRebuild = null;
+                    if (streamed) {
+                        // Updates committed while streaming may or may not be in the stream; replaying them is idempotent,
+                        // and their versions keep a late hook from undoing a newer one.
+                        updates.forEach(update -> rebuilt.put(update.ticketDto(), update.version()));
+                        index = rebuilt;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            return rebuilt.size();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ticket.search;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Splits text into lower-case runs of letters and digits. Single characters are dropped; they match too many tickets
+ * to be useful and would dominate the index size.
+ */
+final class TicketTokenizer {
+
+    static final int MIN_TERM_LENGTH = 2;
+
+    private TicketTokenizer() {}
+
+    static Map<String, Integer> termFrequencies(String... texts) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String text : texts) {
+            tokenize(text, term -> frequencies.merge(term, 1, Integer::sum));
+        }
+        return frequencies;
+    }
+
+    static Set<String> distinctTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(text, terms::add);
+        return terms;
+    }
+
+    private static void tokenize(String text, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TERM_LENGTH) {
+                    consumer.accept(text.substring(start, i).toLowerCase());
+                }
+                start = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.ticket.service;
+
+import com.ticket.cache.TicketCache;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketFilterDto;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventType;
+import com.ticket.exception.*;
+import com.ticket.ports.driver.ReactiveTicketServicePort;
+import com.ticket.ports.repository.AgentRepositoryPort;
+import com.ticket.ports.repository.ReactiveTicketRepositoryPort;
+import com.ticket.ports.search.TicketSearchIndexPort;
+import com.ticket.util.ErrorMessages;
+import com.ticket.util.LocalDateTimeProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking variant of {@link TicketService} over the R2DBC adapter. Transitions use the same conditional updates
+ * as the blocking service in conditional-update mode and refresh the shared {@link TicketCache}, so both ports can
+ * serve the same tickets, and feed the same search index and {@link TicketEventBus}. Agent names come from the
+ * in-memory agent snapshot.
+ */
+@Service
+public class ReactiveTicketService implements ReactiveTicketServicePort {
+
+    // No ticket references this id, so filtering by an unknown agent name matches nothing.
+    private static final Long UNKNOWN_AGENT_ID = -1L;
+
+    private final ReactiveTicketRepositoryPort ticketRepository;
+    private final AgentRepositoryPort agentRepository;
+    private final TicketCache ticketCache;
+    private final TicketEventBus ticketEventBus;
+    private final TicketSearchIndexPort ticketSearchIndex;
+    private final LocalDateTimeProvider localDateTimeProvider;
+    private final Duration pollInterval;
+
+    public ReactiveTicketService(ReactiveTicketRepositoryPort ticketRepository,
+                                 AgentRepositoryPort agentRepository,
+                                 TicketCache ticketCache,
+                                 TicketEventBus ticketEventBus,
+                                 TicketSearchIndexPort ticketSearchIndex,
+                                 LocalDateTimeProvider localDateTimeProvider,
+                                 @Value("${ticket.reactive.poll-interval:500ms}") Duration pollInterval) {
+        this.ticketRepository = ticketRepository;
+        this.agentRepository = agentRepository;
+        this.ticketCache = ticketCache;
+        this.ticketEventBus = ticketEventBus;
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.localDateTimeProvider = localDateTimeProvider;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public Mono<TicketDto> createTicket(TicketDto ticketDto, LocalDateTime localDateTime) {
+        if (ticketDto.getDescription() == null || ticketDto.getDescription().isEmpty()) {
+            return Mono.error(new MissingDescriptionException(ErrorMessages.DESCRIPTION_REQUIRED));
+        }
+        return ticketRepository.insert(ticketDto.getDescription(), Status.NEW, localDateTime)
+                .doOnNext(created -> {
+                    // A new row starts at version 0.
+                    ticketSearchIndex.index(created, 0);
+                    ticketEventBus.publish(TicketEventType.CREATED, null, created);
+                });
+    }
+
+    @Override
+    public Mono<TicketDto> assignAgentToTicket(Long ticketId, Long agentId) {
+        // A snapshot miss falls back to a JDBC lookup, so the agent is resolved off the event loop.
+        return Mono.fromCallable(() -> agentRepository.findById(agentId)
+                        .orElseThrow(() -> new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(agent -> transition(ticketId,
+                        ticketRepository.compareAndAssignAgent(ticketId, agent.getId(), localDateTimeProvider.now()),
+                        this::validateTicketBeforeAssigning, TicketEventType.ASSIGNED, Status.NEW));
+    }
+
+    @Override
+    public Mono<TicketDto> resolveTicket(Long ticketId) {
+        return transition(ticketId,
+                ticketRepository.compareAndSetStatus(ticketId, Status.IN_PROGRESS, Status.RESOLVED,
+                        localDateTimeProvider.now()),
+                this::validateTicketBeforeResolving, TicketEventType.RESOLVED, Status.IN_PROGRESS);
+    }
+
+    @Override
+    public Mono<TicketDto> closeTicket(Long ticketId) {
+        return transition(ticketId,
+                ticketRepository.compareAndClose(ticketId, localDateTimeProvider.now()),
+                this::validateTicketBeforeClosing, TicketEventType.CLOSED, Status.RESOLVED);
+    }
+
+    @Override
+    public Mono<TicketDto> getTicketById(Long ticketId) {
+        return findTicket(ticketId);
+    }
+
+    @Override
+    public Flux<TicketDto> getTickets(TicketFilterDto ticketFilterDto) {
+        if (ticketFilterDto.getStartDate() != null && ticketFilterDto.getEndDate() != null &&
+                ticketFilterDto.getEndDate().isBefore(ticketFilterDto.getStartDate())) {
+            return Flux.error(new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE));
+        }
+        // A name lookup that misses the agent snapshot goes to JDBC, so it runs off the event loop.
+        return Mono.fromCallable(() -> Optional.ofNullable(resolveAgentId(ticketFilterDto)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(agentId -> ticketRepository.findWithFilters(
+                        ticketFilterDto.getStatus(),
+                        ticketFilterDto.getStartDate(),
+                        ticketFilterDto.getEndDate(),
+                        agentId.orElse(null)))
+                .flatMapSequential(this::resolveAgentName);
+    }
+
+    /**
+     * Completes with the ticket once its status differs from {@code currentStatus}, or with the unchanged ticket when
+     * the timeout elapses. Waiting clients hold a timer subscription, not a thread.
+     */
+    @Override
+    public Mono<TicketDto> awaitStatusChange(Long ticketId, Status currentStatus, Duration timeout) {
+        return Flux.interval(Duration.ZERO, pollInterval)
+                .concatMap(tick -> findTicket(ticketId))
+                .filter(ticketDto -> ticketDto.getStatus() != currentStatus)
+                .next()
+                .timeout(timeout, Mono.defer(() -> findTicket(ticketId)));
+    }
+
+    private Mono<TicketDto> transition(Long ticketId, Mono<Boolean> conditionalUpdate, Consumer<TicketDto> validation,
+                                       TicketEventType eventType, Status previousStatus) {
+        return conditionalUpdate.flatMap(updated -> {
+            if (updated) {
+                // Evicted and versioned for the same reason as in TicketService: transitions may finish out of order.
+                return ticketRepository.findVersionedById(ticketId)
+                        .switchIfEmpty(Mono.error(() -> new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND)))
+                        .flatMap(versioned -> resolveAgentName(versioned.ticket()).doOnNext(ticketDto -> {
+                            ticketCache.evict(ticketId);
+                            ticketSearchIndex.index(ticketDto, versioned.version());
+                            ticketEventBus.publish(eventType, previousStatus, ticketDto);
+                        }));
+            }
+            return findTicket(ticketId).flatMap(ticketDto -> {
+                validation.accept(ticketDto);
+                return Mono.error(new TicketConflictException(ErrorMessages.TICKET_MODIFIED_CONCURRENTLY));
+            });
+        });
+    }
+
+    private Mono<TicketDto> findTicket(Long ticketId) {
+        return ticketRepository.findById(ticketId)
+                .switchIfEmpty(Mono.error(() -> new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND)))
+                .flatMap(this::resolveAgentName);
+    }
+
+    private Long resolveAgentId(TicketFilterDto ticketFilterDto) {
+        String agentName = ticketFilterDto.getAssignedAgent();
+        if (agentName == null || agentName.trim().isEmpty()) {
+            return ticketFilterDto.getAssignedAgentId();
+        }
+        Long agentId = agentRepository.findByName(agentName).map(Agent::getId).orElse(UNKNOWN_AGENT_ID);
+        if (ticketFilterDto.getAssignedAgentId() != null && !ticketFilterDto.getAssignedAgentId().equals(agentId)) {
+            return UNKNOWN_AGENT_ID;
+        }
+        return agentId;
+    }
+
+    /**
+     * Fills in the agent name. Like the agent lookup when assigning, this may fall back to JDBC (or rebuild the
+     * snapshot), so it runs on the bounded elastic scheduler; unassigned tickets skip the hop.
+     */
+    private Mono<TicketDto> resolveAgentName(TicketDto ticketDto) {
+        if (ticketDto.getAssignedAgentId() == null) {
+            return Mono.just(ticketDto);
+        }
+        return Mono.fromCallable(() -> {
+                    ticketDto.setAssignedAgent(agentRepository.findById(ticketDto.getAssignedAgentId())
+                            .map(Agent::getName)
+                            .orElse(null));
+                    return ticketDto;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private void validateTicketBeforeAssigning(TicketDto existingTicket) {
+        if (existingTicket.getStatus() != Status.NEW)
+            throw new InvalidTicketStateException(ErrorMessages.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
+    }
+
+    private void validateTicketBeforeResolving(TicketDto existingTicket) {
+        if (existingTicket.getStatus() != Status.IN_PROGRESS)
+            throw new InvalidTicketStateException(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED);
+    }
+
+    private void validateTicketBeforeClosing(TicketDto existingTicket) {
+        if (existingTicket.getStatus() != Status.RESOLVED)
+            throw new InvalidTicketStateException(ErrorMessages.ONLY_RESOLVED_TICKETS_CAN_BE_CLOSED);
+        if (existingTicket.getResolutionSummary() == null || existingTicket.getResolutionSummary().isEmpty())
+            throw new MissingResolutionSummaryException(ErrorMessages.RESOLUTION_SUMMARY_REQUIRED);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ticket.service;
+
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.util.LocalDateTimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves closed tickets older than {@code ticket.archive.min-age} out of the live table, one bounded transaction per
+ * batch, so listings of active tickets do not slow down as history grows.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticket.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TicketArchiver {
+
+    private final TicketRepositoryPort ticketRepository;
+    private final LocalDateTimeProvider localDateTimeProvider;
+    private final Duration minAge;
+    private final int batchSize;
+    private final Counter archivedTickets;
+    private final Counter failedRuns;
+    private final Timer batchTimer;
+
+    public TicketArchiver(TicketRepositoryPort ticketRepository,
+                          LocalDateTimeProvider localDateTimeProvider,
+                          @Value("${ticket.archive.min-age:30d}") Duration minAge,
+                          @Value("${ticket.archive.batch-size:500}") int batchSize,
+                          MeterRegistry meterRegistry) {
+        this.ticketRepository = ticketRepository;
+        this.localDateTimeProvider = localDateTimeProvider;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.archivedTickets = meterRegistry.counter("ticket.archive.archived");
+        this.failedRuns = meterRegistry.counter("ticket.archive.failures");
+        this.batchTimer = meterRegistry.timer("ticket.archive.batch");
+    }
+
+    /**
+     * Archives batches until fewer than a full batch are eligible. The cutoff is fixed for the run, so tickets that
+     * age past it meanwhile wait for the next one.
+     */
+    @Scheduled(fixedDelayString = "${ticket.archive.interval-ms:300000}")
+    public void archive() {
+        LocalDateTime cutoff = localDateTimeProvider.now().minus(minAge);
+        try {
+            while (archiveBatch(cutoff) == batchSize) {
+                // Keep draining.
+            }
+        } catch (RuntimeException ex) {
+            failedRuns.increment();
+            log.warn("Ticket archiving failed; eligible tickets stay live until the next run", ex);
+        }
+    }
+
+    public int archiveBatch(LocalDateTime cutoff) {
+        int archived = batchTimer.record(() -> ticketRepository.archiveClosedBefore(cutoff, batchSize));
+        archivedTickets.increment(archived);
+        return archived;
+    }
+}
@@ -0,0 +1,141 @@
+package com.ticket.service;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketExportDto;
+import com.ticket.entity.Agent;
+import com.ticket.export.TicketColumnWriter;
+import com.ticket.ports.driver.TicketExportServicePort;
+import com.ticket.ports.repository.AgentRepositoryPort;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.util.ContinuationToken;
+import com.ticket.util.LocalDateTimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exports the ticket history, live and archived, to a {@link TicketColumnWriter} file for analytics. Tickets are read
+ * through the same forward-only cursor as {@code GET /tickets/stream}, in {@code (createdDate, id)} order, so memory
+ * use is bounded by one chunk however many tickets there are.
+ * <p>
+ * Every export stops at {@code ticket.export.grace} before now, and that cutoff is its watermark. Creation dates are
+ * stamped before the insert commits, so a ticket can become visible after a later-dated one; the grace period covers
+ * such transactions, which a watermark at the last exported ticket would skip for good. Ids are no ordering guarantee
+ * either, since they are handed out in pooled blocks.
+ * <p>
+ * An export started from a watermark only contains tickets created after it. Changes to tickets the earlier export
+ * already held are not picked up, and neither are bulk imports: imported tickets keep their historical creation
+ * dates, which lie before any earlier watermark, so a full export (without {@code after}) is needed after an import.
+ */
+@Service
+public class TicketExportService implements TicketExportServicePort {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS");
+
+    private final TicketRepositoryPort ticketRepository;
+    private final AgentRepositoryPort agentRepository;
+    private final LocalDateTimeProvider localDateTimeProvider;
+    private final Path directory;
+    private final int chunkRows;
+    private final Duration grace;
+    private final Timer exportTimer;
+    private final Counter exportedTickets;
+
+    public TicketExportService(TicketRepositoryPort ticketRepository,
+                               AgentRepositoryPort agentRepository,
+                               LocalDateTimeProvider localDateTimeProvider,
+                               MeterRegistry meterRegistry,
+                               @Value("${ticket.export.directory:${java.io.tmpdir}/ticket-export}") String directory,
+                               @Value("${ticket.export.chunk-rows:65536}") int chunkRows,
+                               @Value("${ticket.export.grace:1m}") Duration grace) {
+        this.ticketRepository = ticketRepository;
+        this.agentRepository = agentRepository;
+        this.localDateTimeProvider = localDateTimeProvider;
+        this.directory = Paths.get(directory);
+        this.chunkRows = chunkRows;
+        this.grace = grace;
+        this.exportTimer = meterRegistry.timer("ticket.export");
+        this.exportedTickets = meterRegistry.counter("ticket.export.tickets");
+    }
+
+    /**
+     * Writes every ticket after the {@code after} watermark, or every ticket if it is null, and created no later than
+     * the grace period before now, to a new file in {@code ticket.export.directory}. The file only appears under its
+     * final name once it is complete.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TicketExportDto exportTickets(String after) {
+        ContinuationToken watermark = after != null ? ContinuationToken.decode(after) : null;
+        return exportTimer.record(() -> {
+            try {
+                return export(watermark);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private TicketExportDto export(ContinuationToken after) throws IOException {
+        Files.createDirectories(directory);
+        LocalDateTime now = localDateTimeProvider.now();
+        ContinuationToken watermark = watermark(after, now.minus(grace));
+        String name = "tickets-" + FILE_TIMESTAMP.format(now) + ".tktc";
+        Path file = directory.resolve(name);
+        Path temporary = directory.resolve(name + ".tmp");
+
+        TicketColumnWriter writer = new TicketColumnWriter(temporary, chunkRows,
+                agentId -> agentRepository.findById(agentId).map(Agent::getName).orElse(null));
+        try {
+            try (writer; Stream<TicketDto> tickets = ticketRepository.streamWithFilters(
+                    null, after != null ? after.getCreatedDate() : null, watermark.getCreatedDate(), null)) {
+                Iterator<TicketDto> iterator = tickets.iterator();
+                while (iterator.hasNext()) {
+                    TicketDto ticket = iterator.next();
+                    if ((after == null || isAfter(ticket, after)) && !isAfter(ticket, watermark)) {
+                        writer.write(ticket);
+                    }
+                }
+                writer.setWatermark(watermark);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        exportedTickets.increment(writer.rowCount());
+        return new TicketExportDto(file.toString(), writer.rowCount(), watermark.encode());
+    }
+
+    /**
+     * The cutoff as a watermark that sorts after every ticket created at it, or the previous watermark if the clock
+     * has not passed it yet, so the watermark never moves backwards.
+     */
+    private static ContinuationToken watermark(ContinuationToken after, LocalDateTime cutoff) {
+        if (after != null && !cutoff.isAfter(after.getCreatedDate())) {
+            return after;
+        }
+        return new ContinuationToken(cutoff, Long.MAX_VALUE);
+    }
+
+    // The stream starts at the watermark's creation date, which may include tickets at or before it.
+    private static boolean isAfter(TicketDto ticket, ContinuationToken watermark) {
+        int byDate = ticket.getCreatedDate().compareTo(watermark.getCreatedDate());
+        return byDate > 0 || byDate == 0 && ticket.getId() > watermark.getId();
+    }
+}
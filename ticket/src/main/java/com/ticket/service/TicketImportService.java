@@ -0,0 +1,494 @@
+package com.ticket.service;
+
+import com.ticket.dto.TicketImportDto;
+import com.ticket.dto.TicketImportState;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+import com.ticket.exception.AgentNotFoundException;
+import com.ticket.exception.InvalidImportFileException;
+import com.ticket.exception.InvalidTicketStateException;
+import com.ticket.exception.MissingDescriptionException;
+import com.ticket.exception.MissingResolutionSummaryException;
+import com.ticket.exception.TicketConflictException;
+import com.ticket.imports.ImportCheckpoint;
+import com.ticket.imports.ImportField;
+import com.ticket.imports.ImportFile;
+import com.ticket.imports.TicketRecordParser;
+import com.ticket.ports.driver.TicketImportServicePort;
+import com.ticket.ports.repository.AgentRepositoryPort;
+import com.ticket.ports.repository.ImportProgressRepositoryPort;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.util.ErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk-loads historical tickets, in any status, from a CSV or NDJSON file in {@code ticket.import.directory}.
+ * <p>
+ * The file is split into chunks of whole records (see {@link ImportFile}) that a pool of
+ * {@code ticket.import.threads} workers maps, parses and validates in parallel. Valid tickets are saved
+ * {@code ticket.import.batch-size} at a time, one transaction per batch, and the same transaction records how far
+ * into its chunk the import got (see {@link ImportCheckpoint}). Running the import of the same file again continues
+ * from there, so an interrupted import can simply be restarted, and a finished one is not repeated. With the
+ * in-memory ticket repository the tickets are not part of that transaction, and a crash right after a batch may
+ * import it again.
+ * <p>
+ * Only one import runs at a time. {@link #startImport} runs it on a background thread and {@link #getImport} reports
+ * its progress; {@link #importTickets} runs it on the caller's thread.
+ * <p>
+ * Records that break the status rules of the ticket workflow, or name an unknown agent, are counted and skipped.
+ * Imported tickets reach downstream consumers as {@code CREATED} outbox events but are not published in-process:
+ * statistics catch up at the next reconciliation and the search index on its next rebuild.
+ */
+@Slf4j
+@Service
+public class TicketImportService implements TicketImportServicePort {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final TicketRepositoryPort ticketRepository;
+    private final AgentRepositoryPort agentRepository;
+    private final ImportProgressRepositoryPort importProgressRepository;
+    private final TransactionTemplate batchTransaction;
+    private final Path directory;
+    private final long chunkSize;
+    private final int batchSize;
+    private final int threads;
+    private final AtomicReference<ImportJob> lastJob = new AtomicReference<>();
+    private final Counter importedTickets;
+    private final Counter rejectedTickets;
+    private final Timer batchTimer;
+    private final AtomicLong bytesDone = new AtomicLong();
+    private final AtomicLong bytesTotal = new AtomicLong();
+
+    public TicketImportService(TicketRepositoryPort ticketRepository,
+                               AgentRepositoryPort agentRepository,
+                               ImportProgressRepositoryPort importProgressRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${ticket.import.directory:${java.io.tmpdir}/ticket-import}") String directory,
+                               @Value("${ticket.import.chunk-size:16MB}") DataSize chunkSize,
+                               @Value("${ticket.import.batch-size:500}") int batchSize,
+                               @Value("${ticket.import.threads:4}") int threads) {
+        this.ticketRepository = ticketRepository;
+        this.agentRepository = agentRepository;
+        this.importProgressRepository = importProgressRepository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize.toBytes();
+        this.batchSize = batchSize;
+        this.threads = threads;
+        this.importedTickets = meterRegistry.counter("ticket.import.records", "outcome", "imported");
+        this.rejectedTickets = meterRegistry.counter("ticket.import.records", "outcome", "rejected");
+        this.batchTimer = meterRegistry.timer("ticket.import.batch");
+        Gauge.builder("ticket.import.progress", this, TicketImportService::progress)
+                .description("Fraction of the current or last import file processed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TicketImportDto importTickets(String fileName) {
+        Path file = resolve(fileName);
+        ImportJob job = begin(fileName);
+        try {
+            return job.finish(run(file, job));
+        } catch (IOException ex) {
+            job.fail(ex);
+            throw new UncheckedIOException(ex);
+        } catch (RuntimeException ex) {
+            job.fail(ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public TicketImportDto startImport(String fileName) {
+        Path file = resolve(fileName);
+        if (!Files.isRegularFile(file)) {
+            throw new InvalidImportFileException(ErrorMessages.INVALID_IMPORT_FILE);
+        }
+        ImportJob job = begin(fileName);
+        Thread.ofVirtual().name("ticket-import").start(() -> {
+            try {
+                job.finish(run(file, job));
+            } catch (IOException | RuntimeException ex) {
+                log.error("Import of {} failed", fileName, ex);
+                job.fail(ex);
+            }
+        });
+        return job.status();
+    }
+
+    @Override
+    public Optional<TicketImportDto> getImport() {
+        return Optional.ofNullable(lastJob.get()).map(ImportJob::status);
+    }
+
+    private Path resolve(String fileName) {
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.getParent().equals(directory) || !ImportFile.isSupported(fileName)) {
+            throw new InvalidImportFileException(ErrorMessages.INVALID_IMPORT_FILE);
+        }
+        return file;
+    }
+
+    private ImportJob begin(String fileName) {
+        ImportJob job = new ImportJob(fileName);
+        ImportJob previous = lastJob.get();
+        if ((previous != null && previous.running()) || !lastJob.compareAndSet(previous, job)) {
+            throw new TicketConflictException(ErrorMessages.IMPORT_ALREADY_RUNNING);
+        }
+        return job;
+    }
+
+    private TicketImportDto run(Path file, ImportJob job) throws IOException {
+        String fileName = file.getFileName().toString();
+        try (ImportFile input = openInput(file)) {
+            ImportCheckpoint checkpoint = openCheckpoint(fileName, input);
+            // Counted over the chunks rather than the file, whose CSV header belongs to none, so a finished import is at 1.
+            bytesTotal.set(input.chunks().stream().mapToLong(chunk -> chunk.end() - chunk.start()).sum());
+            bytesDone.set(0);
+
+            List<ImportFile.Chunk> pending = new ArrayList<>();
+            for (ImportFile.Chunk chunk : input.chunks()) {
+                long from = checkpoint.committedOffset(chunk);
+                bytesDone.addAndGet(from - chunk.start());
+                if (from < chunk.end()) {
+                    pending.add(chunk);
+                }
+            }
+            Run run = new Run(fileName, input, checkpoint, input.chunks().size() - pending.size());
+            job.run = run;
+            log.info("Importing {}: {} chunks, {} already imported", fileName, input.chunks().size(),
+                    run.resumedChunks);
+
+            ExecutorService workers = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            try {
+                for (ImportFile.Chunk chunk : pending) {
+                    futures.add(workers.submit(() -> {
+                        run.importChunk(chunk);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    await(future);
+                }
+            } finally {
+                // Workers are stopped between batches rather than interrupted, so no batch is cut short.
+                run.stopped = true;
+                futures.forEach(future -> future.cancel(false));
+                workers.shutdown();
+                awaitTermination(workers);
+            }
+
+            TicketImportDto result = run.report(TicketImportState.COMPLETED, null);
+            log.info("Imported {}: {} tickets imported, {} rejected in {} ms", fileName, result.getImported(),
+                    result.getRejected(), result.getElapsedMillis());
+            return result;
+        }
+    }
+
+    private ImportFile openInput(Path file) throws IOException {
+        try {
+            return ImportFile.open(file, chunkSize);
+        } catch (NoSuchFileException ex) {
+            throw new InvalidImportFileException(ErrorMessages.INVALID_IMPORT_FILE);
+        }
+    }
+
+    private ImportCheckpoint openCheckpoint(String fileName, ImportFile input) {
+        try {
+            return ImportCheckpoint.open(importProgressRepository, fileName, input.fingerprint());
+        } catch (IllegalStateException ex) {
+            throw new InvalidImportFileException(ErrorMessages.IMPORT_CHECKPOINT_MISMATCH);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService workers) {
+        try {
+            while (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.info("Waiting for import workers to finish their current batch");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private double progress() {
+        long total = bytesTotal.get();
+        return total == 0 ? 0 : (double) bytesDone.get() / total;
+    }
+
+    /**
+     * One import, from the moment it is accepted; {@link #run} is set once the file is open.
+     */
+    private final class ImportJob {
+        private final String fileName;
+        private volatile Run run;
+        private volatile TicketImportDto result;
+
+        private ImportJob(String fileName) {
+            this.fileName = fileName;
+        }
+
+        private boolean running() {
+            return result == null;
+        }
+
+        private TicketImportDto finish(TicketImportDto result) {
+            this.result = result;
+            return result;
+        }
+
+        private void fail(Exception ex) {
+            String failure = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+            Run failedRun = run;
+            result = failedRun != null ? failedRun.report(TicketImportState.FAILED, failure)
+                    : new TicketImportDto(fileName, TicketImportState.FAILED, 0, 0, 0, 0, 0, 0, List.of(), failure);
+        }
+
+        private TicketImportDto status() {
+            TicketImportDto finished = result;
+            if (finished != null) {
+                return finished;
+            }
+            Run current = run;
+            return current != null ? current.report(TicketImportState.RUNNING, null)
+                    : new TicketImportDto(fileName, TicketImportState.RUNNING, 0, 0, 0, 0, 0, 0, List.of(), null);
+        }
+    }
+
+    /**
+     * State shared by the workers of one import.
+     */
+    private final class Run {
+        private final String fileName;
+        private final ImportFile input;
+        private final ImportCheckpoint checkpoint;
+        private final int resumedChunks;
+        private final long started = System.nanoTime();
+        // Agents are looked up by name once per import; the table is small next to the tickets referencing it.
+        private final Map<String, Optional<Agent>> agents = new ConcurrentHashMap<>();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicInteger completedChunks = new AtomicInteger();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean stopped;
+
+        private Run(String fileName, ImportFile input, ImportCheckpoint checkpoint, int resumedChunks) {
+            this.fileName = fileName;
+            this.input = input;
+            this.checkpoint = checkpoint;
+            this.resumedChunks = resumedChunks;
+        }
+
+        private TicketImportDto report(TicketImportState state, String failure) {
+            List<String> reportedErrors;
+            synchronized (errors) {
+                reportedErrors = List.copyOf(errors);
+            }
+            return new TicketImportDto(fileName, state, progress(), imported.get(), rejected.get(),
+                    input.chunks().size(), resumedChunks, (System.nanoTime() - started) / 1_000_000, reportedErrors,
+                    failure);
+        }
+
+        private void importChunk(ImportFile.Chunk chunk) throws IOException {
+            long from = checkpoint.committedOffset(chunk);
+            ByteBuffer in = input.map(chunk, from);
+            TicketRecordParser parser = input.newParser();
+            String[] fields = new String[ImportField.values().length];
+            List<Ticket> batch = new ArrayList<>(batchSize);
+            long committed = from;
+
+            while (in.hasRemaining()) {
+                long offset = from + in.position();
+                try {
+                    if (!parser.next(in, fields)) {
+                        break;
+                    }
+                    batch.add(toTicket(fields));
+                } catch (IllegalArgumentException | DateTimeParseException | InvalidTicketStateException
+                         | MissingDescriptionException | MissingResolutionSummaryException
+                         | AgentNotFoundException ex) {
+                    reject(offset, ex);
+                }
+                if (batch.size() == batchSize) {
+                    long end = from + in.position();
+                    save(chunk, batch, end, end - committed);
+                    committed = end;
+                    if (stopped) {
+                        return;
+                    }
+                }
+            }
+            save(chunk, batch, chunk.end(), chunk.end() - committed);
+
+            log.info("Imported chunk {} ({}/{} of this run); {} imported, {} rejected so far", chunk.index(),
+                    completedChunks.incrementAndGet(), input.chunks().size(), imported, rejected);
+        }
+
+        private void save(ImportFile.Chunk chunk, List<Ticket> batch, long end, long bytes) {
+            batchTimer.record(() -> batchTransaction.executeWithoutResult(status -> {
+                if (!batch.isEmpty()) {
+                    ticketRepository.importAll(batch);
+                }
+                checkpoint.commit(chunk, end);
+            }));
+            imported.addAndGet(batch.size());
+            importedTickets.increment(batch.size());
+            batch.clear();
+            bytesDone.addAndGet(bytes);
+        }
+
+        private void reject(long offset, RuntimeException ex) {
+            rejected.incrementAndGet();
+            rejectedTickets.increment();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Record at byte " + offset + ": " + ex.getMessage());
+            }
+        }
+
+        private Ticket toTicket(String[] fields) {
+            String description = text(fields, ImportField.DESCRIPTION);
+            String statusName = text(fields, ImportField.STATUS);
+            LocalDateTime createdDate = date(fields, ImportField.CREATED_DATE);
+            LocalDateTime assignedDate = date(fields, ImportField.ASSIGNED_DATE);
+            LocalDateTime resolvedDate = date(fields, ImportField.RESOLVED_DATE);
+            LocalDateTime closedDate = date(fields, ImportField.CLOSED_DATE);
+            String agentName = text(fields, ImportField.ASSIGNED_AGENT);
+            String resolutionSummary = text(fields, ImportField.RESOLUTION_SUMMARY);
+
+            if (description == null) {
+                throw new MissingDescriptionException(ErrorMessages.DESCRIPTION_REQUIRED);
+            }
+            if (statusName == null) {
+                throw new IllegalArgumentException(ErrorMessages.STATUS_REQUIRED);
+            }
+            if (createdDate == null) {
+                throw new IllegalArgumentException(ErrorMessages.CREATED_DATE_REQUIRED);
+            }
+            Status status = status(statusName);
+            validate(status, agentName, resolutionSummary, createdDate, assignedDate, resolvedDate, closedDate);
+
+            Ticket ticket = new Ticket(null, description, status, createdDate);
+            if (agentName != null) {
+                ticket.setAssignedAgent(agents.computeIfAbsent(agentName, agentRepository::findByName)
+                        .orElseThrow(() -> new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND)));
+            }
+            ticket.setAssignedDate(assignedDate);
+            ticket.setResolvedDate(resolvedDate);
+            ticket.setClosedDate(closedDate);
+            ticket.setResolutionSummary(resolutionSummary);
+            return ticket;
+        }
+    }
+
+    /**
+     * A ticket must be one the workflow could have produced: NEW tickets have no agent, every later status has one,
+     * RESOLVED and CLOSED tickets have a resolution summary, no date belongs to a later status than the ticket's, and
+     * the dates present are in workflow order.
+     */
+    private static void validate(Status status, String agentName, String resolutionSummary, LocalDateTime createdDate,
+                                 LocalDateTime assignedDate, LocalDateTime resolvedDate, LocalDateTime closedDate) {
+        if (status == Status.NEW && agentName != null) {
+            throw new InvalidTicketStateException(ErrorMessages.NEW_TICKETS_CANNOT_HAVE_AN_AGENT);
+        }
+        if (status != Status.NEW && agentName == null) {
+            throw new InvalidTicketStateException(ErrorMessages.AGENT_REQUIRED);
+        }
+        if ((status == Status.RESOLVED || status == Status.CLOSED) && resolutionSummary == null) {
+            throw new MissingResolutionSummaryException(ErrorMessages.RESOLUTION_SUMMARY_REQUIRED);
+        }
+        boolean datesMatchStatus = switch (status) {
+            case NEW -> assignedDate == null && resolvedDate == null && closedDate == null;
+            case IN_PROGRESS -> resolvedDate == null && closedDate == null;
+            case RESOLVED -> closedDate == null;
+            case CLOSED -> true;
+        };
+        if (!datesMatchStatus || !inOrder(createdDate, assignedDate, resolvedDate, closedDate)) {
+            throw new InvalidTicketStateException(ErrorMessages.DATES_DO_NOT_MATCH_STATUS);
+        }
+    }
+
+    private static boolean inOrder(LocalDateTime... dates) {
+        LocalDateTime previous = null;
+        for (LocalDateTime date : dates) {
+            if (date != null) {
+                if (previous != null && date.isBefore(previous)) {
+                    return false;
+                }
+                previous = date;
+            }
+        }
+        return true;
+    }
+
+    private static String text(String[] fields, ImportField field) {
+        String value = fields[field.ordinal()];
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static Status status(String name) {
+        try {
+            return Status.valueOf(name.strip());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown status " + name);
+        }
+    }
+
+    private static LocalDateTime date(String[] fields, ImportField field) {
+        String value = text(fields, field);
+        return value != null ? LocalDateTime.parse(value.strip()) : null;
+    }
+}
@@ -1,89 +1,213 @@
 package com.ticket.service;
 
-import com.ticket.adapters.repository.AgentRepository;
+import com.ticket.cache.TicketCache;
+import com.ticket.dto.BatchItemResultDto;
+import com.ticket.dto.BatchResultDto;
+import com.ticket.dto.TicketAggregateDto;
 import com.ticket.dto.TicketDto;
 import com.ticket.dto.TicketFilterDto;
+import com.ticket.dto.TicketGrouping;
+import com.ticket.dto.TicketPageDto;
+import com.ticket.dto.TicketSearchHitDto;
 import com.ticket.entity.Agent;
 import com.ticket.entity.Status;
 import com.ticket.entity.Ticket;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventType;
 import com.ticket.exception.*;
 import com.ticket.mapper.TicketMapper;
 import com.ticket.ports.driver.TicketServicePort;
+import com.ticket.ports.repository.AgentRepositoryPort;
 import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.ports.search.TicketSearchHit;
+import com.ticket.ports.search.TicketSearchIndexPort;
+import com.ticket.util.ContinuationToken;
 import com.ticket.util.ErrorMessages;
+import com.ticket.util.LocalDateTimeProvider;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "ticket.service", histogram = true)
 public class TicketService implements TicketServicePort {
 
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    // No ticket references this id, so filtering by an unknown agent name matches nothing.
+    private static final Long UNKNOWN_AGENT_ID = -1L;
+
     private final TicketRepositoryPort ticketRepository;
-    private final AgentRepository agentRepository;
+    private final AgentRepositoryPort agentRepository;
     private final TicketMapper ticketMapper;
+    private final TicketCache ticketCache;
+    private final TicketEventBus ticketEventBus;
+    private final TicketSearchIndexPort ticketSearchIndex;
+    private final LocalDateTimeProvider localDateTimeProvider;
+    private final int batchChunkSize;
+    private final boolean conditionalTransitions;
 
 
-    public TicketService(TicketRepositoryPort ticketRepository, AgentRepository agentRepository, TicketMapper ticketMapper) {
+    public TicketService(TicketRepositoryPort ticketRepository,
+                         AgentRepositoryPort agentRepository,
+                         TicketMapper ticketMapper,
+                         TicketCache ticketCache,
+                         TicketEventBus ticketEventBus,
+                         TicketSearchIndexPort ticketSearchIndex,
+                         LocalDateTimeProvider localDateTimeProvider,
+                         @Value("${ticket.batch.chunk-size:500}") int batchChunkSize,
+                         @Value("${ticket.transitions.conditional-update:false}") boolean conditionalTransitions) {
         this.ticketRepository = ticketRepository;
         this.agentRepository = agentRepository;
         this.ticketMapper = ticketMapper;
+        this.ticketCache = ticketCache;
+        this.ticketEventBus = ticketEventBus;
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.localDateTimeProvider = localDateTimeProvider;
+        this.batchChunkSize = batchChunkSize;
+        this.conditionalTransitions = conditionalTransitions;
     }
 
     @Override
     public TicketDto createTicket(TicketDto ticketDto, LocalDateTime localDateTime) {
-        if (ticketDto.getDescription() == null || ticketDto.getDescription().isEmpty()) {
-            throw new MissingDescriptionException(ErrorMessages.DESCRIPTION_REQUIRED);
-        }
-
-        Ticket newTicket = new Ticket();
-        newTicket.setDescription(ticketDto.getDescription());
-        newTicket.setStatus(Status.NEW);
-        newTicket.setCreatedDate(localDateTime.now());
+        Ticket newTicket = newTicket(ticketDto, localDateTime);
 
         Ticket savedTicket = ticketRepository.save(newTicket);
 
-        return ticketMapper.convertToTicketDto(savedTicket);
+        return recordTransition(TicketEventType.CREATED, null, savedTicket);
+    }
+
+    @Override
+    public BatchResultDto createTickets(List<TicketDto> ticketDtos, LocalDateTime localDateTime) {
+        BatchItemResultDto[] results = new BatchItemResultDto[ticketDtos.size()];
+        List<Integer> chunkIndexes = new ArrayList<>(batchChunkSize);
+        List<Ticket> chunk = new ArrayList<>(batchChunkSize);
+
+        for (int index = 0; index < ticketDtos.size(); index++) {
+            try {
+                chunk.add(newTicket(ticketDtos.get(index), localDateTime));
+                chunkIndexes.add(index);
+            } catch (MissingDescriptionException ex) {
+                results[index] = BatchItemResultDto.failure(index, null, ex.getMessage());
+            }
+
+            if (chunk.size() == batchChunkSize) {
+                saveChunk(chunk, chunkIndexes, results);
+            }
+        }
+        saveChunk(chunk, chunkIndexes, results);
+
+        return BatchResultDto.of(Arrays.asList(results));
     }
 
     @Override
     public TicketDto assignAgentToTicket(Long ticketId, Long agentId) {
+        if (conditionalTransitions) {
+            Agent assignedAgent = getAgent(agentId);
+            return conditionalTransition(ticketId,
+                    () -> ticketRepository.compareAndAssignAgent(ticketId, assignedAgent, localDateTimeProvider.now()),
+                    this::validateTicketBeforeAssigning, TicketEventType.ASSIGNED, Status.NEW);
+        }
+
         Ticket existingTicket = getTicket(ticketId);
 
-        if (existingTicket.getStatus() != Status.NEW) {
-            throw new InvalidTicketStateException(ErrorMessages.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
-        }
+        validateTicketBeforeAssigning(existingTicket);
 
-        Agent assignedAgent = agentRepository.findById(agentId)
-                .orElseThrow(() -> new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND));
+        Agent assignedAgent = getAgent(agentId);
 
         existingTicket.setStatus(Status.IN_PROGRESS);
         existingTicket.setAssignedAgent(assignedAgent);
+        existingTicket.setAssignedDate(localDateTimeProvider.now());
 
         Ticket savedTicket = ticketRepository.save(existingTicket);
 
-        return ticketMapper.convertToTicketDto(savedTicket);
+        return recordTransition(TicketEventType.ASSIGNED, Status.NEW, savedTicket);
+    }
+
+    @Override
+    @Transactional
+    public BatchResultDto assignAgentToTickets(List<Long> ticketIds, Long agentId) {
+        Agent assignedAgent = getAgent(agentId);
+        LocalDateTime assignedDate = localDateTimeProvider.now();
+        return transitionTickets(ticketIds, TicketEventType.ASSIGNED, ticket -> {
+            validateTicketBeforeAssigning(ticket);
+            ticket.setStatus(Status.IN_PROGRESS);
+            ticket.setAssignedAgent(assignedAgent);
+            ticket.setAssignedDate(assignedDate);
+        });
     }
 
     @Override
     public TicketDto resolveTicket(Long ticketId) {
+        if (conditionalTransitions) {
+            return conditionalTransition(ticketId,
+                    () -> ticketRepository.compareAndSetStatus(ticketId, Status.IN_PROGRESS, Status.RESOLVED,
+                            localDateTimeProvider.now()),
+                    this::validateTicketBeforeResolving, TicketEventType.RESOLVED, Status.IN_PROGRESS);
+        }
+
         Ticket existingTicket = getTicket(ticketId);
-        if(existingTicket.getStatus() != Status.IN_PROGRESS)
-            throw new InvalidTicketStateException(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED);
+        validateTicketBeforeResolving(existingTicket);
         existingTicket.setStatus(Status.RESOLVED);
+        existingTicket.setResolvedDate(localDateTimeProvider.now());
         Ticket updatedTicket = ticketRepository.save(existingTicket);
-        return ticketMapper.convertToTicketDto(updatedTicket);
+        return recordTransition(TicketEventType.RESOLVED, Status.IN_PROGRESS, updatedTicket);
     };
 
+    @Override
+    @Transactional
+    public BatchResultDto resolveTickets(List<Long> ticketIds) {
+        LocalDateTime resolvedDate = localDateTimeProvider.now();
+        return transitionTickets(ticketIds, TicketEventType.RESOLVED, ticket -> {
+            validateTicketBeforeResolving(ticket);
+            ticket.setStatus(Status.RESOLVED);
+            ticket.setResolvedDate(resolvedDate);
+        });
+    }
+
 
     @Override
     public TicketDto closeTicket(Long ticketId) {
+        if (conditionalTransitions) {
+            return conditionalTransition(ticketId,
+                    () -> ticketRepository.compareAndClose(ticketId, localDateTimeProvider.now()),
+                    this::validateTicketBeforeClosing, TicketEventType.CLOSED, Status.RESOLVED);
+        }
+
         Ticket existingTicket = getTicket(ticketId);
         validateTicketBeforeClosing(existingTicket);
         existingTicket.setStatus(Status.CLOSED);
+        existingTicket.setClosedDate(localDateTimeProvider.now());
         Ticket updatedTicket = ticketRepository.save(existingTicket);
-        return ticketMapper.convertToTicketDto(updatedTicket);
+        return recordTransition(TicketEventType.CLOSED, Status.RESOLVED, updatedTicket);
+    }
+
+    @Override
+    @Transactional
+    public BatchResultDto closeTickets(List<Long> ticketIds) {
+        LocalDateTime closedDate = localDateTimeProvider.now();
+        return transitionTickets(ticketIds, TicketEventType.CLOSED, ticket -> {
+            validateTicketBeforeClosing(ticket);
+            ticket.setStatus(Status.CLOSED);
+            ticket.setClosedDate(closedDate);
+        });
     }
 
 
@@ -95,33 +219,220 @@ public class TicketService implements TicketServicePort {
         existingTicket.setResolutionSummary(ticketDto.getResolutionSummary());
         existingTicket.setDescription(ticketDto.getDescription());
         Ticket updatedTicket = ticketRepository.save(existingTicket);
-        return ticketMapper.convertToTicketDto(updatedTicket);
+        return recordTransition(TicketEventType.UPDATED, updatedTicket.getStatus(), updatedTicket);
     }
 
     @Override
     public TicketDto getTicketById(Long ticketId) {
-        Ticket ticket = getTicket(ticketId);
-        return ticketMapper.convertToTicketDto(ticket);
+        return ticketCache.get(ticketId, id -> toTicketDto(getTicket(id)));
     }
 
 
     @Override
     public List<TicketDto> getTickets(TicketFilterDto ticketFilterDto) {
-        if (ticketFilterDto.getStartDate() != null && ticketFilterDto.getEndDate() != null &&
-                ticketFilterDto.getEndDate().isBefore(ticketFilterDto.getStartDate())) {
-            throw new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE);
-        }
+        validateDateRange(ticketFilterDto);
+
+        List<TicketDto> tickets = ticketRepository.findDtosWithFilters(
+                ticketFilterDto.getStatus(),
+                ticketFilterDto.getStartDate(),
+                ticketFilterDto.getEndDate(),
+                resolveAgentId(ticketFilterDto)
+        );
+        tickets.forEach(this::resolveAgentName);
+        return tickets;
+    }
+
+    @Override
+    public TicketPageDto getTicketPage(TicketFilterDto ticketFilterDto) {
+        validateDateRange(ticketFilterDto);
 
-        List<Ticket> filteredTickets = ticketRepository.findWithFilters(
+        int limit = resolvePageSize(ticketFilterDto.getLimit());
+        ContinuationToken after = ticketFilterDto.getContinuationToken() == null
+                ? null
+                : ContinuationToken.decode(ticketFilterDto.getContinuationToken());
+
+        List<TicketDto> tickets = ticketRepository.findPageWithFilters(
                 ticketFilterDto.getStatus(),
                 ticketFilterDto.getStartDate(),
                 ticketFilterDto.getEndDate(),
-                ticketFilterDto.getAssignedAgent()
+                resolveAgentId(ticketFilterDto),
+                after,
+                limit + 1
         );
+        tickets.forEach(this::resolveAgentName);
+
+        boolean hasMore = tickets.size() > limit;
+        List<TicketDto> pageTickets = hasMore ? tickets.subList(0, limit) : tickets;
+
+        String continuationToken = null;
+        if (hasMore) {
+            TicketDto last = pageTickets.get(pageTickets.size() - 1);
+            continuationToken = new ContinuationToken(last.getCreatedDate(), last.getId()).encode();
+        }
 
-        return filteredTickets.stream()
-                .map(ticketMapper::convertToTicketDto)
-                .collect(Collectors.toList());
+        return new TicketPageDto(pageTickets, continuationToken);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTickets(TicketFilterDto ticketFilterDto, Consumer<TicketDto> consumer) {
+        validateDateRange(ticketFilterDto);
+
+        try (Stream<TicketDto> tickets = ticketRepository.streamWithFilters(
+                ticketFilterDto.getStatus(),
+                ticketFilterDto.getStartDate(),
+                ticketFilterDto.getEndDate(),
+                resolveAgentId(ticketFilterDto))) {
+            tickets.map(this::resolveAgentName).forEach(consumer);
+        }
+    }
+
+    @Override
+    public List<TicketAggregateDto> aggregateTickets(TicketFilterDto ticketFilterDto, Set<TicketGrouping> groupings) {
+        validateDateRange(ticketFilterDto);
+        if (groupings.contains(TicketGrouping.HOUR) && groupings.contains(TicketGrouping.DAY)) {
+            throw new InvalidGroupingException(ErrorMessages.INVALID_TIME_GROUPING);
+        }
+
+        return ticketRepository.aggregateWithFilters(
+                ticketFilterDto.getStatus(),
+                ticketFilterDto.getStartDate(),
+                ticketFilterDto.getEndDate(),
+                resolveAgentId(ticketFilterDto),
+                groupings);
+    }
+
+    /**
+     * Ranks matches in the in-memory index, then loads only the returned tickets, through the cache.
+     */
+    @Override
+    public List<TicketSearchHitDto> searchTickets(String query, TicketFilterDto ticketFilterDto) {
+        validateDateRange(ticketFilterDto);
+
+        List<TicketSearchHit> hits = ticketSearchIndex.search(query,
+                ticketFilterDto.getStatus(),
+                ticketFilterDto.getStartDate(),
+                ticketFilterDto.getEndDate(),
+                resolveAgentId(ticketFilterDto),
+                resolvePageSize(ticketFilterDto.getLimit()));
+
+        List<TicketSearchHitDto> results = new ArrayList<>(hits.size());
+        for (TicketSearchHit hit : hits) {
+            try {
+                results.add(new TicketSearchHitDto(getTicketById(hit.ticketId()), hit.score()));
+            } catch (TicketNotFoundException ex) {
+                // Removed since it was indexed.
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public int rebuildSearchIndex() {
+        return ticketSearchIndex.rebuild();
+    }
+
+    private Long resolveAgentId(TicketFilterDto ticketFilterDto) {
+        String agentName = ticketFilterDto.getAssignedAgent();
+        if (agentName == null || agentName.trim().isEmpty()) {
+            return ticketFilterDto.getAssignedAgentId();
+        }
+        Long agentId = agentRepository.findByName(agentName).map(Agent::getId).orElse(UNKNOWN_AGENT_ID);
+        if (ticketFilterDto.getAssignedAgentId() != null && !ticketFilterDto.getAssignedAgentId().equals(agentId)) {
+            return UNKNOWN_AGENT_ID;
+        }
+        return agentId;
+    }
+
+    private TicketDto toTicketDto(Ticket ticket) {
+        return resolveAgentName(ticketMapper.convertToTicketDto(ticket));
+    }
+
+    private TicketDto resolveAgentName(TicketDto ticketDto) {
+        if (ticketDto != null && ticketDto.getAssignedAgentId() != null) {
+            ticketDto.setAssignedAgent(agentRepository.findById(ticketDto.getAssignedAgentId())
+                    .map(Agent::getName)
+                    .orElse(null));
+        }
+        return ticketDto;
+    }
+
+    private void validateDateRange(TicketFilterDto ticketFilterDto) {
+        if (ticketFilterDto.getStartDate() != null && ticketFilterDto.getEndDate() != null &&
+                ticketFilterDto.getEndDate().isBefore(ticketFilterDto.getStartDate())) {
+            throw new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE);
+        }
+    }
+
+    private int resolvePageSize(Integer requestedLimit) {
+        if (requestedLimit == null || requestedLimit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requestedLimit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Loads all tickets with one {@code IN} query, applies the transition to each one independently and writes the
+     * successful ones back together, so the updates are flushed as a single JDBC batch when the transaction commits.
+     */
+    private BatchResultDto transitionTickets(List<Long> ticketIds, TicketEventType eventType, Consumer<Ticket> transition) {
+        Map<Long, Ticket> ticketsById = ticketRepository.findAllById(ticketIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+        BatchItemResultDto[] results = new BatchItemResultDto[ticketIds.size()];
+        List<Integer> changedIndexes = new ArrayList<>(ticketIds.size());
+        List<Ticket> changedTickets = new ArrayList<>(ticketIds.size());
+        List<Status> previousStatuses = new ArrayList<>(ticketIds.size());
+
+        for (int index = 0; index < ticketIds.size(); index++) {
+            Long ticketId = ticketIds.get(index);
+            Ticket ticket = ticketsById.get(ticketId);
+            if (ticket == null) {
+                results[index] = BatchItemResultDto.failure(index, ticketId, ErrorMessages.TICKET_NOT_FOUND);
+                continue;
+            }
+            Status previousStatus = ticket.getStatus();
+            try {
+                transition.accept(ticket);
+                changedIndexes.add(index);
+                changedTickets.add(ticket);
+                previousStatuses.add(previousStatus);
+            } catch (InvalidTicketStateException | MissingResolutionSummaryException ex) {
+                results[index] = BatchItemResultDto.failure(index, ticketId, ex.getMessage());
+            }
+        }
+
+        List<Ticket> savedTickets = ticketRepository.saveAll(changedTickets);
+        for (int i = 0; i < savedTickets.size(); i++) {
+            int index = changedIndexes.get(i);
+            TicketDto ticketDto = recordTransition(eventType, previousStatuses.get(i), savedTickets.get(i));
+            results[index] = BatchItemResultDto.success(index, ticketDto);
+        }
+
+        return BatchResultDto.of(Arrays.asList(results));
+    }
+
+    /**
+     * Applies a transition as a single conditional {@code UPDATE}. The ticket is only read afterwards, either to
+     * return it or, when no row matched, to report why the transition was rejected.
+     */
+    private TicketDto conditionalTransition(Long ticketId, BooleanSupplier conditionalUpdate, Consumer<Ticket> validation,
+                                            TicketEventType eventType, Status previousStatus) {
+        if (!conditionalUpdate.getAsBoolean()) {
+            validation.accept(getTicket(ticketId));
+            throw new TicketConflictException(ErrorMessages.TICKET_MODIFIED_CONCURRENTLY);
+        }
+        return recordTransition(eventType, previousStatus, getTicket(ticketId));
+    }
+
+    private void validateTicketBeforeAssigning(Ticket existingTicket) {
+        if (existingTicket.getStatus() != Status.NEW)
+            throw new InvalidTicketStateException(ErrorMessages.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
+    }
+
+    private void validateTicketBeforeResolving(Ticket existingTicket) {
+        if(existingTicket.getStatus() != Status.IN_PROGRESS)
+            throw new InvalidTicketStateException(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED);
     }
 
     private void validateTicketBeforeClosing(Ticket existingTicket) {
@@ -131,6 +442,74 @@ public class TicketService implements TicketServicePort {
             throw new MissingResolutionSummaryException(ErrorMessages.RESOLUTION_SUMMARY_REQUIRED);
     }
 
+    private Ticket newTicket(TicketDto ticketDto, LocalDateTime localDateTime) {
+        if (ticketDto.getDescription() == null || ticketDto.getDescription().isEmpty()) {
+            throw new MissingDescriptionException(ErrorMessages.DESCRIPTION_REQUIRED);
+        }
+
+        Ticket newTicket = new Ticket();
+        newTicket.setDescription(ticketDto.getDescription());
+        newTicket.setStatus(Status.NEW);
+        newTicket.setCreatedDate(localDateTime.now());
+        return newTicket;
+    }
+
+    private void saveChunk(List<Ticket> chunk, List<Integer> chunkIndexes, BatchItemResultDto[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Ticket> savedTickets = ticketRepository.saveAll(chunk);
+            for (int i = 0; i < savedTickets.size(); i++) {
+                int index = chunkIndexes.get(i);
+                TicketDto ticketDto = recordTransition(TicketEventType.CREATED, null, savedTickets.get(i));
+                results[index] = BatchItemResultDto.success(index, ticketDto);
+            }
+        } catch (DataAccessException ex) {
+            for (int index : chunkIndexes) {
+                results[index] = BatchItemResultDto.failure(index, null, ex.getMostSpecificCause().getMessage());
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    /**
+     * Evicts the cached ticket, refreshes the search index and publishes the change event once the surrounding
+     * transaction, if any, has committed, so none of them ever exposes a state that could still be rolled back. Hooks
+     * of concurrent transitions may run out of commit order, so the cache is evicted rather than overwritten and the
+     * index only takes the ticket if its version is not older than the indexed one; the version is read in the hook,
+     * once the commit has flushed it.
+     */
+    private TicketDto recordTransition(TicketEventType eventType, Status previousStatus, Ticket ticket) {
+        TicketDto ticketDto = toTicketDto(ticket);
+        afterCommit(() -> {
+            ticketCache.evict(ticketDto.getId());
+            // A repository that does not track versions leaves it null, which indexes like a fresh row.
+            ticketSearchIndex.index(ticketDto, ticket.getVersion() != null ? ticket.getVersion() : 0);
+            ticketEventBus.publish(eventType, previousStatus, ticketDto);
+        });
+        return ticketDto;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private Agent getAgent(Long agentId) {
+        return agentRepository.findById(agentId)
+                .orElseThrow(() -> new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND));
+    }
+
     private Ticket getTicket(Long ticketId) {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND));
@@ -0,0 +1,136 @@
+package com.ticket.service;
+
+import com.ticket.dto.TicketCountDto;
+import com.ticket.dto.TicketStatsDto;
+import com.ticket.entity.Status;
+import com.ticket.events.TicketEvent;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventListener;
+import com.ticket.events.TicketEventType;
+import com.ticket.ports.driver.TicketStatsServicePort;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ticket counts per status and per agent, maintained from the {@link TicketEventBus} so reading them is O(statuses ×
+ * agents) and never touches the ticket table. Counters only see changes made through this node, so they are
+ * periodically replaced by a {@code GROUP BY} over the agent/status index; between two reconciliations they can be
+ * off by the changes made elsewhere or committed while the last reconciliation ran.
+ */
+@Service
+public class TicketStatsService implements TicketStatsServicePort, TicketEventListener {
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final TicketRepositoryPort ticketRepository;
+    private final LongAdder[] byStatus = newCounters();
+    private final ConcurrentHashMap<Long, LongAdder[]> byAgent = new ConcurrentHashMap<>();
+    private final Counter corrections;
+
+    private volatile LocalDateTime reconciledAt;
+
+    public TicketStatsService(TicketRepositoryPort ticketRepository, TicketEventBus ticketEventBus,
+                              MeterRegistry meterRegistry) {
+        this.ticketRepository = ticketRepository;
+        this.corrections = meterRegistry.counter("ticket.stats.reconcile.corrections");
+        for (Status status : STATUSES) {
+            Gauge.builder("ticket.stats.tickets", byStatus[status.ordinal()], LongAdder::sum)
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        ticketEventBus.addListener(this);
+    }
+
+    @Override
+    public void onEvent(TicketEvent event) {
+        Status previousStatus = event.getPreviousStatus();
+        Status status = event.getStatus();
+        if (previousStatus == status) {
+            return;
+        }
+        move(byStatus, previousStatus, status);
+
+        Long agentId = event.getAssignedAgentId();
+        if (agentId != null) {
+            // Agents are only set by the NEW -> IN_PROGRESS assignment, so before that the ticket counted for no agent.
+            Status previousAgentStatus = event.getType() == TicketEventType.ASSIGNED ? null : previousStatus;
+            move(byAgent.computeIfAbsent(agentId, id -> newCounters()), previousAgentStatus, status);
+        }
+    }
+
+    @Override
+    public TicketStatsDto getStats() {
+        Map<Long, Map<Status, Long>> agents = new HashMap<>();
+        byAgent.forEach((agentId, counters) -> agents.put(agentId, toMap(counters)));
+        return new TicketStatsDto(toMap(byStatus), agents, reconciledAt);
+    }
+
+    /**
+     * Replaces every counter with the count from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ticket.stats.reconcile-interval-ms:60000}",
+            fixedDelayString = "${ticket.stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        long[] statusTotals = new long[STATUSES.length];
+        Map<Long, long[]> agentTotals = new HashMap<>();
+        for (TicketCountDto count : ticketRepository.countByAgentAndStatus()) {
+            int index = count.getStatus().ordinal();
+            statusTotals[index] += count.getCount();
+            if (count.getAssignedAgentId() != null) {
+                agentTotals.computeIfAbsent(count.getAssignedAgentId(), id -> new long[STATUSES.length])[index] = count.getCount();
+            }
+        }
+
+        correct(byStatus, statusTotals);
+        byAgent.forEach((agentId, counters) -> correct(counters, agentTotals.getOrDefault(agentId, new long[STATUSES.length])));
+        agentTotals.forEach((agentId, totals) -> correct(byAgent.computeIfAbsent(agentId, id -> newCounters()), totals));
+        reconciledAt = LocalDateTime.now();
+    }
+
+    private void correct(LongAdder[] counters, long[] totals) {
+        for (int i = 0; i < counters.length; i++) {
+            long delta = totals[i] - counters[i].sum();
+            if (delta != 0) {
+                counters[i].add(delta);
+                corrections.increment();
+            }
+        }
+    }
+
+    private static void move(LongAdder[] counters, Status from, Status to) {
+        if (from != null) {
+            counters[from.ordinal()].decrement();
+        }
+        counters[to.ordinal()].increment();
+    }
+
+    private static Map<Status, Long> toMap(LongAdder[] counters) {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : STATUSES) {
+            counts.put(status, counters[status.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[STATUSES.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ticket.service;
+
+import com.ticket.dto.TicketDurationDto;
+import com.ticket.dto.TicketTimingsDto;
+import com.ticket.events.TicketEvent;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventListener;
+import com.ticket.events.TicketEventType;
+import com.ticket.ports.driver.TicketTimingServicePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from creation to assignment and from creation to resolution, overall and per agent, recorded from the
+ * {@link TicketEventBus} as transitions commit instead of being recomputed from the ticket table, using the dates the
+ * transitions stamped on the ticket rather than when their events were published. Each duration goes into an HDR
+ * histogram, so percentiles cost a fixed amount of memory and stay within 0.1% of the exact value however many tickets
+ * are recorded. The endpoint reports every transition since startup; the per-agent
+ * {@code ticket.timing.assign} and {@code ticket.timing.resolve} timers publish recent percentiles to the registry.
+ */
+@Service
+public class TicketTimingService implements TicketTimingServicePort, TicketEventListener {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Durations timeToAssign;
+    private final Durations timeToResolve;
+
+    public TicketTimingService(TicketEventBus ticketEventBus, MeterRegistry meterRegistry) {
+        this.timeToAssign = new Durations("ticket.timing.assign", "Time from ticket creation to agent assignment", meterRegistry);
+        this.timeToResolve = new Durations("ticket.timing.resolve", "Time from ticket creation to resolution", meterRegistry);
+        ticketEventBus.addListener(this);
+    }
+
+    @Override
+    public void onEvent(TicketEvent event) {
+        if (event.getCreatedDate() == null || event.getTransitionDate() == null) {
+            return;
+        }
+        Durations durations = event.getType() == TicketEventType.ASSIGNED ? timeToAssign
+                : event.getType() == TicketEventType.RESOLVED ? timeToResolve
+                : null;
+        if (durations == null) {
+            return;
+        }
+        // Clamped at zero: a ticket created with a clock slightly ahead of this node's must not fail the recording.
+        long millis = Math.max(0, Duration.between(event.getCreatedDate(), event.getTransitionDate()).toMillis());
+        durations.record(event.getAssignedAgentId(), millis);
+    }
+
+    @Override
+    public TicketTimingsDto getTimings() {
+        return new TicketTimingsDto(timeToAssign.total.snapshot(), timeToResolve.total.snapshot(),
+                timeToAssign.byAgent(), timeToResolve.byAgent());
+    }
+
+    private static final class Durations {
+        private final String name;
+        private final String description;
+        private final MeterRegistry meterRegistry;
+        private final DurationHistogram total = new DurationHistogram(null);
+        private final ConcurrentHashMap<Long, DurationHistogram> agents = new ConcurrentHashMap<>();
+
+        private Durations(String name, String description, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.description = description;
+            this.meterRegistry = meterRegistry;
+        }
+
+        private void record(Long agentId, long millis) {
+            total.record(millis);
+            if (agentId != null) {
+                agents.computeIfAbsent(agentId, id -> new DurationHistogram(Timer.builder(name)
+                                .description(description)
+                                .tag("agent", String.valueOf(id))
+                                .publishPercentiles(0.5, 0.9, 0.99)
+                                .register(meterRegistry)))
+                        .record(millis);
+            }
+        }
+
+        private Map<Long, TicketDurationDto> byAgent() {
+            Map<Long, TicketDurationDto> snapshots = new HashMap<>();
+            agents.forEach((agentId, histogram) -> snapshots.put(agentId, histogram.snapshot()));
+            return snapshots;
+        }
+    }
+
+    /**
+     * Writers record into a {@link Recorder} without locking; a reader swaps out what was recorded since the last read
+     * and adds it to the running total, which only readers touch.
+     */
+    private static final class DurationHistogram {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram accumulated = new Histogram(SIGNIFICANT_DIGITS);
+        private final Timer timer;
+        private Histogram interval;
+
+        private DurationHistogram(Timer timer) {
+            this.timer = timer;
+        }
+
+        private void record(long millis) {
+            recorder.recordValue(millis);
+            if (timer != null) {
+                timer.record(millis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private synchronized TicketDurationDto snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            accumulated.add(interval);
+            return new TicketDurationDto(accumulated.getTotalCount(),
+                    accumulated.getValueAtPercentile(50),
+                    accumulated.getValueAtPercentile(90),
+                    accumulated.getValueAtPercentile(99),
+                    accumulated.getMaxValue());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ticket.util;
+
+import com.ticket.exception.InvalidContinuationTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over the {@code (createdDate, id)} ordering of tickets.
+ */
+public final class ContinuationToken {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdDate;
+    private final Long id;
+
+    public ContinuationToken(LocalDateTime createdDate, Long id) {
+        this.createdDate = createdDate;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ContinuationToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidContinuationTokenException(ErrorMessages.INVALID_CONTINUATION_TOKEN);
+            }
+            return new ContinuationToken(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.valueOf(raw.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidContinuationTokenException(ErrorMessages.INVALID_CONTINUATION_TOKEN);
+        }
+    }
+}
@@ -13,4 +13,15 @@ public final class ErrorMessages {
     public static final String ONLY_RESOLVED_TICKETS_CAN_BE_CLOSED = "Only RESOLVED tickets can be closed.";
     public static final String INVALID_DATE_RANGE = "Invalid date range, the end date is earlier than the start date.";
     public static final String DESCRIPTION_REQUIRED = "The description is required to register the ticket.";
+    public static final String INVALID_CONTINUATION_TOKEN = "Invalid continuation token.";
+    public static final String TICKET_MODIFIED_CONCURRENTLY = "The ticket was modified concurrently, reload it and retry.";
+    public static final String INVALID_TIME_GROUPING = "Tickets can be grouped by either HOUR or DAY, not both.";
+    public static final String STATUS_REQUIRED = "The status is required to import a ticket.";
+    public static final String CREATED_DATE_REQUIRED = "The created date is required to import a ticket.";
+    public static final String AGENT_REQUIRED = "Tickets past NEW must have an assigned agent.";
+    public static final String NEW_TICKETS_CANNOT_HAVE_AN_AGENT = "NEW tickets cannot have an assigned agent.";
+    public static final String DATES_DO_NOT_MATCH_STATUS = "The ticket dates do not match its status or are out of order.";
+    public static final String INVALID_IMPORT_FILE = "The import file must be a .csv, .ndjson or .jsonl file in the import directory.";
+    public static final String IMPORT_CHECKPOINT_MISMATCH = "The import file changed since it was partly imported; delete its import_progress rows to import it again.";
+    public static final String IMPORT_ALREADY_RUNNING = "An import is already running.";
 }
@@ -0,0 +1,47 @@
+package com.ticket.util;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable map from primitive {@code long} keys to values, built once over a {@link LongObjectHashMap}. Lookups probe
+ * a flat key array and never box the key, so a {@link #get(long)} allocates nothing.
+ */
+public final class LongObjectMap<V> {
+
+    private static final LongObjectMap<?> EMPTY = new LongObjectMap<>(new LongObjectHashMap<>(0));
+
+    private final LongObjectHashMap<V> entries;
+
+    private LongObjectMap(LongObjectHashMap<V> entries) {
+        this.entries = entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> LongObjectMap<V> empty() {
+        return (LongObjectMap<V>) EMPTY;
+    }
+
+    /**
+     * Builds a map keyed by {@code keyFunction}. A later element replaces an earlier one with the same key.
+     */
+    public static <T, V> LongObjectMap<V> of(Collection<? extends T> elements,
+                                             ToLongFunction<? super T> keyFunction,
+                                             Function<? super T, ? extends V> valueFunction) {
+        // Sized up front, so building never resizes.
+        LongObjectHashMap<V> entries = new LongObjectHashMap<>(elements.size());
+        for (T element : elements) {
+            entries.put(keyFunction.applyAsLong(element), valueFunction.apply(element));
+        }
+        return new LongObjectMap<>(entries);
+    }
+
+    public V get(long key) {
+        return entries.get(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
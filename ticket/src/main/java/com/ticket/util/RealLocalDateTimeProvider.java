@@ -1,7 +1,10 @@
 package com.ticket.util;
 
+import org.springframework.stereotype.Component;
+
 import java.time.LocalDateTime;
 
+@Component
 public class RealLocalDateTimeProvider implements LocalDateTimeProvider{
 
     @Override
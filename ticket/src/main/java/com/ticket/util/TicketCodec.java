@@ -0,0 +1,306 @@
+package com.ticket.util;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketPageDto;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Compact binary form of {@link Ticket} and {@link TicketDto}, used for the journal, the
+ * {@code application/x-ticket-binary} media type and anything else that would otherwise go through JSON.
+ * <p>
+ * A ticket is a format version byte, a varint bitmask of the fields present, and then those fields in bitmask order:
+ * varint id and version, the status ordinal, the creation time as zigzag varint epoch seconds (UTC) plus varint nanos,
+ * the other timestamps as zigzag varint seconds relative to the creation time plus nanos, length-prefixed UTF-8
+ * description and resolution summary, and the assigned agent as its varint id only. Names are not encoded, so a
+ * decoded {@link TicketDto} has no agent name, and a decoded {@link Ticket} gets its agent from the caller.
+ * <p>
+ * Everything is read from and written to a caller's {@link ByteBuffer}; size the buffer with {@code maxEncodedSize}.
+ * Only the strings of non-ASCII text and the decoded objects are allocated.
+ */
+public final class TicketCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final int ID = 1;
+    private static final int VERSION = 1 << 1;
+    private static final int STATUS = 1 << 2;
+    private static final int CREATED_DATE = 1 << 3;
+    private static final int ASSIGNED_DATE = 1 << 4;
+    private static final int RESOLVED_DATE = 1 << 5;
+    private static final int CLOSED_DATE = 1 << 6;
+    private static final int DESCRIPTION = 1 << 7;
+    private static final int RESOLUTION_SUMMARY = 1 << 8;
+    private static final int AGENT = 1 << 9;
+
+    private static final int MAX_VARINT = 10;
+    private static final int MAX_TIMESTAMP = MAX_VARINT + 5;
+    // Version, bitmask, id, version, status, four timestamps, two string lengths and the agent id.
+    private static final int MAX_FIXED = 1 + 2 + MAX_VARINT + MAX_VARINT + 1 + 4 * MAX_TIMESTAMP + 2 * 5 + MAX_VARINT;
+    private static final Status[] STATUSES = Status.values();
+
+    private TicketCodec() {
+    }
+
+    public static int maxEncodedSize(TicketDto ticketDto) {
+        return MAX_FIXED + maxEncodedSize(ticketDto.getDescription()) + maxEncodedSize(ticketDto.getResolutionSummary());
+    }
+
+    public static int maxEncodedSize(Ticket ticket) {
+        return MAX_FIXED + maxEncodedSize(ticket.getDescription()) + maxEncodedSize(ticket.getResolutionSummary());
+    }
+
+    public static int maxEncodedSize(List<TicketDto> ticketDtos) {
+        int size = 5;
+        for (TicketDto ticketDto : ticketDtos) {
+            size += maxEncodedSize(ticketDto);
+        }
+        return size;
+    }
+
+    public static int maxEncodedSize(TicketPageDto page) {
+        return maxEncodedSize(page.getTickets()) + 5 + maxEncodedSize(page.getContinuationToken());
+    }
+
+    public static void encode(TicketDto ticketDto, ByteBuffer out) {
+        Long agentId = ticketDto.getAssignedAgentId();
+        encode(out, ticketDto.getId(), null, ticketDto.getStatus(), ticketDto.getCreatedDate(),
+                ticketDto.getAssignedDate(), ticketDto.getResolvedDate(), ticketDto.getClosedDate(),
+                ticketDto.getDescription(), ticketDto.getResolutionSummary(), agentId);
+    }
+
+    public static void encode(Ticket ticket, ByteBuffer out) {
+        Agent agent = ticket.getAssignedAgent();
+        encode(out, ticket.getId(), ticket.getVersion(), ticket.getStatus(), ticket.getCreatedDate(),
+                ticket.getAssignedDate(), ticket.getResolvedDate(), ticket.getClosedDate(),
+                ticket.getDescription(), ticket.getResolutionSummary(), agent != null ? agent.getId() : null);
+    }
+
+    /**
+     * Writes a varint count followed by each ticket.
+     */
+    public static void encode(List<TicketDto> ticketDtos, ByteBuffer out) {
+        writeVarint(out, ticketDtos.size());
+        for (TicketDto ticketDto : ticketDtos) {
+            encode(ticketDto, out);
+        }
+    }
+
+    /**
+     * Writes the tickets as a list, then the continuation token as a string (absent on the last page).
+     */
+    public static void encode(TicketPageDto page, ByteBuffer out) {
+        encode(page.getTickets(), out);
+        out.put((byte) (page.getContinuationToken() != null ? 1 : 0));
+        if (page.getContinuationToken() != null) {
+            writeString(out, page.getContinuationToken());
+        }
+    }
+
+    public static TicketDto decodeDto(ByteBuffer in) {
+        int fields = readHeader(in);
+        TicketDto ticketDto = new TicketDto();
+        ticketDto.setId((fields & ID) != 0 ? readVarint(in) : null);
+        if ((fields & VERSION) != 0) {
+            readVarint(in);
+        }
+        ticketDto.setStatus((fields & STATUS) != 0 ? STATUSES[in.get()] : null);
+        LocalDateTime createdDate = (fields & CREATED_DATE) != 0 ? readTimestamp(in, 0) : null;
+        long base = createdDate != null ? createdDate.toEpochSecond(ZoneOffset.UTC) : 0;
+        ticketDto.setCreatedDate(createdDate);
+        ticketDto.setAssignedDate((fields & ASSIGNED_DATE) != 0 ? readTimestamp(in, base) : null);
+        ticketDto.setResolvedDate((fields & RESOLVED_DATE) != 0 ? readTimestamp(in, base) : null);
+        ticketDto.setClosedDate((fields & CLOSED_DATE) != 0 ? readTimestamp(in, base) : null);
+        ticketDto.setDescription((fields & DESCRIPTION) != 0 ? readString(in) : null);
+        ticketDto.setResolutionSummary((fields & RESOLUTION_SUMMARY) != 0 ? readString(in) : null);
+        ticketDto.setAssignedAgentId((fields & AGENT) != 0 ? readVarint(in) : null);
+        return ticketDto;
+    }
+
+    /**
+     * Decodes a ticket, resolving its agent id through {@code agents}.
+     */
+    public static Ticket decodeTicket(ByteBuffer in, LongFunction<Agent> agents) {
+        int fields = readHeader(in);
+        Ticket ticket = new Ticket();
+        ticket.setId((fields & ID) != 0 ? readVarint(in) : null);
+        ticket.setVersion((fields & VERSION) != 0 ? readVarint(in) : null);
+        ticket.setStatus((fields & STATUS) != 0 ? STATUSES[in.get()] : null);
+        LocalDateTime createdDate = (fields & CREATED_DATE) != 0 ? readTimestamp(in, 0) : null;
+        long base = createdDate != null ? createdDate.toEpochSecond(ZoneOffset.UTC) : 0;
+        ticket.setCreatedDate(createdDate);
+        ticket.setAssignedDate((fields & ASSIGNED_DATE) != 0 ? readTimestamp(in, base) : null);
+        ticket.setResolvedDate((fields & RESOLVED_DATE) != 0 ? readTimestamp(in, base) : null);
+        ticket.setClosedDate((fields & CLOSED_DATE) != 0 ? readTimestamp(in, base) : null);
+        ticket.setDescription((fields & DESCRIPTION) != 0 ? readString(in) : null);
+        ticket.setResolutionSummary((fields & RESOLUTION_SUMMARY) != 0 ? readString(in) : null);
+        ticket.setAssignedAgent((fields & AGENT) != 0 ? agents.apply(readVarint(in)) : null);
+        return ticket;
+    }
+
+    public static List<TicketDto> decodeDtos(ByteBuffer in) {
+        // Every ticket takes at least one byte, so a larger count can only come from a malformed or hostile body.
+        long encodedCount = readVarint(in);
+        if (encodedCount < 0 || encodedCount > in.remaining()) {
+            throw new IllegalArgumentException("Ticket count " + encodedCount + " exceeds the remaining bytes");
+        }
+        int count = (int) encodedCount;
+        List<TicketDto> ticketDtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ticketDtos.add(decodeDto(in));
+        }
+        return ticketDtos;
+    }
+
+    public static TicketPageDto decodePage(ByteBuffer in) {
+        List<TicketDto> ticketDtos = decodeDtos(in);
+        return new TicketPageDto(ticketDtos, in.get() != 0 ? readString(in) : null);
+    }
+
+    private static void encode(ByteBuffer out, Long id, Long version, Status status, LocalDateTime createdDate,
+                               LocalDateTime assignedDate, LocalDateTime resolvedDate, LocalDateTime closedDate,
+                               String description, String resolutionSummary, Long agentId) {
+        int fields = (id != null ? ID : 0)
+                | (version != null ? VERSION : 0)
+                | (status != null ? STATUS : 0)
+                | (createdDate != null ? CREATED_DATE : 0)
+                | (assignedDate != null ? ASSIGNED_DATE : 0)
+                | (resolvedDate != null ? RESOLVED_DATE : 0)
+                | (closedDate != null ? CLOSED_DATE : 0)
+                | (description != null ? DESCRIPTION : 0)
+                | (resolutionSummary != null ? RESOLUTION_SUMMARY : 0)
+                | (agentId != null ? AGENT : 0);
+        out.put(FORMAT_VERSION);
+        writeVarint(out, fields);
+        if (id != null) {
+            writeVarint(out, id);
+        }
+        if (version != null) {
+            writeVarint(out, version);
+        }
+        if (status != null) {
+            out.put((byte) status.ordinal());
+        }
+        long base = 0;
+        if (createdDate != null) {
+            base = createdDate.toEpochSecond(ZoneOffset.UTC);
+            writeTimestamp(out, createdDate, 0);
+        }
+        if (assignedDate != null) {
+            writeTimestamp(out, assignedDate, base);
+        }
+        if (resolvedDate != null) {
+            writeTimestamp(out, resolvedDate, base);
+        }
+        if (closedDate != null) {
+            writeTimestamp(out, closedDate, base);
+        }
+        if (description != null) {
+            writeString(out, description);
+        }
+        if (resolutionSummary != null) {
+            writeString(out, resolutionSummary);
+        }
+        if (agentId != null) {
+            writeVarint(out, agentId);
+        }
+    }
+
+    private static int readHeader(ByteBuffer in) {
+        byte version = in.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported ticket format version " + version);
+        }
+        return (int) readVarint(in);
+    }
+
+    private static void writeTimestamp(ByteBuffer out, LocalDateTime value, long base) {
+        writeVarint(out, zigzag(value.toEpochSecond(ZoneOffset.UTC) - base));
+        writeVarint(out, value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer in, long base) {
+        long epochSecond = base + unzigzag(readVarint(in));
+        long nanos = readVarint(in);
+        try {
+            return LocalDateTime.ofEpochSecond(epochSecond, Math.toIntExact(nanos), ZoneOffset.UTC);
+        } catch (DateTimeException | ArithmeticException ex) {
+            throw new IllegalArgumentException("Timestamp out of range", ex);
+        }
+    }
+
+    private static int maxEncodedSize(String value) {
+        return value != null ? 3 * value.length() : 0;
+    }
+
+    // ASCII, by far the common case, is copied char by char without an intermediate byte array.
+    private static void writeString(ByteBuffer out, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length);
+                out.put(bytes);
+                return;
+            }
+        }
+        writeVarint(out, length);
+        for (int i = 0; i < length; i++) {
+            out.put((byte) value.charAt(i));
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        long encodedLength = readVarint(in);
+        if (encodedLength < 0 || encodedLength > in.remaining()) {
+            throw new IllegalArgumentException("String length " + encodedLength + " exceeds the remaining bytes");
+        }
+        int length = (int) encodedLength;
+        if (in.hasArray()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,119 @@
+package com.ticket.demo.benchmark;
+
+import com.ticket.TicketApplication;
+import com.ticket.adapters.jpa.AgentRepositoryJpa;
+import com.ticket.adapters.repository.AgentRepository;
+import com.ticket.cache.TicketCache;
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Agent;
+import com.ticket.events.TicketEventBus;
+import com.ticket.mapper.TicketMapper;
+import com.ticket.ports.repository.AgentRepositoryPort;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.ports.search.TicketSearchIndexPort;
+import com.ticket.service.TicketService;
+import com.ticket.util.LocalDateTimeProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures assigning an agent to a ticket with agents served from the in-memory snapshot versus loaded from the
+ * database on every call. The ticket is reset to NEW before each invocation, so both variants do the same work
+ * apart from the agent lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AgentAssignmentBenchmark {
+
+    private static final long TICKET_ID = 1L;
+    private static final long AGENT_ID = 1L;
+
+    @Param({"true", "false"})
+    private boolean snapshot;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private AgentRepositoryPort agentRepository;
+    private TicketService ticketService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicketApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:assignment-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkDataSeeder.seed(jdbcTemplate, 1);
+
+        AgentRepository snapshotRepository = context.getBean(AgentRepository.class);
+        snapshotRepository.refresh();
+        agentRepository = snapshot ? snapshotRepository : new DatabaseAgentRepository(context.getBean(AgentRepositoryJpa.class));
+        ticketService = new TicketService(
+                context.getBean(TicketRepositoryPort.class),
+                agentRepository,
+                context.getBean(TicketMapper.class),
+                context.getBean(TicketCache.class),
+                context.getBean(TicketEventBus.class),
+                context.getBean(TicketSearchIndexPort.class),
+                context.getBean(LocalDateTimeProvider.class),
+                500,
+                false);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetTicket() {
+        jdbcTemplate.update("UPDATE ticket SET status = 'NEW', assigned_agent_id = NULL WHERE id = ?", TICKET_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TicketDto assignAgent() {
+        return ticketService.assignAgentToTicket(TICKET_ID, AGENT_ID);
+    }
+
+    @Benchmark
+    public Optional<Agent> findAgent() {
+        return agentRepository.findById(AGENT_ID);
+    }
+
+    private static final class DatabaseAgentRepository implements AgentRepositoryPort {
+
+        private final AgentRepositoryJpa agentRepositoryJpa;
+
+        private DatabaseAgentRepository(AgentRepositoryJpa agentRepositoryJpa) {
+            this.agentRepositoryJpa = agentRepositoryJpa;
+        }
+
+        @Override
+        public Optional<Agent> findById(Long agentId) {
+            return agentRepositoryJpa.findById(agentId);
+        }
+
+        @Override
+        public Optional<Agent> findByName(String agentName) {
+            return agentRepositoryJpa.findAll().stream().filter(agent -> agent.getName().equals(agentName)).findFirst();
+        }
+
+        @Override
+        public List<Agent> findAll() {
+            return agentRepositoryJpa.findAll();
+        }
+    }
+}
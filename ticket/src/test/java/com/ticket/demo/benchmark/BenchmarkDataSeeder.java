@@ -0,0 +1,57 @@
+package com.ticket.demo.benchmark;
+
+import com.ticket.entity.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkDataSeeder {
+
+    public static final int AGENT_COUNT = 10;
+    public static final LocalDateTime FIRST_CREATED_DATE = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private BenchmarkDataSeeder() {}
+
+    public static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        for (long agentId = 1; agentId <= AGENT_COUNT; agentId++) {
+            jdbcTemplate.update("INSERT INTO agent (id, name) VALUES (?, ?)", agentId, agentName(agentId));
+        }
+
+        Status[] statuses = Status.values();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= rows; id++) {
+            Status status = statuses[(int) (id % statuses.length)];
+            Long agentId = status == Status.NEW ? null : id % AGENT_COUNT + 1;
+            batch.add(new Object[]{
+                    id,
+                    "Ticket " + id,
+                    status.name(),
+                    Timestamp.valueOf(FIRST_CREATED_DATE.plusMinutes(id)),
+                    agentId
+            });
+            if (batch.size() == BATCH_SIZE) {
+                insertTickets(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertTickets(jdbcTemplate, batch);
+        }
+    }
+
+    public static String agentName(long agentId) {
+        return String.format("Agent%03d", agentId);
+    }
+
+    private static void insertTickets(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO ticket (id, description, status, created_date, assigned_agent_id) VALUES (?, ?, ?, ?, ?)",
+                batch
+        );
+    }
+}
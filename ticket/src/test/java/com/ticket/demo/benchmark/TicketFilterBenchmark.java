@@ -0,0 +1,88 @@
+package com.ticket.demo.benchmark;
+
+import com.ticket.TicketApplication;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketFilterDto;
+import com.ticket.entity.Status;
+import com.ticket.ports.driver.TicketServicePort;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TicketServicePort#getTickets} for each combination of filter predicates. The date range covers
+ * the middle tenth of the seeded tickets, and the agent filter matches one agent in {@link BenchmarkDataSeeder#AGENT_COUNT}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TicketFilterBenchmark {
+
+    private static final List<Status> OPEN_STATUSES = List.of(Status.NEW, Status.IN_PROGRESS);
+    private static final long AGENT_ID = 1L;
+
+    @Param({"10000"})
+    private int rows;
+
+    @Param({"none", "status", "startDate", "endDate", "dateRange", "agent",
+            "status+dateRange", "status+agent", "dateRange+agent", "status+dateRange+agent"})
+    private String filter;
+
+    private ConfigurableApplicationContext context;
+    private TicketServicePort ticketService;
+    private TicketFilterDto ticketFilterDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicketApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:filter-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        BenchmarkDataSeeder.seed(context.getBean(JdbcTemplate.class), rows);
+        ticketService = context.getBean(TicketServicePort.class);
+        ticketFilterDto = toFilter(filter);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TicketDto> getTickets() {
+        return ticketService.getTickets(ticketFilterDto);
+    }
+
+    private TicketFilterDto toFilter(String filter) {
+        LocalDateTime startDate = BenchmarkDataSeeder.FIRST_CREATED_DATE.plusMinutes(rows * 45L / 100);
+        LocalDateTime endDate = BenchmarkDataSeeder.FIRST_CREATED_DATE.plusMinutes(rows * 55L / 100);
+
+        TicketFilterDto ticketFilterDto = new TicketFilterDto();
+        for (String predicate : filter.split("\\+")) {
+            switch (predicate) {
+                case "none" -> { }
+                case "status" -> ticketFilterDto.setStatus(OPEN_STATUSES);
+                case "startDate" -> ticketFilterDto.setStartDate(startDate);
+                case "endDate" -> ticketFilterDto.setEndDate(endDate);
+                case "dateRange" -> {
+                    ticketFilterDto.setStartDate(startDate);
+                    ticketFilterDto.setEndDate(endDate);
+                }
+                case "agent" -> ticketFilterDto.setAssignedAgentId(AGENT_ID);
+                default -> throw new IllegalArgumentException("Unknown filter predicate: " + predicate);
+            }
+        }
+        return ticketFilterDto;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ticket.demo.benchmark;
+
+import com.ticket.TicketApplication;
+import com.ticket.dto.BatchResultDto;
+import com.ticket.dto.TicketDto;
+import com.ticket.ports.driver.TicketServicePort;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares creating tickets one call at a time with the chunked batch ingestion path on H2.
+ * Each operation ingests {@code tickets} tickets, so the score is the time per burst.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TicketIngestionBenchmark {
+
+    @Param({"1000"})
+    private int tickets;
+
+    private ConfigurableApplicationContext context;
+    private TicketServicePort ticketService;
+    private List<TicketDto> ticketDtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicketApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:ingestion-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        ticketService = context.getBean(TicketServicePort.class);
+
+        ticketDtos = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            ticketDtos.add(new TicketDto(null, "Ingested ticket " + i, null, null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleCreate(Blackhole blackhole) {
+        for (TicketDto ticketDto : ticketDtos) {
+            blackhole.consume(ticketService.createTicket(ticketDto, LocalDateTime.now()));
+        }
+    }
+
+    @Benchmark
+    public BatchResultDto batchCreate() {
+        return ticketService.createTickets(ticketDtos, LocalDateTime.now());
+    }
+}
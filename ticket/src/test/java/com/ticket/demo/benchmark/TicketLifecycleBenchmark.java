@@ -0,0 +1,67 @@
+package com.ticket.demo.benchmark;
+
+import com.ticket.TicketApplication;
+import com.ticket.dto.TicketDto;
+import com.ticket.ports.driver.TicketServicePort;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the write paths of {@link TicketServicePort} through the Spring proxy, so transactions, caching and
+ * metrics are included: creating a ticket, and taking a new ticket through assign, update with a resolution summary, resolve and close.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TicketLifecycleBenchmark {
+
+    private static final long AGENT_ID = 1L;
+
+    private ConfigurableApplicationContext context;
+    private TicketServicePort ticketService;
+    private TicketDto newTicket;
+    private TicketDto resolution;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicketApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:lifecycle-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        BenchmarkDataSeeder.seed(context.getBean(JdbcTemplate.class), 0);
+        ticketService = context.getBean(TicketServicePort.class);
+        newTicket = new TicketDto(null, "Benchmark ticket", null, null);
+        resolution = new TicketDto(null, "Benchmark ticket", null, null);
+        resolution.setResolutionSummary("Resolved by benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TicketDto createTicket() {
+        return ticketService.createTicket(newTicket, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public TicketDto fullLifecycle() {
+        Long ticketId = ticketService.createTicket(newTicket, LocalDateTime.now()).getId();
+        ticketService.assignAgentToTicket(ticketId, AGENT_ID);
+        ticketService.updateTicket(ticketId, resolution);
+        ticketService.resolveTicket(ticketId);
+        return ticketService.closeTicket(ticketId);
+    }
+}
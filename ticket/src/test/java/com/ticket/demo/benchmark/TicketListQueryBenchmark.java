@@ -0,0 +1,67 @@
+package com.ticket.demo.benchmark;
+
+import com.ticket.TicketApplication;
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.mapper.TicketMapper;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the entity + mapper list path against the {@link TicketDto} projection path of the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TicketListQueryBenchmark {
+
+    private static final List<Status> OPEN_STATUSES = List.of(Status.NEW, Status.IN_PROGRESS);
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TicketRepositoryPort ticketRepository;
+    private TicketMapper ticketMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TicketApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:list-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        BenchmarkDataSeeder.seed(context.getBean(JdbcTemplate.class), rows);
+        ticketRepository = context.getBean(TicketRepositoryPort.class);
+        ticketMapper = context.getBean(TicketMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TicketDto> entityPath() {
+        return ticketRepository.findWithFilters(OPEN_STATUSES, null, null, null).stream()
+                .map(ticketMapper::convertToTicketDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<TicketDto> projectionPath() {
+        return ticketRepository.findDtosWithFilters(OPEN_STATUSES, null, null, null);
+    }
+}
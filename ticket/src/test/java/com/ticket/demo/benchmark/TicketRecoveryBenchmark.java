@@ -0,0 +1,77 @@
+package com.ticket.demo.benchmark;
+
+import com.ticket.adapters.memory.InMemoryTicketRepository;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+import com.ticket.ports.repository.AgentRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures how long the journaled in-memory repository takes to start on a store of {@code tickets} tickets: loading
+ * the snapshot and replaying a log tail of {@code tailChanges} assignments written after it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TicketRecoveryBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"1000000"})
+    private int tickets;
+
+    @Param({"100000"})
+    private int tailChanges;
+
+    private Path dataDir;
+    private AgentRepositoryPort agentRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("ticket-recovery-benchmark");
+        agentRepository = mock(AgentRepositoryPort.class);
+        when(agentRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(new Agent(invocation.getArgument(0), "Agent")));
+        InMemoryTicketRepository repository = open(false);
+        for (int i = 0; i < tickets; i++) {
+            repository.save(new Ticket(null, "Recovered ticket " + i, Status.NEW, START.plusSeconds(i)));
+        }
+        repository.snapshot();
+        for (int i = 1; i <= tailChanges; i++) {
+            repository.compareAndAssignAgent((long) i, new Agent((long) (i % 50), "Agent" + (i % 50)), START);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    public InMemoryTicketRepository recover() {
+        return open(true);
+    }
+
+    private InMemoryTicketRepository open(boolean sync) {
+        return new InMemoryTicketRepository(agentRepository, new SimpleMeterRegistry(), dataDir.toString(),
+                DataSize.ofMegabytes(64), sync, DataSize.ofGigabytes(1));
+    }
+}
@@ -0,0 +1,74 @@
+package com.ticket.demo.benchmark;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.ports.search.TicketSearchHit;
+import com.ticket.search.TicketSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures full-text queries against the in-memory search index without a database. Descriptions draw words from a
+ * skewed vocabulary, so "common" terms occur in a large share of tickets and "rare" ones in a few hundred.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class TicketSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_TICKET = 12;
+    private static final Status[] STATUSES = Status.values();
+
+    @Param({"100000", "1000000"})
+    private int tickets;
+
+    private TicketSearchIndex ticketSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ticketSearchIndex = new TicketSearchIndex(null, null, new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime createdDate = BenchmarkDataSeeder.FIRST_CREATED_DATE;
+        StringBuilder description = new StringBuilder();
+        for (long id = 1; id <= tickets; id++) {
+            description.setLength(0);
+            for (int w = 0; w < WORDS_PER_TICKET; w++) {
+                description.append(word(random)).append(' ');
+            }
+            TicketDto ticketDto = new TicketDto(id, description.toString(), STATUSES[(int) (id % STATUSES.length)],
+                    createdDate.plusMinutes(id));
+            ticketDto.setAssignedAgentId(id % 50);
+            ticketSearchIndex.index(ticketDto, 0);
+        }
+    }
+
+    @Benchmark
+    public List<TicketSearchHit> commonTerm() {
+        return ticketSearchIndex.search("w1", null, null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<TicketSearchHit> commonAndRareTerms() {
+        return ticketSearchIndex.search("w2 w900", null, null, null, null, 20);
+    }
+
+    @Benchmark
+    public List<TicketSearchHit> twoCommonTermsWithFilters() {
+        return ticketSearchIndex.search("w1 w3", List.of(Status.NEW, Status.IN_PROGRESS), null, null, 7L, 20);
+    }
+
+    // Squaring a uniform draw skews it toward small indexes: w1 is in about a third of all tickets.
+    private static String word(SplittableRandom random) {
+        double u = random.nextDouble();
+        return "w" + (1 + (int) (u * u * u * VOCABULARY));
+    }
+}
@@ -0,0 +1,102 @@
+package com.ticket.demo.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+import com.ticket.mapper.TicketMapper;
+import com.ticket.util.TicketCodec;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory hot paths without a database: mapping a {@link Ticket} to a {@link TicketDto}, and
+ * serializing and deserializing a list of {@link TicketDto} with a Jackson mapper configured the way Spring Boot
+ * configures it and with {@link TicketCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TicketSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int tickets;
+
+    private TicketMapper ticketMapper;
+    private ObjectMapper objectMapper;
+    private Ticket ticket;
+    private List<TicketDto> ticketDtos;
+    private byte[] json;
+    private ByteBuffer binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        ticketMapper = Mappers.getMapper(TicketMapper.class);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime createdDate = BenchmarkDataSeeder.FIRST_CREATED_DATE;
+        Agent agent = new Agent(1L, BenchmarkDataSeeder.agentName(1L));
+        ticket = new Ticket();
+        ticket.setId(1L);
+        ticket.setDescription("Ticket 1");
+        ticket.setStatus(Status.IN_PROGRESS);
+        ticket.setCreatedDate(createdDate);
+        ticket.setAssignedAgent(agent);
+
+        ticketDtos = new ArrayList<>(tickets);
+        for (long id = 1; id <= tickets; id++) {
+            TicketDto ticketDto = new TicketDto(id, "Ticket " + id, Status.IN_PROGRESS, createdDate.plusMinutes(id));
+            ticketDto.setAssignedAgentId(agent.getId());
+            ticketDto.setAssignedAgent(agent.getName());
+            ticketDtos.add(ticketDto);
+        }
+
+        json = objectMapper.writeValueAsBytes(ticketDtos);
+        binary = ByteBuffer.allocate(TicketCodec.maxEncodedSize(ticketDtos));
+        TicketCodec.encode(ticketDtos, binary);
+        binary.flip();
+    }
+
+    @Benchmark
+    public TicketDto convertToTicketDto() {
+        return ticketMapper.convertToTicketDto(ticket);
+    }
+
+    @Benchmark
+    public byte[] serializeTicketList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ticketDtos);
+    }
+
+    // Sized and allocated per call, as the HTTP converter does.
+    @Benchmark
+    public ByteBuffer serializeTicketListBinary() {
+        ByteBuffer buffer = ByteBuffer.allocate(TicketCodec.maxEncodedSize(ticketDtos));
+        TicketCodec.encode(ticketDtos, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public List<TicketDto> deserializeTicketList() throws IOException {
+        return objectMapper.readValue(json, new TypeReference<List<TicketDto>>() {
+        });
+    }
+
+    @Benchmark
+    public List<TicketDto> deserializeTicketListBinary() {
+        return TicketCodec.decodeDtos(binary.duplicate());
+    }
+}
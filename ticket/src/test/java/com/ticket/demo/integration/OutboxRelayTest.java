@@ -0,0 +1,154 @@
+package com.ticket.demo.integration;
+
+import com.ticket.adapters.publisher.InMemoryTicketEventPublisher;
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.OutboxEvent;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+import com.ticket.events.OutboxRelay;
+import com.ticket.events.TicketEventType;
+import com.ticket.ports.driver.TicketServicePort;
+import com.ticket.ports.repository.ReactiveTicketRepositoryPort;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "ticket.outbox.publisher=in-memory",
+        "ticket.outbox.relay.batch-size=10",
+        "ticket.outbox.relay.interval-ms=3600000"
+})
+public class OutboxRelayTest {
+
+    private static final long AGENT_ID = 7201L;
+
+    @Autowired
+    private TicketServicePort ticketService;
+    @Autowired
+    private TicketRepositoryPort ticketRepository;
+    @Autowired
+    private ReactiveTicketRepositoryPort reactiveTicketRepository;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private InMemoryTicketEventPublisher publisher;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("MERGE INTO agent (id, name) KEY (id) VALUES (?, ?)", AGENT_ID, "OutboxAgent");
+        drain();
+        publisher.clear();
+    }
+
+    @Test
+    void givenTicketLifecycle_whenRelaying_thenEachCommittedChangeIsPublishedOnceInOrder() {
+        TicketDto ticket = ticketService.createTicket(new TicketDto(null, "Outbox ticket", null, null), LocalDateTime.now());
+        ticketService.assignAgentToTicket(ticket.getId(), AGENT_ID);
+        ticketService.resolveTicket(ticket.getId());
+
+        drain();
+
+        List<OutboxEvent> published = publisher.getPublished();
+        assertEquals(List.of(TicketEventType.CREATED, TicketEventType.ASSIGNED, TicketEventType.RESOLVED),
+                published.stream().map(OutboxEvent::getType).toList());
+        assertEquals(Status.IN_PROGRESS, published.get(2).getPreviousStatus());
+        assertEquals(AGENT_ID, published.get(2).getAssignedAgentId());
+        assertEquals(0, outboxRelay.relayBatch());
+    }
+
+    @Test
+    void givenConditionalUpdate_whenRelaying_thenEventCarriesTheTicketsAgent() {
+        TicketDto ticket = ticketService.createTicket(new TicketDto(null, "Conditional outbox ticket", null, null), LocalDateTime.now());
+        ticketService.assignAgentToTicket(ticket.getId(), AGENT_ID);
+        LocalDateTime resolvedDate = LocalDateTime.now();
+        assertTrue(ticketRepository.compareAndSetStatus(ticket.getId(), Status.IN_PROGRESS, Status.RESOLVED, resolvedDate));
+        assertFalse(ticketRepository.compareAndSetStatus(ticket.getId(), Status.IN_PROGRESS, Status.RESOLVED, resolvedDate));
+
+        drain();
+
+        OutboxEvent resolved = publisher.getPublished().get(2);
+        assertEquals(TicketEventType.RESOLVED, resolved.getType());
+        assertEquals(AGENT_ID, resolved.getAssignedAgentId());
+        assertEquals(3, publisher.getPublished().size());
+    }
+
+    @Test
+    void givenReactiveWrites_whenRelaying_thenOnlyCommittedChangesArePublished() {
+        TicketDto ticket = reactiveTicketRepository.insert("Reactive outbox ticket", Status.NEW, LocalDateTime.now()).block();
+        assertNotNull(ticket);
+        assertEquals(Boolean.TRUE,
+                reactiveTicketRepository.compareAndAssignAgent(ticket.getId(), AGENT_ID, LocalDateTime.now()).block());
+        assertEquals(Boolean.FALSE, reactiveTicketRepository.compareAndClose(ticket.getId(), LocalDateTime.now()).block());
+
+        drain();
+
+        List<OutboxEvent> published = publishedFor(ticket.getId());
+        assertEquals(List.of(TicketEventType.CREATED, TicketEventType.ASSIGNED),
+                published.stream().map(OutboxEvent::getType).toList());
+        assertEquals(Status.NEW, published.get(1).getPreviousStatus());
+        assertEquals(AGENT_ID, published.get(1).getAssignedAgentId());
+    }
+
+    @Test
+    void givenImportedTicket_whenRelaying_thenItIsPublishedAsCreatedInItsImportedStatus() {
+        Ticket imported = ticketRepository.importAll(List.of(
+                new Ticket(null, "Imported outbox ticket", Status.CLOSED, LocalDateTime.of(2019, 5, 1, 9, 0)))).get(0);
+
+        drain();
+
+        List<OutboxEvent> published = publishedFor(imported.getId());
+        assertEquals(1, published.size());
+        assertEquals(TicketEventType.CREATED, published.get(0).getType());
+        assertEquals(Status.CLOSED, published.get(0).getStatus());
+    }
+
+    @Test
+    void givenConcurrentRelays_whenDrainingBacklog_thenNoEventIsPublishedTwice() throws Exception {
+        for (int i = 0; i < 95; i++) {
+            ticketService.createTicket(new TicketDto(null, "Backlog " + i, null, null), LocalDateTime.now());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> relays = List.of(
+                    executor.submit(this::drain), executor.submit(this::drain),
+                    executor.submit(this::drain), executor.submit(this::drain));
+            for (Future<?> relay : relays) {
+                relay.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Long> ids = publisher.getPublished().stream().map(OutboxEvent::getId).toList();
+        assertEquals(95, ids.size());
+        assertEquals(95, ids.stream().distinct().count());
+        assertTrue(meterRegistry.get("ticket.outbox.lag").timer().count() >= 95);
+    }
+
+    private List<OutboxEvent> publishedFor(Long ticketId) {
+        return publisher.getPublished().stream().filter(event -> ticketId.equals(event.getTicketId())).toList();
+    }
+
+    private void drain() {
+        while (outboxRelay.relayBatch() > 0) {
+            // Other relays may still hold locked rows; keep going until nothing is left for this one.
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.ticket.demo.integration;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.ports.driver.TicketServicePort;
+import com.ticket.util.ErrorMessages;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReactiveTicketControllerTest {
+
+    private static final long AGENT_ID = 7001L;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private TicketServicePort ticketService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setup() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port + "/reactive/tickets")
+                .responseTimeout(Duration.ofSeconds(30))
+                .build();
+        jdbcTemplate.update("MERGE INTO agent (id, name) KEY (id) VALUES (?, ?)", AGENT_ID, "ReactiveAgent");
+    }
+
+    @Test
+    void givenTicketCreatedReactively_whenReadingThroughBlockingPort_thenSameTicketIsReturned() {
+        TicketDto created = createTicket("Reactive ticket");
+
+        TicketDto loaded = ticketService.getTicketById(created.getId());
+
+        assertEquals(Status.NEW, created.getStatus());
+        assertEquals("Reactive ticket", loaded.getDescription());
+    }
+
+    @Test
+    void givenTickets_whenStreamingNdjson_thenFilteredTicketsArriveInCreationOrder() {
+        TicketDto first = createTicket("Streamed 1");
+        TicketDto second = createTicket("Streamed 2");
+        webTestClient.put().uri("/{id}/agent/{agentId}", first.getId(), AGENT_ID).exchange().expectStatus().isOk();
+
+        List<TicketDto> streamed = webTestClient.get()
+                .uri(uri -> uri.queryParam("assignedAgentId", AGENT_ID).build())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(TicketDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(streamed);
+        assertTrue(streamed.stream().anyMatch(ticket -> ticket.getId().equals(first.getId())));
+        assertTrue(streamed.stream().noneMatch(ticket -> ticket.getId().equals(second.getId())));
+        assertTrue(streamed.stream().allMatch(ticket -> "ReactiveAgent".equals(ticket.getAssignedAgent())));
+    }
+
+    @Test
+    void givenResolvedTicketWithoutSummary_whenClosing_thenBadRequestIsReturned() {
+        TicketDto ticket = createTicket("Lifecycle");
+        webTestClient.put().uri("/{id}/agent/{agentId}", ticket.getId(), AGENT_ID).exchange().expectStatus().isOk();
+        webTestClient.put().uri("/{id}/resolve", ticket.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody(TicketDto.class).value(resolved -> assertEquals(Status.RESOLVED, resolved.getStatus()));
+
+        webTestClient.put().uri("/{id}/close", ticket.getId()).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo(ErrorMessages.RESOLUTION_SUMMARY_REQUIRED);
+    }
+
+    @Test
+    void givenWaitingClient_whenTicketIsAssignedThroughBlockingPort_thenLongPollCompletesWithNewStatus() {
+        TicketDto ticket = createTicket("Long poll");
+
+        CompletableFuture<TicketDto> change = CompletableFuture.supplyAsync(() -> webTestClient.get()
+                .uri(uri -> uri.path("/{id}/changes").queryParam("status", "NEW").build(ticket.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TicketDto.class)
+                .returnResult()
+                .getResponseBody());
+        Mono.delay(Duration.ofMillis(300)).block();
+        assertFalse(change.isDone());
+        ticketService.assignAgentToTicket(ticket.getId(), AGENT_ID);
+
+        assertEquals(Status.IN_PROGRESS, change.join().getStatus());
+    }
+
+    @Test
+    void givenUnchangedTicket_whenLongPollTimesOut_thenUnchangedTicketIsReturned() {
+        TicketDto ticket = createTicket("Idle");
+
+        webTestClient.get()
+                .uri(uri -> uri.path("/{id}/changes")
+                        .queryParam("status", "NEW")
+                        .queryParam("timeout", "PT1S")
+                        .build(ticket.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TicketDto.class).value(unchanged -> assertEquals(Status.NEW, unchanged.getStatus()));
+    }
+
+    @Test
+    void givenInterleavedBlockingAndReactiveCreates_whenSpanningSeveralIdBlocks_thenEveryTicketGetsItsOwnId() {
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 120; i++) {
+            TicketDto blocking = ticketService.createTicket(new TicketDto(null, "Blocking " + i, null, null),
+                    LocalDateTime.now());
+            TicketDto reactive = createTicket("Reactive " + i);
+            assertTrue(ids.add(blocking.getId()));
+            assertTrue(ids.add(reactive.getId()));
+            assertEquals("Reactive " + i, ticketService.getTicketById(reactive.getId()).getDescription());
+        }
+    }
+
+    @Test
+    void givenUnknownTicket_whenGettingReactively_thenNotFoundIsReturned() {
+        webTestClient.get().uri("/{id}", 999_999L).exchange().expectStatus().isNotFound();
+    }
+
+    private TicketDto createTicket(String description) {
+        return webTestClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TicketDto(null, description, null, null))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TicketDto.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ticket.demo.integration;
+
+import com.ticket.dto.TicketAggregateDto;
+import com.ticket.dto.TicketFilterDto;
+import com.ticket.dto.TicketGrouping;
+import com.ticket.entity.Status;
+import com.ticket.ports.driver.TicketServicePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Aggregates a fixed set of tickets created in 2001, a year no other test writes to.
+ */
+@SpringBootTest
+public class TicketAggregateTest {
+
+    private static final long FIRST_TICKET_ID = 2_000_000L;
+    private static final long AGENT_ID = 7301L;
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(2001, 3, 1, 0, 0);
+    private static final LocalDateTime DAY_TWO = DAY_ONE.plusDays(1);
+
+    @Autowired
+    private TicketServicePort ticketService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM ticket WHERE id >= ? AND id < ?", FIRST_TICKET_ID, FIRST_TICKET_ID + 100);
+        jdbcTemplate.update("MERGE INTO agent (id, name) KEY (id) VALUES (?, ?)", AGENT_ID, "AggregateAgent");
+        insert(0, Status.NEW, DAY_ONE.plusHours(9).plusMinutes(5), null);
+        insert(1, Status.NEW, DAY_ONE.plusHours(9).plusMinutes(40), null);
+        insert(2, Status.IN_PROGRESS, DAY_ONE.plusHours(10), AGENT_ID);
+        insert(3, Status.IN_PROGRESS, DAY_TWO.plusHours(9), AGENT_ID);
+        insert(4, Status.RESOLVED, DAY_TWO.plusHours(11), AGENT_ID);
+    }
+
+    @Test
+    void givenStatusAndAgentGrouping_whenAggregating_thenOneRowPerGroupIsReturned() {
+        List<TicketAggregateDto> aggregates = ticketService.aggregateTickets(filter(null),
+                Set.of(TicketGrouping.STATUS, TicketGrouping.AGENT));
+
+        assertEquals(List.of(
+                new TicketAggregateDto(Status.IN_PROGRESS, AGENT_ID, null, 2),
+                new TicketAggregateDto(Status.NEW, null, null, 2),
+                new TicketAggregateDto(Status.RESOLVED, AGENT_ID, null, 1)
+        ), aggregates.stream()
+                .sorted((a, b) -> a.getStatus().name().compareTo(b.getStatus().name()))
+                .toList());
+    }
+
+    @Test
+    void givenHourGroupingAndStatusFilter_whenAggregating_thenTicketsAreCountedPerHourBucket() {
+        List<TicketAggregateDto> aggregates = ticketService.aggregateTickets(
+                filter(List.of(Status.NEW, Status.IN_PROGRESS)), Set.of(TicketGrouping.HOUR));
+
+        assertEquals(List.of(
+                new TicketAggregateDto(null, null, DAY_ONE.plusHours(9), 2),
+                new TicketAggregateDto(null, null, DAY_ONE.plusHours(10), 1),
+                new TicketAggregateDto(null, null, DAY_TWO.plusHours(9), 1)
+        ), aggregates);
+    }
+
+    @Test
+    void givenDayGroupingAndNoOtherDimension_whenAggregating_thenTicketsAreCountedPerDay() {
+        List<TicketAggregateDto> aggregates = ticketService.aggregateTickets(filter(null), Set.of(TicketGrouping.DAY));
+
+        assertEquals(List.of(
+                new TicketAggregateDto(null, null, DAY_ONE, 3),
+                new TicketAggregateDto(null, null, DAY_TWO, 2)
+        ), aggregates);
+    }
+
+    @Test
+    void givenNoGrouping_whenAggregating_thenSingleTotalIsReturned() {
+        List<TicketAggregateDto> aggregates = ticketService.aggregateTickets(filter(null), Set.of());
+
+        assertEquals(List.of(new TicketAggregateDto(null, null, null, 5)), aggregates);
+    }
+
+    private TicketFilterDto filter(List<Status> statuses) {
+        return new TicketFilterDto(statuses, DAY_ONE, DAY_TWO.plusDays(1), null);
+    }
+
+    private void insert(int offset, Status status, LocalDateTime createdDate, Long agentId) {
+        jdbcTemplate.update("INSERT INTO ticket (id, description, status, created_date, assigned_agent_id) VALUES (?, ?, ?, ?, ?)",
+                FIRST_TICKET_ID + offset, "Aggregate " + offset, status.name(), Timestamp.valueOf(createdDate), agentId);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ticket.demo.integration;
+
+import com.ticket.dto.TicketAggregateDto;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketFilterDto;
+import com.ticket.dto.TicketGrouping;
+import com.ticket.dto.TicketPageDto;
+import com.ticket.entity.Status;
+import com.ticket.ports.driver.TicketServicePort;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archives tickets created in 2002, a year no other test writes to, with a cutoff that leaves every other test's
+ * tickets live.
+ */
+@SpringBootTest(properties = "ticket.archive.enabled=false")
+public class TicketArchiveTest {
+
+    private static final long FIRST_TICKET_ID = 3_000_000L;
+    private static final long AGENT_ID = 7401L;
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(2002, 3, 1, 0, 0);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2002, 6, 1, 0, 0);
+
+    @Autowired
+    private TicketServicePort ticketService;
+    @Autowired
+    private TicketRepositoryPort ticketRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM ticket WHERE id >= ? AND id < ?", FIRST_TICKET_ID, FIRST_TICKET_ID + 100);
+        jdbcTemplate.update("DELETE FROM archived_ticket WHERE id >= ? AND id < ?", FIRST_TICKET_ID, FIRST_TICKET_ID + 100);
+        jdbcTemplate.update("MERGE INTO agent (id, name) KEY (id) VALUES (?, ?)", AGENT_ID, "ArchiveAgent");
+        insert(0, Status.CLOSED, DAY_ONE.plusHours(1));
+        insert(1, Status.RESOLVED, DAY_ONE.plusHours(2));
+        insert(2, Status.CLOSED, DAY_ONE.plusHours(3));
+        insert(3, Status.CLOSED, DAY_ONE.plusHours(4));
+        insert(4, Status.CLOSED, CUTOFF.plusDays(1));
+    }
+
+    @Test
+    void givenOldClosedTickets_whenArchiving_thenTheyMoveInBoundedBatches() {
+        assertEquals(2, ticketRepository.archiveClosedBefore(CUTOFF, 2));
+        assertEquals(1, ticketRepository.archiveClosedBefore(CUTOFF, 2));
+        assertEquals(0, ticketRepository.archiveClosedBefore(CUTOFF, 2));
+
+        assertEquals(List.of(FIRST_TICKET_ID + 1, FIRST_TICKET_ID + 4), idsIn("ticket"));
+        assertEquals(List.of(FIRST_TICKET_ID, FIRST_TICKET_ID + 2, FIRST_TICKET_ID + 3), idsIn("archived_ticket"));
+    }
+
+    @Test
+    void givenArchivedTickets_whenReading_thenFiltersThatCanMatchThemIncludeTheArchive() {
+        ticketRepository.archiveClosedBefore(CUTOFF, 10);
+
+        TicketDto archived = ticketService.getTicketById(FIRST_TICKET_ID + 2);
+        assertEquals(Status.CLOSED, archived.getStatus());
+        assertEquals("ArchiveAgent", archived.getAssignedAgent());
+        assertEquals("Archived 2", archived.getResolutionSummary());
+
+        assertEquals(List.of(FIRST_TICKET_ID, FIRST_TICKET_ID + 1, FIRST_TICKET_ID + 2, FIRST_TICKET_ID + 3,
+                        FIRST_TICKET_ID + 4),
+                ticketService.getTickets(filter(null)).stream().map(TicketDto::getId).toList());
+        assertEquals(List.of(FIRST_TICKET_ID + 1),
+                ticketService.getTickets(filter(List.of(Status.RESOLVED))).stream().map(TicketDto::getId).toList());
+
+        assertEquals(List.of(
+                new TicketAggregateDto(Status.CLOSED, null, null, 4),
+                new TicketAggregateDto(Status.RESOLVED, null, null, 1)
+        ), ticketService.aggregateTickets(filter(null), Set.of(TicketGrouping.STATUS)));
+    }
+
+    @Test
+    void givenArchivedTickets_whenPaging_thenLiveAndArchivedTicketsInterleaveInCreationOrder() {
+        ticketRepository.archiveClosedBefore(CUTOFF, 10);
+
+        List<Long> ids = new ArrayList<>();
+        TicketFilterDto filter = filter(null);
+        filter.setLimit(2);
+        TicketPageDto page;
+        do {
+            page = ticketService.getTicketPage(filter);
+            page.getTickets().forEach(ticket -> ids.add(ticket.getId()));
+            filter.setContinuationToken(page.getContinuationToken());
+        } while (page.getContinuationToken() != null);
+
+        assertEquals(List.of(FIRST_TICKET_ID, FIRST_TICKET_ID + 1, FIRST_TICKET_ID + 2, FIRST_TICKET_ID + 3,
+                FIRST_TICKET_ID + 4), ids);
+    }
+
+    private TicketFilterDto filter(List<Status> statuses) {
+        return new TicketFilterDto(statuses, DAY_ONE, CUTOFF.plusDays(2), null);
+    }
+
+    private List<Long> idsIn(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id >= ? AND id < ? ORDER BY id",
+                Long.class, FIRST_TICKET_ID, FIRST_TICKET_ID + 100);
+    }
+
+    private void insert(int offset, Status status, LocalDateTime createdDate) {
+        jdbcTemplate.update("INSERT INTO ticket (id, description, status, created_date, resolution_summary, " +
+                        "assigned_agent_id) VALUES (?, ?, ?, ?, ?, ?)",
+                FIRST_TICKET_ID + offset, "Archive " + offset, status.name(), Timestamp.valueOf(createdDate),
+                "Archived " + offset, AGENT_ID);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ticket.demo.integration;
+
+import com.ticket.controller.TicketBinaryHttpMessageConverter;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketPageDto;
+import com.ticket.entity.Status;
+import com.ticket.util.TicketCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TicketBinaryContentTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void givenBinaryAcceptHeader_whenCreatingAndReadingTickets_thenBodiesAreBinaryAndJsonStaysTheDefault()
+            throws Exception {
+        TicketDto request = new TicketDto(null, "Binary client ticket", null, null);
+        ByteBuffer requestBody = ByteBuffer.allocate(TicketCodec.maxEncodedSize(request));
+        TicketCodec.encode(request, requestBody);
+
+        byte[] created = mockMvc.perform(post("/tickets")
+                        .contentType(TicketBinaryHttpMessageConverter.MEDIA_TYPE)
+                        .accept(TicketBinaryHttpMessageConverter.MEDIA_TYPE)
+                        .content(requestBody.flip().array()))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(TicketBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+        TicketDto createdTicket = TicketCodec.decodeDto(ByteBuffer.wrap(created));
+        assertEquals("Binary client ticket", createdTicket.getDescription());
+        assertEquals(Status.NEW, createdTicket.getStatus());
+
+        byte[] page = mockMvc.perform(get("/tickets")
+                        .param("status", "NEW")
+                        .accept(TicketBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        TicketPageDto ticketPage = TicketCodec.decodePage(ByteBuffer.wrap(page));
+        assertTrue(ticketPage.getTickets().stream().anyMatch(ticket -> ticket.getId().equals(createdTicket.getId())));
+
+        mockMvc.perform(get("/tickets/{id}", createdTicket.getId()).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.description").value("Binary client ticket"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.ticket.demo.integration;
+
+import com.ticket.adapters.repository.AgentRepository;
+import com.ticket.cache.TicketCache;
+import com.ticket.entity.Status;
+import com.ticket.events.TicketEventBus;
+import com.ticket.exception.InvalidTicketStateException;
+import com.ticket.exception.TicketConflictException;
+import com.ticket.mapper.TicketMapper;
+import com.ticket.ports.driver.TicketServicePort;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.ports.search.TicketSearchIndexPort;
+import com.ticket.service.TicketService;
+import com.ticket.util.LocalDateTimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races several threads on the same IN_PROGRESS tickets and checks that every ticket is resolved exactly once.
+ */
+@SpringBootTest
+public class TicketContentionTest {
+
+    private static final long FIRST_TICKET_ID = 1_000_000L;
+    private static final int TICKETS = 200;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private TicketServicePort ticketService;
+    @Autowired
+    private TicketRepositoryPort ticketRepository;
+    @Autowired
+    private AgentRepository agentRepository;
+    @Autowired
+    private TicketMapper ticketMapper;
+    @Autowired
+    private TicketCache ticketCache;
+    @Autowired
+    private TicketEventBus ticketEventBus;
+    @Autowired
+    private TicketSearchIndexPort ticketSearchIndex;
+    @Autowired
+    private LocalDateTimeProvider localDateTimeProvider;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM ticket WHERE id >= ?", FIRST_TICKET_ID);
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = FIRST_TICKET_ID; id < FIRST_TICKET_ID + TICKETS; id++) {
+            rows.add(new Object[]{id, "Ticket " + id, Status.IN_PROGRESS.name(), Timestamp.valueOf(LocalDateTime.now())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ticket (id, description, status, created_date) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void givenConcurrentResolves_whenUsingOptimisticVersioning_thenEachTicketIsResolvedExactlyOnce() throws Exception {
+        assertEachTicketResolvedOnce("optimistic versioning", ticketService::resolveTicket);
+    }
+
+    @Test
+    void givenConcurrentResolves_whenUsingConditionalUpdates_thenEachTicketIsResolvedExactlyOnce() throws Exception {
+        TicketService conditionalTicketService = new TicketService(ticketRepository, agentRepository, ticketMapper,
+                ticketCache, ticketEventBus, ticketSearchIndex, localDateTimeProvider, 500, true);
+
+        assertEachTicketResolvedOnce("conditional update", conditionalTicketService::resolveTicket);
+    }
+
+    private void assertEachTicketResolvedOnce(String mode, Consumer<Long> resolve) throws Exception {
+        AtomicInteger resolved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (long id = FIRST_TICKET_ID; id < FIRST_TICKET_ID + TICKETS; id++) {
+                    try {
+                        resolve.accept(id);
+                        resolved.incrementAndGet();
+                    } catch (InvalidTicketStateException | TicketConflictException | OptimisticLockingFailureException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(1, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        int attempts = TICKETS * THREADS;
+        System.out.printf("%s: %d transition attempts in %d ms (%.0f attempts/s), %d resolved, %d rejected%n",
+                mode, attempts, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                attempts / (elapsedNanos / 1e9), resolved.get(), rejected.get());
+
+        assertEquals(TICKETS, resolved.get());
+        assertEquals(attempts - TICKETS, rejected.get());
+        assertEquals(TICKETS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ticket WHERE id >= ? AND status = 'RESOLVED' AND version = 1",
+                Integer.class, FIRST_TICKET_ID));
+    }
+}
@@ -0,0 +1,112 @@
+package com.ticket.demo.integration;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventId;
+import com.ticket.ports.driver.TicketServicePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.util.UriBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class TicketEventStreamTest {
+
+    private static final long AGENT_ID = 7101L;
+    private static final ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private TicketServicePort ticketService;
+    @Autowired
+    private TicketEventBus ticketEventBus;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setup() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port + "/tickets/events")
+                .responseTimeout(Duration.ofSeconds(30))
+                .build();
+        jdbcTemplate.update("MERGE INTO agent (id, name) KEY (id) VALUES (?, ?)", AGENT_ID, "EventAgent");
+    }
+
+    @Test
+    void givenStatusAndAgentFilter_whenTicketsChange_thenOnlyMatchingTransitionsAreStreamed() {
+        long after = ticketEventBus.lastSequence();
+        TicketDto assigned = ticketService.createTicket(new TicketDto(null, "Streamed event", null, null), LocalDateTime.now());
+        ticketService.createTicket(new TicketDto(null, "Unassigned", null, null), LocalDateTime.now());
+        ticketService.assignAgentToTicket(assigned.getId(), AGENT_ID);
+
+        List<ServerSentEvent<Map<String, Object>>> events = stream(query -> query
+                .queryParam("status", Status.IN_PROGRESS)
+                .queryParam("assignedAgentId", AGENT_ID)
+                .queryParam("after", after), null, 1);
+
+        Map<String, Object> event = events.get(0).data();
+        assertNotNull(event);
+        assertEquals("ASSIGNED", event.get("type"));
+        assertEquals("NEW", event.get("previousStatus"));
+        assertEquals(assigned.getId().intValue(), ((Number) event.get("ticketId")).intValue());
+    }
+
+    @Test
+    void givenLastEventId_whenReconnecting_thenStreamResumesAfterThatEvent() {
+        long after = ticketEventBus.lastSequence();
+        TicketDto first = ticketService.createTicket(new TicketDto(null, "Before reconnect", null, null), LocalDateTime.now());
+        TicketDto second = ticketService.createTicket(new TicketDto(null, "After reconnect", null, null), LocalDateTime.now());
+
+        ServerSentEvent<Map<String, Object>> received = stream(query -> query.queryParam("after", after), null, 1).get(0);
+        assertEquals(first.getId().intValue(), ((Number) received.data().get("ticketId")).intValue());
+
+        ServerSentEvent<Map<String, Object>> resumed = stream(Function.identity(), received.id(), 1).get(0);
+        assertEquals(second.getId().intValue(), ((Number) resumed.data().get("ticketId")).intValue());
+        TicketEventId receivedId = TicketEventId.parse(received.id(), -1);
+        assertEquals(ticketEventBus.epoch(), receivedId.epoch());
+        assertEquals(new TicketEventId(receivedId.epoch(), receivedId.sequence() + 1),
+                TicketEventId.parse(resumed.id(), -1));
+    }
+
+    private List<ServerSentEvent<Map<String, Object>>> stream(
+            Function<UriBuilder, UriBuilder> query,
+            String lastEventId, int count) {
+        return webTestClient.get()
+                .uri(builder -> query.apply(builder).build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .headers(headers -> {
+                    if (lastEventId != null) {
+                        headers.set("Last-Event-ID", lastEventId);
+                    }
+                })
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EVENT_TYPE)
+                .getResponseBody()
+                .filter(event -> "ticket".equals(event.event()))
+                .take(count)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,93 @@
+package com.ticket.demo.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketExportDto;
+import com.ticket.entity.Status;
+import com.ticket.export.TicketColumnReader;
+import com.ticket.util.ContinuationToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exports from a watermark in 1971, a year no other test writes to, and only looks at this test's tickets.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TicketExportTest {
+
+    private static final long FIRST_TICKET_ID = 3_100_000L;
+    private static final long AGENT_ID = 7501L;
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(1971, 1, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM ticket WHERE id >= ? AND id < ?", FIRST_TICKET_ID, FIRST_TICKET_ID + 100);
+        jdbcTemplate.update("MERGE INTO agent (id, name) KEY (id) VALUES (?, ?)", AGENT_ID, "ExportAgent");
+    }
+
+    @Test
+    void givenWatermark_whenExporting_thenTicketsUpToTheGraceCutoffAreWrittenOnce() throws Exception {
+        insert(0, Status.IN_PROGRESS, DAY_ONE.plusHours(1), AGENT_ID);
+        insert(1, Status.NEW, DAY_ONE.plusHours(2), null);
+        insert(2, Status.NEW, LocalDateTime.now().plusYears(1), null);
+        String start = new ContinuationToken(DAY_ONE, 0L).encode();
+
+        TicketExportDto first = export(start);
+        List<TicketDto> firstTickets = read(first);
+        assertEquals(List.of(FIRST_TICKET_ID, FIRST_TICKET_ID + 1), firstTickets.stream().map(TicketDto::getId).toList());
+        assertEquals("ExportAgent", firstTickets.get(0).getAssignedAgent());
+        assertEquals(Status.NEW, firstTickets.get(1).getStatus());
+        assertTrue(ContinuationToken.decode(first.getWatermark()).getCreatedDate().isBefore(LocalDateTime.now()));
+
+        TicketExportDto second = export(first.getWatermark());
+        assertTrue(read(second).isEmpty());
+    }
+
+    private TicketExportDto export(String after) throws Exception {
+        String body = mockMvc.perform(post("/tickets/export").param("after", after))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, TicketExportDto.class);
+    }
+
+    private List<TicketDto> read(TicketExportDto export) throws Exception {
+        List<TicketDto> tickets = new ArrayList<>();
+        try (TicketColumnReader reader = new TicketColumnReader(Path.of(export.getFile()))) {
+            reader.forEach(ticket -> {
+                if (ticket.getId() >= FIRST_TICKET_ID && ticket.getId() < FIRST_TICKET_ID + 100) {
+                    tickets.add(ticket);
+                }
+            });
+        }
+        return tickets;
+    }
+
+    private void insert(int offset, Status status, LocalDateTime createdDate, Long agentId) {
+        jdbcTemplate.update("INSERT INTO ticket (id, description, status, created_date, assigned_agent_id) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                FIRST_TICKET_ID + offset, "Export " + offset, status.name(), Timestamp.valueOf(createdDate), agentId);
+    }
+}
@@ -0,0 +1,142 @@
+package com.ticket.demo.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticket.dto.TicketImportDto;
+import com.ticket.dto.TicketImportState;
+import com.ticket.ports.repository.ImportProgressRepositoryPort;
+import com.ticket.service.TicketImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Imports NEW tickets whose descriptions start with the file name, so each test only counts its own tickets. The relay
+ * is off, or it would drain the imported tickets' outbox events while OutboxRelayTest counts its own.
+ */
+@SpringBootTest(properties = {
+        "ticket.outbox.relay.enabled=false",
+        "ticket.import.chunk-size=256B",
+        "ticket.import.batch-size=3",
+        "ticket.import.threads=2"
+})
+@AutoConfigureMockMvc
+public class TicketImportTest {
+
+    private static final Path DIRECTORY = createDirectory();
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(1972, 1, 1, 0, 0);
+    private static final int TICKETS = 30;
+
+    @Autowired
+    private TicketImportService ticketImportService;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @SpyBean
+    private ImportProgressRepositoryPort importProgressRepository;
+
+    @DynamicPropertySource
+    static void importDirectory(DynamicPropertyRegistry registry) {
+        registry.add("ticket.import.directory", DIRECTORY::toString);
+    }
+
+    @Test
+    void givenProgressWriteFailingAfterTheBatchIsSaved_whenRunningTheImportAgain_thenEveryTicketIsImportedOnce()
+            throws IOException {
+        write("rollback.csv");
+        AtomicInteger saves = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (saves.incrementAndGet() == 3) {
+                throw new DataAccessResourceFailureException("Database unavailable");
+            }
+            return invocation.callRealMethod();
+        }).when(importProgressRepository).save(any());
+
+        assertThrows(DataAccessResourceFailureException.class, () -> ticketImportService.importTickets("rollback.csv"));
+        int importedBeforeFailure = count("rollback.csv");
+        reset(importProgressRepository);
+        TicketImportDto resumed = ticketImportService.importTickets("rollback.csv");
+
+        assertTrue(importedBeforeFailure < TICKETS);
+        assertEquals(TICKETS - importedBeforeFailure, resumed.getImported());
+        assertEquals(TICKETS, count("rollback.csv"));
+        assertEquals(TICKETS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT description) FROM ticket WHERE description LIKE 'rollback.csv %'", Integer.class));
+    }
+
+    @Test
+    void givenImportRequest_whenPollingTheImport_thenItCompletesInTheBackground() throws Exception {
+        write("background.csv");
+
+        TicketImportDto started = read(mockMvc.perform(post("/tickets/import").param("file", "background.csv"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString());
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        TicketImportDto polled = poll();
+        while (polled.getState() == TicketImportState.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            polled = poll();
+        }
+
+        assertEquals("background.csv", started.getFile());
+        assertEquals(TicketImportState.COMPLETED, polled.getState());
+        assertEquals(TICKETS, polled.getImported());
+        assertEquals(1.0, polled.getProgress());
+        assertEquals(TICKETS, count("background.csv"));
+    }
+
+    private TicketImportDto poll() throws Exception {
+        return read(mockMvc.perform(get("/tickets/import"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private TicketImportDto read(String body) throws IOException {
+        return objectMapper.readValue(body, TicketImportDto.class);
+    }
+
+    private int count(String fileName) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket WHERE description LIKE ?", Integer.class,
+                fileName + " %");
+    }
+
+    private static void write(String fileName) throws IOException {
+        StringBuilder csv = new StringBuilder("description,status,createdDate\n");
+        for (int i = 0; i < TICKETS; i++) {
+            csv.append(fileName).append(' ').append(i).append(",NEW,").append(DAY_ONE.plusHours(i)).append('\n');
+        }
+        Files.writeString(DIRECTORY.resolve(fileName), csv.toString());
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("ticket-import-test");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.ticket.demo.integration;
+
+import com.ticket.TicketApplication;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares Tomcat on its platform worker pool with Tomcat on virtual threads for {@code GET /tickets/{id}} and
+ * {@code POST /tickets}. Each endpoint is driven by closed-loop clients at increasing concurrency. The table printed
+ * per mode reports throughput and p99 latency per level; the highest error-free throughput is the sustained maximum.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -P load-test test}. Override the measurement window with
+ * {@code -Dticket.load.seconds=N}.
+ */
+@Tag("load")
+public class TicketLoadTest {
+
+    private static final int[] CONCURRENCY_LEVELS = {16, 64, 256, 1024};
+    private static final int SEEDED_TICKETS = 1000;
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Integer.getInteger("ticket.load.seconds", 5));
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(5);
+    private static final String NEW_TICKET = "{\"description\":\"Load test ticket\"}";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void givenPlatformAndVirtualThreads_whenLoadingGetAndPost_thenBothSustainLoadWithoutPinning() throws Exception {
+        List<Result> platform = runMode(false);
+        List<Result> virtual = runMode(true);
+
+        printReport("platform threads", platform);
+        printReport("virtual threads", virtual);
+
+        for (List<Result> results : List.of(platform, virtual)) {
+            results.forEach(result -> assertTrue(result.requests > 0, result.endpoint + " served no requests"));
+            results.stream()
+                    .filter(result -> result.concurrency == CONCURRENCY_LEVELS[0])
+                    .forEach(result -> assertEquals(0, result.errors, result.endpoint + " failed at the lowest level"));
+        }
+    }
+
+    private List<Result> runMode(boolean virtualThreads) throws Exception {
+        AtomicInteger pinnedEvents = new AtomicInteger();
+        try (RecordingStream pinning = new RecordingStream();
+             ConfigurableApplicationContext context = startApplication(virtualThreads)) {
+            pinning.enable("jdk.VirtualThreadPinned").withThreshold(PINNED_THRESHOLD).withStackTrace();
+            pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinnedEvents.incrementAndGet();
+                System.out.println("Pinned for " + event.getDuration().toMillis() + " ms:\n" + event.getStackTrace());
+            });
+            pinning.startAsync();
+
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            for (int i = 0; i < SEEDED_TICKETS; i++) {
+                assertEquals(201, httpClient.send(post(baseUrl), HttpResponse.BodyHandlers.discarding()).statusCode());
+            }
+
+            List<Result> results = new ArrayList<>();
+            for (int concurrency : CONCURRENCY_LEVELS) {
+                results.add(drive("GET /tickets/{id}", concurrency,
+                        () -> get(baseUrl, ThreadLocalRandom.current().nextLong(1, SEEDED_TICKETS + 1)), 200));
+                results.add(drive("POST /tickets", concurrency, () -> post(baseUrl), 201));
+            }
+
+            if (virtualThreads) {
+                assertEquals(0, pinnedEvents.get(), "virtual threads were pinned while serving requests");
+            }
+            return results;
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication(boolean virtualThreads) {
+        return new SpringApplicationBuilder(TicketApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + (virtualThreads ? "virtual" : "platform") + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private Result drive(String endpoint, int concurrency, Supplier<HttpRequest> requests, int expectedStatus)
+            throws InterruptedException {
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASUREMENT.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+
+        for (int i = 0; i < concurrency; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            workers.add(Thread.ofVirtual().start(() -> {
+                long now;
+                while ((now = System.nanoTime()) < measureUntil) {
+                    boolean ok;
+                    try {
+                        ok = httpClient.send(requests.get(), HttpResponse.BodyHandlers.discarding()).statusCode() == expectedStatus;
+                    } catch (Exception ex) {
+                        ok = false;
+                    }
+                    if (now >= measureFrom) {
+                        recorder.record(System.nanoTime() - now);
+                        if (!ok) errors.incrementAndGet();
+                    }
+                }
+                synchronized (latencies) {
+                    latencies.add(recorder.toArray());
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double throughput = all.length / (MEASUREMENT.toNanos() / 1e9);
+        long p99 = all.length == 0 ? 0 : all[(int) Math.min(all.length - 1, Math.ceil(all.length * 0.99) - 1)];
+        return new Result(endpoint, concurrency, all.length, errors.get(), throughput, p99);
+    }
+
+    private HttpRequest get(String baseUrl, long ticketId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/tickets/" + ticketId)).GET().build();
+    }
+
+    private HttpRequest post(String baseUrl) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/tickets"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(NEW_TICKET))
+                .build();
+    }
+
+    private void printReport(String mode, List<Result> results) {
+        System.out.printf("%n%s%n%-20s %11s %10s %8s %12s %10s%n",
+                mode, "endpoint", "concurrency", "requests", "errors", "requests/s", "p99 ms");
+        for (Result result : results) {
+            System.out.printf("%-20s %11d %10d %8d %12.0f %10.2f%n", result.endpoint, result.concurrency,
+                    result.requests, result.errors, result.throughput, result.p99Nanos / 1e6);
+        }
+        results.stream().map(result -> result.endpoint).distinct().forEach(endpoint -> results.stream()
+                .filter(result -> result.endpoint.equals(endpoint) && result.errors == 0)
+                .max((a, b) -> Double.compare(a.throughput, b.throughput))
+                .ifPresent(best -> System.out.printf("%s max sustained: %.0f requests/s at %d clients, p99 %.2f ms%n",
+                        endpoint, best.throughput, best.concurrency, best.p99Nanos / 1e6)));
+    }
+
+    private record Result(String endpoint, int concurrency, long requests, long errors, double throughput, long p99Nanos) {}
+
+    private static final class LatencyRecorder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void record(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ticket.demo.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class TicketMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void givenServedRequests_whenScrapingPrometheus_thenServiceRepositoryAndErrorMetricsAreExposed() throws Exception {
+        mockMvc.perform(get("/tickets").param("status", "NEW"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tickets/{id}", 999_999L))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("ticket_service_seconds_bucket{class=\"com.ticket.service.TicketService\"")))
+                .andExpect(content().string(containsString("method=\"getTicketPage\"")))
+                .andExpect(content().string(containsString("ticket_repository_filter_seconds_bucket{predicates=\"status\",query=\"page\"")))
+                .andExpect(content().string(containsString("ticket_repository_filter_results_count{query=\"page\"")))
+                .andExpect(content().string(containsString(
+                        "ticket_api_errors_total{exception=\"TicketNotFoundException\",status=\"404\"")));
+    }
+}
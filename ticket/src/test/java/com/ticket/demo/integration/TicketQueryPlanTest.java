@@ -0,0 +1,126 @@
+package com.ticket.demo.integration;
+
+import com.ticket.dto.TicketGrouping;
+import com.ticket.entity.Status;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.util.ContinuationToken;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs H2 EXPLAIN on the SQL generated for every predicate combination of the ticket filter and fails when a table
+ * is read without an index condition. Filters that can match archived tickets also query the archive table, and
+ * that statement is checked too. The unfiltered listing is excluded: it is an ordered scan by design.
+ */
+// Background relays and archivers would interleave their own statements with the captured ones.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.ticket.demo.integration.SqlCapturingStatementInspector",
+        "ticket.outbox.relay.enabled=false",
+        "ticket.archive.enabled=false"
+})
+public class TicketQueryPlanTest {
+
+    private static final LocalDateTime START_DATE = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime END_DATE = LocalDateTime.of(2023, 12, 31, 0, 0);
+
+    // A table access without ": <condition>" after the index name is a full scan.
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\* PUBLIC\\.[A-Z0-9_]+(\\.tableScan)? \\*/");
+
+    @Autowired
+    private TicketRepositoryPort ticketRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void givenFilterCombination_whenQueryingPage_thenNoTableIsScanned(FilterCombination filter) {
+        SqlCapturingStatementInspector.clear();
+
+        ticketRepository.findPageWithFilters(filter.statuses, filter.startDate, filter.endDate, filter.assignedAgentId,
+                filter.after, 10);
+
+        assertIndexedPlan(filter);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinationsWithoutContinuationToken")
+    void givenFilterCombination_whenQueryingEntities_thenNoTableIsScanned(FilterCombination filter) {
+        SqlCapturingStatementInspector.clear();
+
+        ticketRepository.findWithFilters(filter.statuses, filter.startDate, filter.endDate, filter.assignedAgentId);
+
+        assertIndexedPlan(filter);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinationsWithoutContinuationToken")
+    void givenFilterCombination_whenAggregating_thenNoTableIsScanned(FilterCombination filter) {
+        SqlCapturingStatementInspector.clear();
+
+        ticketRepository.aggregateWithFilters(filter.statuses, filter.startDate, filter.endDate, filter.assignedAgentId,
+                Set.of(TicketGrouping.STATUS, TicketGrouping.AGENT, TicketGrouping.DAY));
+
+        assertIndexedPlan(filter);
+    }
+
+    private void assertIndexedPlan(FilterCombination filter) {
+        List<String> statements = SqlCapturingStatementInspector.statements();
+        assertFalse(statements.isEmpty());
+
+        for (String statement : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + statement, String.class);
+            Matcher fullScan = FULL_SCAN.matcher(plan);
+            assertFalse(fullScan.find(), () -> filter + " falls back to a scan:\n" + plan);
+        }
+    }
+
+    static List<FilterCombination> filterCombinations() {
+        List<FilterCombination> combinations = new ArrayList<>();
+        for (int mask = 1; mask < 32; mask++) {
+            combinations.add(new FilterCombination(
+                    (mask & 1) != 0 ? List.of(Status.NEW, Status.IN_PROGRESS) : null,
+                    (mask & 2) != 0 ? START_DATE : null,
+                    (mask & 4) != 0 ? END_DATE : null,
+                    (mask & 8) != 0 ? 1L : null,
+                    (mask & 16) != 0 ? new ContinuationToken(START_DATE, 1L) : null
+            ));
+        }
+        return combinations;
+    }
+
+    // Only pages take a continuation token.
+    static List<FilterCombination> filterCombinationsWithoutContinuationToken() {
+        return filterCombinations().stream().filter(filter -> filter.after == null).toList();
+    }
+
+    record FilterCombination(List<Status> statuses,
+                             LocalDateTime startDate,
+                             LocalDateTime endDate,
+                             Long assignedAgentId,
+                             ContinuationToken after) {
+
+        @Override
+        public String toString() {
+            List<String> active = new ArrayList<>();
+            if (statuses != null) active.add("status");
+            if (startDate != null) active.add("startDate");
+            if (endDate != null) active.add("endDate");
+            if (assignedAgentId != null) active.add("assignedAgentId");
+            if (after != null) active.add("continuationToken");
+            return String.join(" + ", active);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ticket.demo.integration;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketFilterDto;
+import com.ticket.dto.TicketSearchHitDto;
+import com.ticket.entity.Status;
+import com.ticket.ports.driver.TicketServicePort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class TicketSearchTest {
+
+    @Autowired
+    private TicketServicePort ticketService;
+
+    @Test
+    void givenCreatedAndUpdatedTickets_whenSearching_thenIndexFollowsCommittedChanges() {
+        TicketDto kettle = ticketService.createTicket(new TicketDto(null, "Kitchen kettle trips breaker", null, null), LocalDateTime.now());
+        TicketDto other = ticketService.createTicket(new TicketDto(null, "Kitchen fridge noisy", null, null), LocalDateTime.now());
+        TicketDto update = new TicketDto(null, "Kitchen kettle trips breaker", null, null);
+        update.setResolutionSummary("Replaced the kettle fuse");
+        ticketService.updateTicket(kettle.getId(), update);
+
+        List<TicketSearchHitDto> hits = ticketService.searchTickets("kettle fuse", new TicketFilterDto());
+        assertEquals(1, hits.size());
+        assertEquals(kettle.getId(), hits.get(0).getTicket().getId());
+        assertEquals("Replaced the kettle fuse", hits.get(0).getTicket().getResolutionSummary());
+
+        TicketFilterDto resolvedOnly = new TicketFilterDto(List.of(Status.RESOLVED), null, null, null);
+        assertTrue(ticketService.searchTickets("kitchen", resolvedOnly).isEmpty());
+        assertEquals(2, ticketService.searchTickets("kitchen", new TicketFilterDto()).stream()
+                .filter(hit -> hit.getTicket().getId().equals(kettle.getId()) || hit.getTicket().getId().equals(other.getId()))
+                .count());
+
+        assertTrue(ticketService.rebuildSearchIndex() >= 2);
+        assertEquals(1, ticketService.searchTickets("kettle fuse", new TicketFilterDto()).size());
+    }
+}
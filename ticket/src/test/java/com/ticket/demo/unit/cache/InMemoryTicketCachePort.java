@@ -0,0 +1,28 @@
+package com.ticket.demo.unit.cache;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.ports.cache.TicketCachePort;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryTicketCachePort implements TicketCachePort {
+
+    private final Map<Long, TicketDto> tickets = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<TicketDto> get(Long ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    @Override
+    public void put(TicketDto ticketDto) {
+        tickets.put(ticketDto.getId(), ticketDto);
+    }
+
+    @Override
+    public void evict(Long ticketId) {
+        tickets.remove(ticketId);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ticket.demo.unit.cache;
+
+import com.ticket.cache.TicketCache;
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketCacheTest {
+
+    private InMemoryTicketCachePort secondLevelCache;
+    private SimpleMeterRegistry meterRegistry;
+    private TicketCache ticketCache;
+
+    @BeforeEach
+    void setup() {
+        secondLevelCache = new InMemoryTicketCachePort();
+        meterRegistry = new SimpleMeterRegistry();
+        ticketCache = new TicketCache(100, Duration.ofMinutes(1), Optional.of(secondLevelCache), meterRegistry);
+    }
+
+    @Test
+    void givenCachedTicket_whenGettingTicket_thenLoaderIsCalledOnceAndHitIsRecorded() {
+        AtomicInteger loads = new AtomicInteger();
+
+        ticketCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return new TicketDto(id, "description", Status.NEW, LocalDateTime.now());
+        });
+        TicketDto ticketDto = ticketCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals(Status.NEW, ticketDto.getStatus());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void givenTicketInSecondLevelCache_whenGettingTicket_thenLoaderIsNotCalled() {
+        secondLevelCache.put(new TicketDto(1L, "description", Status.IN_PROGRESS, LocalDateTime.now()));
+
+        TicketDto ticketDto = ticketCache.get(1L, id -> fail("loader must not be called"));
+
+        assertEquals(Status.IN_PROGRESS, ticketDto.getStatus());
+    }
+
+    @Test
+    void givenCachedTicket_whenEvicting_thenBothTiersAreCleared() {
+        ticketCache.get(1L, id -> new TicketDto(id, "description", Status.NEW, LocalDateTime.now()));
+
+        ticketCache.evict(1L);
+
+        assertTrue(secondLevelCache.get(1L).isEmpty());
+        assertEquals(Status.CLOSED, ticketCache.get(1L, id -> new TicketDto(id, "description", Status.CLOSED, LocalDateTime.now())).getStatus());
+    }
+
+    @Test
+    void givenEvictionDuringLoad_whenLoadFinishes_thenNeitherTierKeepsTheStaleLoad() {
+        TicketDto loaded = ticketCache.get(1L, id -> {
+            ticketCache.evict(id);
+            return new TicketDto(id, "description", Status.IN_PROGRESS, LocalDateTime.now());
+        });
+
+        assertEquals(Status.IN_PROGRESS, loaded.getStatus());
+        assertTrue(secondLevelCache.get(1L).isEmpty());
+        assertEquals(Status.RESOLVED, ticketCache.get(1L,
+                id -> new TicketDto(id, "description", Status.RESOLVED, LocalDateTime.now())).getStatus());
+    }
+}
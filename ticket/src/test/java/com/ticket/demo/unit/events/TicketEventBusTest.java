@@ -0,0 +1,153 @@
+package com.ticket.demo.unit.events;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.events.TicketEvent;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventId;
+import com.ticket.events.TicketEventSubscription;
+import com.ticket.events.TicketEventType;
+import com.ticket.util.RealLocalDateTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketEventBusTest {
+
+    private final TicketEventBus ticketEventBus = new TicketEventBus(4, new SimpleMeterRegistry(), new RealLocalDateTimeProvider());
+
+    @Test
+    void givenPublishedEvents_whenReadingAfterSequence_thenOnlyLaterEventsAreReturnedInOrder() {
+        publish(1L, TicketEventType.CREATED, Status.NEW);
+        publish(1L, TicketEventType.ASSIGNED, Status.IN_PROGRESS);
+        publish(2L, TicketEventType.CREATED, Status.NEW);
+
+        List<TicketEvent> events = ticketEventBus.readAfter(1, 10);
+
+        assertEquals(List.of(2L, 3L), events.stream().map(TicketEvent::getSequence).toList());
+        assertEquals(TicketEventType.ASSIGNED, events.get(0).getType());
+    }
+
+    @Test
+    void givenSubscriberBehindTheRing_whenPumping_thenResetIsSentBeforeTheOldestRetainedEvent() {
+        for (long ticketId = 1; ticketId <= 6; ticketId++) {
+            publish(ticketId, TicketEventType.CREATED, Status.NEW);
+        }
+        RecordingSink sink = new RecordingSink();
+
+        runUntilHeartbeat(new TicketEventSubscription(ticketEventBus, event -> true, ticketEventBus.epoch(), 0,
+                Duration.ofMillis(10), sink));
+
+        assertEquals(List.of("reset:3", "event:3", "event:4", "event:5", "event:6", "heartbeat"), sink.received);
+    }
+
+    @Test
+    void givenCursorAheadOfTheBus_whenPumping_thenResetRewindsToTheFirstEventSinceTheRestart() {
+        publish(1L, TicketEventType.CREATED, Status.NEW);
+        publish(2L, TicketEventType.CREATED, Status.NEW);
+        RecordingSink sink = new RecordingSink();
+
+        runUntilHeartbeat(new TicketEventSubscription(ticketEventBus, event -> true, ticketEventBus.epoch(), 40,
+                Duration.ofMillis(10), sink));
+
+        assertEquals(List.of("reset:1", "event:1", "event:2", "heartbeat"), sink.received);
+    }
+
+    @Test
+    void givenCursorFromAnEarlierEpoch_whenPumping_thenResetRewindsEvenThoughTheCursorIsBehindTheBus() {
+        publish(1L, TicketEventType.CREATED, Status.NEW);
+        publish(2L, TicketEventType.CREATED, Status.NEW);
+        publish(3L, TicketEventType.CREATED, Status.NEW);
+        RecordingSink sink = new RecordingSink();
+
+        runUntilHeartbeat(new TicketEventSubscription(ticketEventBus, event -> true, ticketEventBus.epoch() - 1, 1,
+                Duration.ofMillis(10), sink));
+
+        assertEquals(List.of("reset:1", "event:1", "event:2", "event:3", "heartbeat"), sink.received);
+    }
+
+    @Test
+    void givenEventIds_whenParsing_thenEpochAndSequenceAreReadBackAndBareSequencesTakeTheCurrentEpoch() {
+        assertEquals(new TicketEventId(1700000000000L, 42), TicketEventId.parse("1700000000000-42", 5));
+        assertEquals(new TicketEventId(5, 42), TicketEventId.parse("42", 5));
+        assertNotEquals(5, TicketEventId.parse("not-an-id", 5).epoch());
+        assertEquals("1700000000000-42", new TicketEventId(1700000000000L, 42).toString());
+    }
+
+    @Test
+    void givenCursorAheadOfAnEmptyBus_whenPumping_thenResetIsSentBeforeWaiting() {
+        RecordingSink sink = new RecordingSink();
+
+        runUntilHeartbeat(new TicketEventSubscription(ticketEventBus, event -> true, ticketEventBus.epoch(), 40,
+                Duration.ofMillis(10), sink));
+
+        assertEquals(List.of("reset:1", "heartbeat"), sink.received);
+    }
+
+    @Test
+    void givenStatusFilter_whenPumping_thenOnlyMatchingEventsAreSent() {
+        publish(1L, TicketEventType.CREATED, Status.NEW);
+        publish(1L, TicketEventType.ASSIGNED, Status.IN_PROGRESS);
+        RecordingSink sink = new RecordingSink();
+
+        runUntilHeartbeat(new TicketEventSubscription(ticketEventBus,
+                TicketEventSubscription.matching(Status.IN_PROGRESS, null), ticketEventBus.epoch(), 0,
+                Duration.ofMillis(10), sink));
+
+        assertEquals(List.of("event:2", "heartbeat"), sink.received);
+    }
+
+    @Test
+    void givenWaitingReader_whenEventIsPublished_thenAwaitReturnsTrue() throws Exception {
+        CompletableFuture<Boolean> awaited = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ticketEventBus.awaitAfter(0, Duration.ofSeconds(10));
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        publish(1L, TicketEventType.CREATED, Status.NEW);
+
+        assertTrue(awaited.get(10, TimeUnit.SECONDS));
+        assertFalse(ticketEventBus.awaitAfter(1, Duration.ofMillis(10)));
+    }
+
+    private void publish(Long ticketId, TicketEventType type, Status status) {
+        ticketEventBus.publish(type, null, new TicketDto(ticketId, "description", status, LocalDateTime.now()));
+    }
+
+    private static void runUntilHeartbeat(TicketEventSubscription subscription) {
+        // The sink throws on the first heartbeat, which ends the subscription loop.
+        subscription.run();
+    }
+
+    private static class RecordingSink implements TicketEventSubscription.Sink {
+        private final List<String> received = new ArrayList<>();
+
+        @Override
+        public void event(TicketEvent event) {
+            received.add("event:" + event.getSequence());
+        }
+
+        @Override
+        public void reset(long nextSequence) {
+            received.add("reset:" + nextSequence);
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            received.add("heartbeat");
+            throw new IOException("closed");
+        }
+    }
+}
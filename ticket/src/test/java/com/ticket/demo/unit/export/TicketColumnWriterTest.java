@@ -0,0 +1,88 @@
+package com.ticket.demo.unit.export;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.export.TicketColumnReader;
+import com.ticket.export.TicketColumnWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketColumnWriterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 30, 15, 250_000_000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenTicketsWithNullableFields_whenWrittenAndRead_thenEveryFieldRoundTrips() throws IOException {
+        TicketDto resolved = new TicketDto(7L, "Printer jam ✓", Status.RESOLVED, START, null, "Agent001",
+                "Replaced the drum", 1L, START.plusMinutes(5), START.plusHours(2));
+        TicketDto fresh = new TicketDto(9L, "Broken screen", Status.NEW, START.plusSeconds(1));
+        TicketDto bare = new TicketDto(3L, null, null, null);
+        Path file = directory.resolve("tickets.tktc");
+
+        try (TicketColumnWriter writer = new TicketColumnWriter(file, 16, agentId -> "Agent001")) {
+            writer.write(resolved);
+            writer.write(fresh);
+            writer.write(bare);
+        }
+
+        try (TicketColumnReader reader = new TicketColumnReader(file)) {
+            List<TicketDto> tickets = new ArrayList<>();
+            reader.forEach(tickets::add);
+
+            assertEquals(List.of(resolved, fresh, bare), tickets);
+            assertEquals(3, reader.rowCount());
+            assertEquals(START.plusSeconds(1), reader.watermark().getCreatedDate());
+            assertEquals(9L, reader.watermark().getId());
+        }
+    }
+
+    @Test
+    void givenMoreTicketsThanOneChunk_whenWritten_thenDictionariesAreRebuiltPerChunk() throws IOException {
+        Path file = directory.resolve("tickets.tktc");
+        List<TicketDto> written = new ArrayList<>();
+        try (TicketColumnWriter writer = new TicketColumnWriter(file, 100, agentId -> "Agent" + agentId)) {
+            for (int i = 0; i < 1050; i++) {
+                Long agentId = i % 3 == 0 ? null : (long) (i / 100 % 4 + 1);
+                TicketDto ticket = new TicketDto((long) i + 1, "Ticket " + i, Status.values()[i % 4],
+                        START.plusMinutes(i), null, agentId != null ? "Agent" + agentId : null, null, agentId,
+                        null, null);
+                written.add(ticket);
+                writer.write(ticket);
+            }
+        }
+
+        try (TicketColumnReader reader = new TicketColumnReader(file)) {
+            List<TicketDto> read = new ArrayList<>();
+            reader.forEach(read::add);
+
+            assertEquals(11, reader.chunkCount());
+            assertEquals(written, read);
+        }
+    }
+
+    @Test
+    void givenWrittenFile_whenCountingByStatus_thenCountsMatchTheTickets() throws IOException {
+        Path file = directory.resolve("tickets.tktc");
+        try (TicketColumnWriter writer = new TicketColumnWriter(file, 8, agentId -> null)) {
+            for (int i = 0; i < 20; i++) {
+                writer.write(new TicketDto((long) i, "Ticket", i < 15 ? Status.NEW : Status.CLOSED, START));
+            }
+        }
+
+        try (TicketColumnReader reader = new TicketColumnReader(file)) {
+            assertEquals(Map.of(Status.NEW, 15L, Status.CLOSED, 5L), reader.countByStatus());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.ticket.demo.unit.imports;
+
+import com.ticket.imports.ImportField;
+import com.ticket.imports.ImportFile;
+import com.ticket.imports.TicketRecordParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImportFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenCsvWithQuotedValues_whenParsing_thenColumnsMapToFieldsByHeader() throws IOException {
+        Path file = write("tickets.csv", """
+                legacyId,description,status,createdDate,resolutionSummary\r
+                17,"Printer ""jam"", tray 2",CLOSED,2024-01-01T08:00,"Line one
+                line two"\r
+
+                18,Broken screen,NEW,2024-01-02T09:30,\r
+                """);
+
+        List<String[]> records = readAll(file, 1024);
+
+        assertEquals(2, records.size());
+        assertEquals("Printer \"jam\", tray 2", records.get(0)[ImportField.DESCRIPTION.ordinal()]);
+        assertEquals("CLOSED", records.get(0)[ImportField.STATUS.ordinal()]);
+        assertEquals("Line one\nline two", records.get(0)[ImportField.RESOLUTION_SUMMARY.ordinal()]);
+        assertEquals("2024-01-02T09:30", records.get(1)[ImportField.CREATED_DATE.ordinal()]);
+        assertNull(records.get(1)[ImportField.RESOLUTION_SUMMARY.ordinal()]);
+        assertNull(records.get(1)[ImportField.ASSIGNED_AGENT.ordinal()]);
+    }
+
+    @Test
+    void givenNdjson_whenParsing_thenEscapesAreDecodedAndUnknownKeysIgnored() throws IOException {
+        Path file = write("tickets.ndjson", """
+                {"id": 17, "description": "Caf\\u00e9 printer\\n\\"jam\\" \\ud83d\\udda8", "status": "NEW", "assignedAgent": null}
+                {"description":"Broken screen","status":"IN_PROGRESS","assignedAgent":"Agent001"}
+                """);
+
+        List<String[]> records = readAll(file, 1024);
+
+        assertEquals(2, records.size());
+        assertEquals("Café printer\n\"jam\" 🖨", records.get(0)[ImportField.DESCRIPTION.ordinal()]);
+        assertNull(records.get(0)[ImportField.ASSIGNED_AGENT.ordinal()]);
+        assertEquals("Agent001", records.get(1)[ImportField.ASSIGNED_AGENT.ordinal()]);
+    }
+
+    @Test
+    void givenSmallChunkSize_whenSplitting_thenChunksHoldWholeRecordsAndCoverTheFile() throws IOException {
+        StringBuilder csv = new StringBuilder("description,status\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append(i % 7 == 0 ? "\"Multi\nline " + i + "\"" : "Ticket " + i).append(",NEW\n");
+        }
+        Path file = write("tickets.csv", csv.toString());
+
+        List<String[]> records = readAll(file, 100);
+
+        assertEquals(200, records.size());
+        for (int i = 0; i < 200; i++) {
+            String expected = i % 7 == 0 ? "Multi\nline " + i : "Ticket " + i;
+            assertEquals(expected, records.get(i)[ImportField.DESCRIPTION.ordinal()]);
+        }
+    }
+
+    @Test
+    void givenMalformedRecord_whenParsing_thenItIsRejectedAndParsingContinuesAfterIt() throws IOException {
+        Path file = write("tickets.ndjson", """
+                {"description": "First", "status": "NEW"}
+                {"description": ["nested"], "status": "NEW"}
+                {"description": "Third", "status": "NEW"}
+                """);
+
+        try (ImportFile input = ImportFile.open(file, 1024)) {
+            ImportFile.Chunk chunk = input.chunks().get(0);
+            ByteBuffer in = input.map(chunk, chunk.start());
+            TicketRecordParser parser = input.newParser();
+            String[] fields = new String[ImportField.values().length];
+
+            assertTrue(parser.next(in, fields));
+            assertThrows(IllegalArgumentException.class, () -> parser.next(in, fields));
+            assertTrue(parser.next(in, fields));
+            assertEquals("Third", fields[ImportField.DESCRIPTION.ordinal()]);
+            assertFalse(parser.next(in, fields));
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private static List<String[]> readAll(Path file, long chunkSize) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        try (ImportFile input = ImportFile.open(file, chunkSize)) {
+            long expectedStart = input.chunks().get(0).start();
+            for (ImportFile.Chunk chunk : input.chunks()) {
+                assertEquals(expectedStart, chunk.start());
+                expectedStart = chunk.end();
+                ByteBuffer in = input.map(chunk, chunk.start());
+                TicketRecordParser parser = input.newParser();
+                String[] fields = new String[ImportField.values().length];
+                while (parser.next(in, fields)) {
+                    records.add(fields.clone());
+                }
+            }
+            assertEquals(input.size(), expectedStart);
+            if (chunkSize < input.size() / 2) {
+                assertTrue(input.chunks().size() > 1);
+            }
+        }
+        return records;
+    }
+}
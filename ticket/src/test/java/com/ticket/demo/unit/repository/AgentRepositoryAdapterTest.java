@@ -0,0 +1,114 @@
+package com.ticket.demo.unit.repository;
+
+import com.ticket.adapters.jpa.AgentRepositoryJpa;
+import com.ticket.adapters.repository.AgentRepository;
+import com.ticket.entity.Agent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AgentRepositoryAdapterTest {
+
+    @Mock
+    private AgentRepositoryJpa agentRepositoryJpa;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AgentRepository agentRepository;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        agentRepository = new AgentRepository(agentRepositoryJpa, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void givenRefreshedSnapshot_whenFindingById_thenAgentIsServedWithoutQuerying() {
+        when(agentRepositoryJpa.findAll()).thenReturn(List.of(new Agent(1L, "Agent001"), new Agent(2L, "Agent002")));
+        agentRepository.refresh();
+
+        Optional<Agent> first = agentRepository.findById(2L);
+        Optional<Agent> second = agentRepository.findById(2L);
+
+        assertEquals("Agent002", first.orElseThrow().getName());
+        assertSame(first, second);
+        verify(agentRepositoryJpa, never()).findById(any());
+        assertEquals(2.0, meterRegistry.counter("agents.snapshot.lookups", "result", "hit").count());
+    }
+
+    @Test
+    void givenAgentAddedAfterRefresh_whenFindingById_thenSnapshotIsRebuilt() {
+        Agent agent = new Agent(3L, "Agent003");
+        when(agentRepositoryJpa.findAll()).thenReturn(List.of()).thenReturn(List.of(agent));
+        when(agentRepositoryJpa.findById(3L)).thenReturn(Optional.of(agent));
+        agentRepository.refresh();
+
+        assertTrue(agentRepository.findById(3L).isPresent());
+        assertTrue(agentRepository.findById(3L).isPresent());
+
+        verify(agentRepositoryJpa, times(1)).findById(3L);
+        assertEquals(1.0, meterRegistry.counter("agents.snapshot.lookups", "result", "miss").count());
+        assertEquals(1.0, meterRegistry.counter("agents.snapshot.lookups", "result", "hit").count());
+    }
+
+    @Test
+    void givenUnknownAgent_whenFindingById_thenEmptyIsReturned() {
+        when(agentRepositoryJpa.findAll()).thenReturn(List.of(new Agent(1L, "Agent001")));
+        when(agentRepositoryJpa.findById(99L)).thenReturn(Optional.empty());
+        agentRepository.refresh();
+
+        assertTrue(agentRepository.findById(99L).isEmpty());
+        verify(agentRepositoryJpa, times(1)).findAll();
+    }
+
+    @Test
+    void givenRecentRefresh_whenFindingUnknownName_thenSnapshotIsNotReloaded() {
+        when(agentRepositoryJpa.findAll()).thenReturn(List.of(new Agent(1L, "Agent001")));
+        agentRepository.refresh();
+
+        assertEquals(1L, agentRepository.findByName("Agent001").orElseThrow().getId());
+        assertTrue(agentRepository.findByName("Nobody").isEmpty());
+        verify(agentRepositoryJpa, times(1)).findAll();
+    }
+
+    @Test
+    void givenSlowRefreshOverlappingANewerOne_whenBothFinish_thenTheNewerSnapshotIsKept() throws Exception {
+        Agent agent = new Agent(3L, "Agent003");
+        CountDownLatch slowReloadStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowReload = new CountDownLatch(1);
+        when(agentRepositoryJpa.findAll()).thenAnswer(invocation -> {
+            slowReloadStarted.countDown();
+            releaseSlowReload.await();
+            return List.of();
+        }).thenReturn(List.of(agent));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> slow = executor.submit(agentRepository::refresh);
+            slowReloadStarted.await();
+            Future<?> newer = executor.submit(agentRepository::refresh);
+            releaseSlowReload.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            newer.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(List.of(agent), agentRepository.findAll());
+    }
+}
@@ -0,0 +1,193 @@
+package com.ticket.demo.unit.repository;
+
+import com.ticket.adapters.memory.InMemoryTicketRepository;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+import com.ticket.ports.repository.AgentRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InMemoryTicketRepositoryRecoveryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    Path dataDir;
+
+    private final AgentRepositoryPort agentRepository = mock(AgentRepositoryPort.class);
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setup() {
+        when(agentRepository.findById(1L)).thenReturn(Optional.of(new Agent(1L, "Agent001")));
+    }
+
+    @Test
+    void givenLoggedChanges_whenRestartingWithoutShutdown_thenTheLogIsReplayed() {
+        InMemoryTicketRepository repository = open();
+        Long id = repository.save(new Ticket(null, "Printer jam", Status.NEW, START)).getId();
+        repository.compareAndAssignAgent(id, new Agent(1L, "Agent001"), START.plusHours(1));
+        repository.compareAndSetStatus(id, Status.IN_PROGRESS, Status.RESOLVED, START.plusHours(2));
+        Long otherId = repository.save(new Ticket(null, "Broken screen", Status.NEW, START)).getId();
+
+        InMemoryTicketRepository recovered = open();
+
+        Ticket ticket = recovered.findById(id).orElseThrow();
+        assertEquals(Status.RESOLVED, ticket.getStatus());
+        assertEquals("Agent001", ticket.getAssignedAgent().getName());
+        assertEquals(START.plusHours(1), ticket.getAssignedDate());
+        assertEquals(START.plusHours(2), ticket.getResolvedDate());
+        assertEquals(2L, ticket.getVersion());
+        assertEquals("Broken screen", recovered.findById(otherId).orElseThrow().getDescription());
+        assertTrue(recovered.save(new Ticket(null, "New after restart", Status.NEW, START)).getId() > otherId);
+    }
+
+    @Test
+    void givenSnapshotFollowedByMoreChanges_whenRestarting_thenSnapshotAndLogTailAreCombined() throws IOException {
+        InMemoryTicketRepository repository = open();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            ids.add(repository.save(new Ticket(null, "Ticket " + i, Status.NEW, START.plusMinutes(i))).getId());
+        }
+        repository.snapshot();
+        for (int i = 0; i < 100; i++) {
+            repository.compareAndAssignAgent(ids.get(i), new Agent(1L, "Agent001"), START);
+        }
+
+        InMemoryTicketRepository recovered = open();
+
+        assertEquals(2000, recovered.findDtosWithFilters(null, null, null, null).size());
+        assertEquals(100, recovered.findDtosWithFilters(List.of(Status.IN_PROGRESS), null, null, 1L).size());
+        // Segments before the snapshot were deleted with it.
+        try (Stream<Path> files = Files.list(dataDir)) {
+            assertEquals(1, files.filter(path -> path.toString().endsWith(".snapshot")).count());
+        }
+    }
+
+    @Test
+    void givenTornLastEntry_whenRestarting_thenEverythingBeforeItIsRecovered() throws IOException {
+        InMemoryTicketRepository repository = open();
+        Long id = repository.save(new Ticket(null, "Printer jam", Status.NEW, START)).getId();
+        repository.save(new Ticket(null, "Torn", Status.NEW, START));
+        corruptLastWrittenByte();
+
+        InMemoryTicketRepository recovered = open();
+        List<Ticket> recoveredTickets = recovered.findWithFilters(null, null, null, null);
+        Long newId = recovered.save(new Ticket(null, "After recovery", Status.NEW, START)).getId();
+
+        assertEquals(1, recoveredTickets.size());
+        assertEquals(id, recoveredTickets.get(0).getId());
+        assertEquals("After recovery", open().findById(newId).orElseThrow().getDescription());
+    }
+
+    @Test
+    void givenConcurrentWriters_whenSaving_thenSyncsAreSharedAndEverySaveIsRecovered() throws Exception {
+        InMemoryTicketRepository repository = open();
+        int writers = 8;
+        int savesPerWriter = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < savesPerWriter; i++) {
+                        repository.save(new Ticket(null, "Ticket " + i, Status.NEW, START));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        double syncs = meterRegistry.get("ticket.memory.wal.syncs").functionCounter().count();
+        assertTrue(syncs > 0 && syncs < writers * savesPerWriter, "syncs: " + syncs);
+        assertEquals(writers * savesPerWriter, open().findDtosWithFilters(null, null, null, null).size());
+    }
+
+    @Test
+    void givenSnapshotsTakenWhileWritersRun_whenRestarting_thenEveryAcknowledgedSaveIsRecovered() throws Exception {
+        InMemoryTicketRepository repository = open();
+        int writers = 4;
+        int savesPerWriter = 500;
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < savesPerWriter; i++) {
+                        // Ever earlier dates land at the head of the date index, which a running snapshot has passed.
+                        repository.save(new Ticket(null, "Ticket " + i, Status.NEW,
+                                START.minusSeconds(counter.incrementAndGet())));
+                    }
+                }));
+            }
+            // Snapshots stop half-way, so a ticket the last one lost is not rescued by a later one.
+            Future<?> snapshots = executor.submit(() -> {
+                while (counter.get() < writers * savesPerWriter / 2) {
+                    repository.snapshot();
+                }
+            });
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            snapshots.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(writers * savesPerWriter, open().findDtosWithFilters(null, null, null, null).size());
+    }
+
+    private InMemoryTicketRepository open() {
+        meterRegistry = new SimpleMeterRegistry();
+        return new InMemoryTicketRepository(agentRepository, meterRegistry, dataDir.toString(),
+                DataSize.ofKilobytes(64), true, DataSize.ofMegabytes(16));
+    }
+
+    // Segments are zero-filled past the last entry, so the last non-zero byte belongs to the last entry.
+    private void corruptLastWrittenByte() throws IOException {
+        Path segment;
+        try (Stream<Path> files = Files.list(dataDir)) {
+            segment = files.filter(path -> path.toString().endsWith(".wal"))
+                    .filter(path -> path.toFile().length() > 0)
+                    .sorted()
+                    .reduce((first, second) -> second)
+                    .orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        int last = bytes.length - 1;
+        while (bytes[last] == 0) {
+            last--;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(last);
+            file.write(bytes[last] ^ 0x5a);
+        }
+    }
+}
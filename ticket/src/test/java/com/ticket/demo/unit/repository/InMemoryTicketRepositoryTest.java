@@ -0,0 +1,183 @@
+package com.ticket.demo.unit.repository;
+
+import com.ticket.adapters.memory.InMemoryTicketRepository;
+import com.ticket.dto.TicketAggregateDto;
+import com.ticket.dto.TicketCountDto;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketGrouping;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+import com.ticket.util.ContinuationToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryTicketRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final Agent agent = new Agent(1L, "Agent001");
+    private InMemoryTicketRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository = new InMemoryTicketRepository();
+    }
+
+    @Test
+    void givenNewTicket_whenSaving_thenIdAndVersionAreAssigned() {
+        Ticket saved = repository.save(new Ticket(null, "Printer jam", Status.NEW, START));
+
+        assertNotNull(saved.getId());
+        assertEquals(0L, saved.getVersion());
+        assertEquals("Printer jam", repository.findById(saved.getId()).orElseThrow().getDescription());
+        assertTrue(repository.findById(saved.getId() + 1).isEmpty());
+    }
+
+    @Test
+    void givenStaleVersion_whenSaving_thenOptimisticLockingFailureIsThrown() {
+        Ticket saved = repository.save(new Ticket(null, "Printer jam", Status.NEW, START));
+        Ticket first = repository.findById(saved.getId()).orElseThrow();
+        Ticket second = repository.findById(saved.getId()).orElseThrow();
+
+        first.setStatus(Status.IN_PROGRESS);
+        assertEquals(1L, repository.save(first).getVersion());
+
+        second.setStatus(Status.CLOSED);
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(second));
+        assertEquals(Status.IN_PROGRESS, repository.findById(saved.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void givenStatusAndAgentFilters_whenFinding_thenOnlyTicketsMatchingBothAreReturnedInListingOrder() {
+        for (int i = 0; i < 100; i++) {
+            Status status = i % 20 == 0 ? Status.RESOLVED : i % 4 == 0 ? Status.IN_PROGRESS : Status.NEW;
+            Ticket ticket = new Ticket(null, "Ticket " + i, status, START.plusMinutes(100 - i));
+            ticket.setAssignedAgent(i % 2 == 0 ? agent : null);
+            repository.save(ticket);
+        }
+
+        // The first filter walks the date index; the second is selective enough to intersect bitsets.
+        for (Status status : List.of(Status.IN_PROGRESS, Status.RESOLVED)) {
+            List<TicketDto> tickets = repository.findDtosWithFilters(List.of(status), null, null, 1L);
+
+            assertEquals(status == Status.IN_PROGRESS ? 20 : 5, tickets.size());
+            assertTrue(tickets.stream().allMatch(ticket -> ticket.getStatus() == status
+                    && ticket.getAssignedAgentId() == 1L));
+            for (int i = 1; i < tickets.size(); i++) {
+                assertTrue(tickets.get(i - 1).getCreatedDate().isBefore(tickets.get(i).getCreatedDate()));
+            }
+        }
+    }
+
+    @Test
+    void givenDateRange_whenPaging_thenPagesFollowTheListingOrderWithoutGapsOrDuplicates() {
+        for (int i = 0; i < 50; i++) {
+            // Pairs of tickets share a creation date, so ties are broken by id.
+            repository.save(new Ticket(null, "Ticket " + i, Status.NEW, START.plusHours(i / 2)));
+        }
+        LocalDateTime startDate = START.plusHours(5);
+        LocalDateTime endDate = START.plusHours(14);
+
+        List<TicketDto> expected = repository.findDtosWithFilters(null, startDate, endDate, null);
+        List<TicketDto> paged = new ArrayList<>();
+        ContinuationToken after = null;
+        List<TicketDto> page;
+        do {
+            page = repository.findPageWithFilters(null, startDate, endDate, null, after, 3);
+            paged.addAll(page);
+            if (!page.isEmpty()) {
+                TicketDto last = page.get(page.size() - 1);
+                after = new ContinuationToken(last.getCreatedDate(), last.getId());
+            }
+        } while (page.size() == 3);
+
+        assertEquals(20, expected.size());
+        assertEquals(expected, paged);
+        assertEquals(expected, repository.streamWithFilters(null, startDate, endDate, null).toList());
+    }
+
+    @Test
+    void givenConditionalTransitions_whenStateDoesNotMatch_thenTicketIsLeftUnchanged() {
+        Long id = repository.save(new Ticket(null, "Printer jam", Status.NEW, START)).getId();
+        LocalDateTime assignedDate = START.plusHours(1);
+
+        assertTrue(repository.compareAndAssignAgent(id, agent, assignedDate));
+        assertFalse(repository.compareAndAssignAgent(id, new Agent(2L, "Agent002"), assignedDate));
+        assertFalse(repository.compareAndClose(id, START.plusHours(2)));
+        assertTrue(repository.compareAndSetStatus(id, Status.IN_PROGRESS, Status.RESOLVED, START.plusHours(2)));
+
+        Ticket ticket = repository.findById(id).orElseThrow();
+        assertEquals(Status.RESOLVED, ticket.getStatus());
+        assertEquals(1L, ticket.getAssignedAgent().getId());
+        assertEquals(assignedDate, ticket.getAssignedDate());
+        assertEquals(START.plusHours(2), ticket.getResolvedDate());
+        // Closing needs a resolution summary.
+        assertFalse(repository.compareAndClose(id, START.plusHours(3)));
+        assertEquals(List.of(), repository.findWithFilters(List.of(Status.IN_PROGRESS), null, null, null));
+    }
+
+    @Test
+    void givenTicketsAcrossAgents_whenCountingAndAggregating_thenCountersMatchTheTickets() {
+        for (int i = 0; i < 30; i++) {
+            Ticket ticket = new Ticket(null, "Ticket " + i, i < 10 ? Status.NEW : Status.IN_PROGRESS, START);
+            ticket.setAssignedAgent(i < 10 ? null : agent);
+            repository.save(ticket);
+        }
+
+        List<TicketCountDto> counts = repository.countByAgentAndStatus();
+        List<TicketAggregateDto> aggregates = repository.aggregateWithFilters(null, null, null, null,
+                Set.of(TicketGrouping.STATUS));
+
+        assertTrue(counts.contains(new TicketCountDto(null, Status.NEW, 10)));
+        assertTrue(counts.contains(new TicketCountDto(1L, Status.IN_PROGRESS, 20)));
+        assertEquals(2, counts.size());
+        assertEquals(List.of(new TicketAggregateDto(Status.IN_PROGRESS, null, null, 20),
+                new TicketAggregateDto(Status.NEW, null, null, 10)), aggregates);
+    }
+
+    @Test
+    void givenConcurrentAssignments_whenRacing_thenEachTicketIsAssignedExactlyOnce() throws Exception {
+        List<Long> ids = IntStream.range(0, 200)
+                .mapToObj(i -> repository.save(new Ticket(null, "Ticket " + i, Status.NEW, START)).getId())
+                .toList();
+        AtomicInteger assigned = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < 8; worker++) {
+                Agent workerAgent = new Agent((long) worker, "Agent" + worker);
+                futures.add(executor.submit(() -> ids.forEach(id -> {
+                    if (repository.compareAndAssignAgent(id, workerAgent, START)) {
+                        assigned.incrementAndGet();
+                    }
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(ids.size(), assigned.get());
+        assertEquals(ids.size(),
+                repository.findDtosWithFilters(List.of(Status.IN_PROGRESS), null, null, null).size());
+        assertEquals(ids.size(), repository.countByAgentAndStatus().stream()
+                .filter(count -> count.getAssignedAgentId() != null)
+                .mapToLong(TicketCountDto::getCount).sum());
+    }
+}
@@ -0,0 +1,117 @@
+package com.ticket.demo.unit.search;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.entity.Status;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.ports.search.TicketSearchHit;
+import com.ticket.search.TicketSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketSearchIndexTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock
+    private TicketRepositoryPort ticketRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TicketSearchIndex ticketSearchIndex;
+
+    @BeforeEach
+    void setup() {
+        ticketSearchIndex = new TicketSearchIndex(ticketRepository, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void givenIndexedTickets_whenSearching_thenOnlyTicketsWithAllTermsAreReturnedBestFirst() {
+        ticketSearchIndex.index(ticket(1L, "Printer jammed on floor two", null, Status.NEW, null), 0);
+        ticketSearchIndex.index(ticket(2L, "Printer printer jammed", "Cleared the jammed printer tray", Status.NEW, null), 0);
+        ticketSearchIndex.index(ticket(3L, "Printer out of toner", null, Status.NEW, null), 0);
+
+        List<TicketSearchHit> hits = ticketSearchIndex.search("JAMMED printer", null, null, null, null, 10);
+
+        assertEquals(List.of(2L, 1L), hits.stream().map(TicketSearchHit::ticketId).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void givenFilters_whenSearching_thenStatusDateAndAgentAreApplied() {
+        ticketSearchIndex.index(ticket(1L, "VPN disconnects", null, Status.NEW, null), 0);
+        ticketSearchIndex.index(ticket(2L, "VPN disconnects hourly", null, Status.IN_PROGRESS, 5L), 0);
+        ticketSearchIndex.index(ticket(3L, "VPN slow", null, Status.IN_PROGRESS, 6L), 0);
+
+        assertEquals(List.of(2L), ids(ticketSearchIndex.search("vpn", List.of(Status.IN_PROGRESS), null, null, 5L, 10)));
+        assertEquals(List.of(), ids(ticketSearchIndex.search("vpn", null, CREATED_DATE.plusSeconds(1), null, null, 10)));
+        assertEquals(3, ticketSearchIndex.search("vpn", null, CREATED_DATE, CREATED_DATE, null, 10).size());
+    }
+
+    @Test
+    void givenUpdatedText_whenSearching_thenOldTermsNoLongerMatchAndNewOnesDo() {
+        ticketSearchIndex.index(ticket(1L, "Laptop battery", null, Status.NEW, null), 0);
+        ticketSearchIndex.index(ticket(1L, "Laptop charger", "Replaced the charger", Status.RESOLVED, 5L), 1);
+
+        assertEquals(List.of(), ids(ticketSearchIndex.search("battery", null, null, null, null, 10)));
+        assertEquals(List.of(1L), ids(ticketSearchIndex.search("charger", List.of(Status.RESOLVED), null, null, null, 10)));
+    }
+
+    @Test
+    void givenOlderVersionArrivingLate_whenIndexing_thenNewerVersionIsKept() {
+        ticketSearchIndex.index(ticket(1L, "Laptop charger", "Replaced the charger", Status.RESOLVED, 5L), 2);
+        ticketSearchIndex.index(ticket(1L, "Laptop charger", null, Status.IN_PROGRESS, 5L), 1);
+
+        assertEquals(List.of(1L), ids(ticketSearchIndex.search("charger", List.of(Status.RESOLVED), null, null, null, 10)));
+        assertEquals(List.of(), ids(ticketSearchIndex.search("charger", List.of(Status.IN_PROGRESS), null, null, null, 10)));
+    }
+
+    @Test
+    void givenTicketsInDatabase_whenRebuilding_thenIndexIsReplacedByDatabaseContent() {
+        ticketSearchIndex.index(ticket(9L, "Stale entry", null, Status.NEW, null), 0);
+        when(ticketRepository.streamWithFilters(null, null, null, null)).thenReturn(Stream.of(
+                ticket(1L, "Monitor flickers", null, Status.NEW, null),
+                ticket(2L, "Monitor cable", null, Status.NEW, null)));
+
+        int indexed = ticketSearchIndex.rebuild();
+
+        assertEquals(2, indexed);
+        assertEquals(List.of(), ids(ticketSearchIndex.search("stale", null, null, null, null, 10)));
+        assertEquals(2, ticketSearchIndex.search("monitor", null, null, null, null, 10).size());
+    }
+
+    @Test
+    void givenLimit_whenSearching_thenOnlyTheTopHitsAreReturned() {
+        for (long id = 1; id <= 50; id++) {
+            ticketSearchIndex.index(ticket(id, "Password reset " + "please ".repeat((int) id % 5), null, Status.NEW, null), 0);
+        }
+
+        List<TicketSearchHit> hits = ticketSearchIndex.search("password reset", null, null, null, null, 5);
+
+        assertEquals(5, hits.size());
+        assertTrue(hits.stream().allMatch(hit -> hit.ticketId() % 5 == 0));
+    }
+
+    private static List<Long> ids(List<TicketSearchHit> hits) {
+        return hits.stream().map(TicketSearchHit::ticketId).toList();
+    }
+
+    private static TicketDto ticket(Long id, String description, String resolutionSummary, Status status, Long agentId) {
+        TicketDto ticketDto = new TicketDto(id, description, status, CREATED_DATE);
+        ticketDto.setResolutionSummary(resolutionSummary);
+        ticketDto.setAssignedAgentId(agentId);
+        return ticketDto;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ticket.demo.unit.service;
+
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.service.TicketArchiver;
+import com.ticket.util.LocalDateTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketArchiverTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 3, 1, 12, 0);
+
+    @Mock
+    private TicketRepositoryPort ticketRepository;
+
+    @Mock
+    private LocalDateTimeProvider localDateTimeProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketArchiver ticketArchiver;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ticketArchiver = new TicketArchiver(ticketRepository, localDateTimeProvider, Duration.ofDays(30), 2,
+                meterRegistry);
+    }
+
+    @Test
+    void givenProvidedClock_whenArchiving_thenTheCutoffIsTakenFromIt() {
+        LocalDateTime cutoff = NOW.minusDays(30);
+        when(localDateTimeProvider.now()).thenReturn(NOW);
+        when(ticketRepository.archiveClosedBefore(cutoff, 2)).thenReturn(2, 2, 1);
+
+        ticketArchiver.archive();
+
+        verify(ticketRepository, times(3)).archiveClosedBefore(cutoff, 2);
+        assertEquals(5.0, meterRegistry.counter("ticket.archive.archived").count());
+    }
+}
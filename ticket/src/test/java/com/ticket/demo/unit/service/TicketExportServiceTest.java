@@ -0,0 +1,95 @@
+package com.ticket.demo.unit.service;
+
+import com.ticket.adapters.memory.InMemoryTicketRepository;
+import com.ticket.dto.TicketExportDto;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+import com.ticket.export.TicketColumnReader;
+import com.ticket.ports.repository.AgentRepositoryPort;
+import com.ticket.service.TicketExportService;
+import com.ticket.util.ContinuationToken;
+import com.ticket.util.LocalDateTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketExportServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 3, 1, 12, 0);
+
+    @Mock
+    private AgentRepositoryPort agentRepository;
+
+    @Mock
+    private LocalDateTimeProvider localDateTimeProvider;
+
+    @TempDir
+    Path directory;
+
+    private InMemoryTicketRepository ticketRepository;
+    private TicketExportService ticketExportService;
+
+    @BeforeEach
+    void setup() {
+        ticketRepository = new InMemoryTicketRepository();
+        ticketExportService = new TicketExportService(ticketRepository, agentRepository, localDateTimeProvider,
+                new SimpleMeterRegistry(), directory.toString(), 16, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void givenTicketCommittedLateWithinTheGracePeriod_whenExportingIncrementally_thenItIsNotSkipped() throws IOException {
+        Long settled = save("Settled", NOW.minusMinutes(10));
+        Long recent = save("Recent", NOW.minusSeconds(30));
+        when(localDateTimeProvider.now()).thenReturn(NOW, NOW.plusMinutes(1), NOW.plusMinutes(1).plusSeconds(1));
+
+        TicketExportDto first = ticketExportService.exportTickets(null);
+        // Stamped before the first export ran, but only visible after it.
+        Long late = save("Late", NOW.minusSeconds(20));
+        TicketExportDto second = ticketExportService.exportTickets(first.getWatermark());
+        TicketExportDto third = ticketExportService.exportTickets(second.getWatermark());
+
+        assertEquals(List.of(settled), ids(first));
+        assertEquals(new ContinuationToken(NOW.minusMinutes(1), Long.MAX_VALUE).encode(), first.getWatermark());
+        assertEquals(List.of(recent, late), ids(second));
+        assertEquals(List.of(), ids(third));
+    }
+
+    @Test
+    void givenClockBehindTheWatermark_whenExporting_thenTheWatermarkDoesNotMoveBack() throws IOException {
+        save("Recent", NOW.minusSeconds(30));
+        String watermark = new ContinuationToken(NOW, 0L).encode();
+        when(localDateTimeProvider.now()).thenReturn(NOW);
+
+        TicketExportDto export = ticketExportService.exportTickets(watermark);
+
+        assertEquals(0, export.getTickets());
+        assertEquals(watermark, export.getWatermark());
+    }
+
+    private Long save(String description, LocalDateTime createdDate) {
+        return ticketRepository.save(new Ticket(null, description, Status.NEW, createdDate)).getId();
+    }
+
+    private static List<Long> ids(TicketExportDto export) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (TicketColumnReader reader = new TicketColumnReader(Path.of(export.getFile()))) {
+            reader.forEach(ticket -> ids.add(ticket.getId()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,182 @@
+package com.ticket.demo.unit.service;
+
+import com.ticket.adapters.memory.InMemoryTicketRepository;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketImportDto;
+import com.ticket.dto.TicketImportState;
+import com.ticket.entity.Agent;
+import com.ticket.entity.ImportProgress;
+import com.ticket.entity.Status;
+import com.ticket.exception.InvalidImportFileException;
+import com.ticket.ports.repository.AgentRepositoryPort;
+import com.ticket.ports.repository.ImportProgressRepositoryPort;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.service.TicketImportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketImportServiceTest {
+
+    private static final LocalDateTime DAY_ONE = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final Agent AGENT = new Agent(7L, "ImportAgent");
+    private static final int TICKETS = 40;
+
+    @Mock
+    private AgentRepositoryPort agentRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private InMemoryTicketRepository ticketRepository;
+    private final ImportProgressTable importProgress = new ImportProgressTable();
+
+    @BeforeEach
+    void setup() throws IOException {
+        ticketRepository = new InMemoryTicketRepository();
+
+        StringBuilder csv = new StringBuilder("legacyId,description,status,createdDate,assignedDate,resolvedDate,"
+                + "closedDate,assignedAgent,resolutionSummary\n");
+        for (int i = 0; i < TICKETS; i++) {
+            LocalDateTime created = DAY_ONE.plusHours(i);
+            csv.append(i).append(",\"Legacy ").append(i).append(", imported\",CLOSED,").append(created).append(',')
+                    .append(created.plusMinutes(5)).append(',').append(created.plusMinutes(30)).append(',')
+                    .append(created.plusHours(1)).append(",ImportAgent,\"Fixed\nremotely\"\n");
+        }
+        csv.append("90,Unknown agent,IN_PROGRESS,").append(DAY_ONE).append(",,,,Nobody,\n");
+        csv.append("91,New with agent,NEW,").append(DAY_ONE).append(",,,,ImportAgent,\n");
+        csv.append("92,Closed before created,CLOSED,").append(DAY_ONE).append(",,,").append(DAY_ONE.minusDays(1))
+                .append(",ImportAgent,Done\n");
+        csv.append("93,Bad status,OPEN,").append(DAY_ONE).append(",,,,,\n");
+        Files.writeString(directory.resolve("legacy.csv"), csv.toString());
+    }
+
+    @Test
+    void givenLegacyFile_whenImporting_thenValidTicketsAreSavedAsTheyAreAndInvalidOnesReported() {
+        stubAgents();
+
+        TicketImportDto result = importService(ticketRepository).importTickets("legacy.csv");
+
+        assertEquals(TICKETS, result.getImported());
+        assertEquals(4, result.getRejected());
+        assertEquals(4, result.getErrors().size());
+        assertTrue(result.getChunks() > 1);
+
+        List<TicketDto> tickets = ticketRepository.findDtosWithFilters(null, null, null, null);
+        assertEquals(TICKETS, tickets.size());
+        TicketDto ticket = tickets.get(7);
+        assertEquals("Legacy 7, imported", ticket.getDescription());
+        assertEquals(Status.CLOSED, ticket.getStatus());
+        assertEquals(AGENT.getId(), ticket.getAssignedAgentId());
+        assertEquals("Fixed\nremotely", ticket.getResolutionSummary());
+        assertEquals(DAY_ONE.plusHours(8), ticket.getClosedDate());
+    }
+
+    @Test
+    void givenImportFailingPartWay_whenRunningItAgain_thenItContinuesFromTheCheckpointWithoutDuplicates() {
+        stubAgents();
+        TicketRepositoryPort failingRepository = mock(TicketRepositoryPort.class);
+        AtomicInteger batches = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (batches.incrementAndGet() == 5) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            return ticketRepository.importAll(invocation.getArgument(0));
+        }).when(failingRepository).importAll(anyList());
+
+        assertThrows(IllegalStateException.class, () -> importService(failingRepository).importTickets("legacy.csv"));
+        int importedBeforeFailure = ticketRepository.findDtosWithFilters(null, null, null, null).size();
+        TicketImportDto resumed = importService(ticketRepository).importTickets("legacy.csv");
+        TicketImportDto repeated = importService(ticketRepository).importTickets("legacy.csv");
+
+        assertTrue(importedBeforeFailure > 0 && importedBeforeFailure < TICKETS);
+        assertEquals(TICKETS - importedBeforeFailure, resumed.getImported());
+        assertEquals(0, repeated.getImported());
+        assertEquals(repeated.getChunks(), repeated.getResumedChunks());
+        List<String> descriptions = ticketRepository.findDtosWithFilters(null, null, null, null).stream()
+                .map(TicketDto::getDescription)
+                .toList();
+        assertEquals(TICKETS, descriptions.stream().distinct().count());
+        assertEquals(TICKETS, descriptions.size());
+    }
+
+    @Test
+    void givenStartedImport_whenPollingItsStatus_thenItCompletesInTheBackground() throws InterruptedException {
+        stubAgents();
+        TicketImportService importService = importService(ticketRepository);
+
+        TicketImportDto started = importService.startImport("legacy.csv");
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        TicketImportDto status = importService.getImport().orElseThrow();
+        while (status.getState() == TicketImportState.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = importService.getImport().orElseThrow();
+        }
+
+        assertEquals("legacy.csv", started.getFile());
+        assertEquals(TicketImportState.COMPLETED, status.getState());
+        assertEquals(TICKETS, status.getImported());
+        assertEquals(4, status.getRejected());
+        assertEquals(1.0, status.getProgress());
+        assertEquals(TICKETS, ticketRepository.findDtosWithFilters(null, null, null, null).size());
+    }
+
+    @Test
+    void givenFileOutsideTheImportDirectoryOrOfAnotherType_whenImporting_thenItIsRejected() {
+        TicketImportService importService = importService(ticketRepository);
+
+        assertThrows(InvalidImportFileException.class, () -> importService.importTickets("../legacy.csv"));
+        assertThrows(InvalidImportFileException.class, () -> importService.importTickets("legacy.txt"));
+        assertThrows(InvalidImportFileException.class, () -> importService.importTickets("missing.csv"));
+        assertThrows(InvalidImportFileException.class, () -> importService.startImport("missing.csv"));
+    }
+
+    private void stubAgents() {
+        when(agentRepository.findByName("ImportAgent")).thenReturn(Optional.of(AGENT));
+        when(agentRepository.findByName("Nobody")).thenReturn(Optional.empty());
+    }
+
+    private TicketImportService importService(TicketRepositoryPort repository) {
+        return new TicketImportService(repository, agentRepository, importProgress, transactionManager,
+                new SimpleMeterRegistry(), directory.toString(), DataSize.ofBytes(512), 3, 4);
+    }
+
+    private static final class ImportProgressTable implements ImportProgressRepositoryPort {
+        private final Map<ImportProgress.Key, ImportProgress> rows = new ConcurrentHashMap<>();
+
+        @Override
+        public List<ImportProgress> findByFileName(String fileName) {
+            return rows.values().stream().filter(progress -> progress.getFileName().equals(fileName)).toList();
+        }
+
+        @Override
+        public void save(ImportProgress progress) {
+            rows.put(new ImportProgress.Key(progress.getFileName(), progress.getChunk()), progress);
+        }
+    }
+}
@@ -1,16 +1,27 @@
 package com.ticket.demo.unit.service;
 
-import com.ticket.adapters.repository.AgentRepository;
 import com.ticket.adapters.repository.TicketRepository;
+import com.ticket.cache.TicketCache;
+import com.ticket.dto.BatchResultDto;
 import com.ticket.dto.TicketDto;
 import com.ticket.dto.TicketFilterDto;
+import com.ticket.dto.TicketGrouping;
+import com.ticket.dto.TicketPageDto;
 import com.ticket.entity.Agent;
 import com.ticket.entity.Status;
 import com.ticket.entity.Ticket;
+import com.ticket.events.TicketEvent;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventType;
 import com.ticket.exception.*;
 import com.ticket.mapper.TicketMapper;
+import com.ticket.ports.repository.AgentRepositoryPort;
+import com.ticket.ports.search.TicketSearchIndexPort;
 import com.ticket.service.TicketService;
+import com.ticket.util.ContinuationToken;
+import com.ticket.util.ErrorMessages;
 import com.ticket.util.RealLocalDateTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,9 +29,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,20 +42,29 @@ import static org.mockito.Mockito.*;
 public class TicketServiceTest {
 
     private TicketService ticketService;
+    private TicketService conditionalTicketService;
+    private TicketEventBus ticketEventBus;
 
     @Mock
     private TicketRepository ticketRepository;
     @Mock
     private RealLocalDateTimeProvider realLocalDateTimeProvider;
     @Mock
-    private AgentRepository agentRepository;
+    private AgentRepositoryPort agentRepository;
+    @Mock
+    private TicketSearchIndexPort ticketSearchIndex;
 
     @Mock
     private TicketMapper ticketMapper;
 
     @BeforeEach
     void setup() {
-        ticketService = new TicketService(ticketRepository, agentRepository, ticketMapper);
+        TicketCache ticketCache = new TicketCache(100, Duration.ofMinutes(1), Optional.empty(), new SimpleMeterRegistry());
+        ticketEventBus = new TicketEventBus(16, new SimpleMeterRegistry(), new RealLocalDateTimeProvider());
+        ticketService = new TicketService(ticketRepository, agentRepository, ticketMapper, ticketCache,
+                ticketEventBus, ticketSearchIndex, realLocalDateTimeProvider, 2, false);
+        conditionalTicketService = new TicketService(ticketRepository, agentRepository, ticketMapper, ticketCache,
+                ticketEventBus, ticketSearchIndex, realLocalDateTimeProvider, 2, true);
     }
 
     @Test
@@ -50,7 +72,7 @@ public class TicketServiceTest {
         TicketDto ticketDto = new TicketDto(null, "description", null, null, null, null, null);
 
         when(ticketRepository.save(any(Ticket.class))).thenReturn(new Ticket());
-
+        when(ticketMapper.convertToTicketDto(any(Ticket.class))).thenReturn(new TicketDto(1L, "description", Status.NEW, LocalDateTime.now()));
 
         ticketService.createTicket(ticketDto, realLocalDateTimeProvider.now());
 
@@ -83,6 +105,33 @@ public class TicketServiceTest {
         assertThrows(MissingDescriptionException.class, () -> ticketService.createTicket(ticketDto, realLocalDateTimeProvider.now()));
     }
 
+    @Test
+    void givenTicketsWithAndWithoutDescription_whenCreatingBatch_thenValidTicketsAreSavedInChunksAndErrorsReported() {
+        List<TicketDto> ticketDtos = List.of(
+                new TicketDto(null, "Ticket 1", null, null),
+                new TicketDto(null, "", null, null),
+                new TicketDto(null, "Ticket 3", null, null),
+                new TicketDto(null, "Ticket 4", null, null)
+        );
+
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            return List.copyOf(tickets);
+        });
+        when(ticketMapper.convertToTicketDto(any(Ticket.class))).thenAnswer(invocation -> {
+            Ticket ticket = invocation.getArgument(0);
+            return new TicketDto(1L, ticket.getDescription(), ticket.getStatus(), ticket.getCreatedDate());
+        });
+
+        BatchResultDto result = ticketService.createTickets(ticketDtos, realLocalDateTimeProvider.now());
+
+        verify(ticketRepository, times(2)).saveAll(anyList());
+        assertEquals(3, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals(ErrorMessages.DESCRIPTION_REQUIRED, result.getItems().get(1).getError());
+        assertEquals("Ticket 4", result.getItems().get(3).getTicket().getDescription());
+    }
+
     @Test
     void givenNewTicket_whenAssigningAgent_thenStatusIsInProgress() {
         Long ticketId = 1L;
@@ -167,6 +216,64 @@ public class TicketServiceTest {
         assertEquals(Status.RESOLVED, updatedTicket.getStatus());
     }
 
+    @Test
+    void givenTicketInProgress_whenResolving_thenResolvedEventIsPublished() {
+        Long ticketId = 1L;
+        Ticket ticket = new Ticket(ticketId, "description", Status.IN_PROGRESS, LocalDateTime.now());
+        TicketDto savedTicketDto = new TicketDto(ticketId, "description", Status.RESOLVED, LocalDateTime.now());
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.save(ticket)).thenReturn(ticket);
+        when(ticketMapper.convertToTicketDto(ticket)).thenReturn(savedTicketDto);
+
+        ticketService.resolveTicket(ticketId);
+
+        List<TicketEvent> events = ticketEventBus.readAfter(0, 10);
+        assertEquals(1, events.size());
+        assertEquals(TicketEventType.RESOLVED, events.get(0).getType());
+        assertEquals(Status.IN_PROGRESS, events.get(0).getPreviousStatus());
+        assertEquals(Status.RESOLVED, events.get(0).getStatus());
+        assertEquals(ticketId, events.get(0).getTicketId());
+    }
+
+    @Test
+    void givenConditionalTransitions_whenResolving_thenTicketIsOnlyReadAfterTheConditionalUpdate() {
+        Long ticketId = 1L;
+        Ticket resolvedTicket = new Ticket(ticketId, "description", Status.RESOLVED, LocalDateTime.now());
+        TicketDto resolvedTicketDto = new TicketDto(ticketId, "description", Status.RESOLVED, LocalDateTime.now());
+
+        when(ticketRepository.compareAndSetStatus(eq(ticketId), eq(Status.IN_PROGRESS), eq(Status.RESOLVED), any())).thenReturn(true);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(resolvedTicket));
+        when(ticketMapper.convertToTicketDto(resolvedTicket)).thenReturn(resolvedTicketDto);
+
+        TicketDto updatedTicket = conditionalTicketService.resolveTicket(ticketId);
+
+        assertEquals(Status.RESOLVED, updatedTicket.getStatus());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    void givenConditionalTransitions_whenResolvingTicketNotInProgress_thenThrowInvalidStateException() {
+        Long ticketId = 1L;
+        Ticket newTicket = new Ticket(ticketId, "description", Status.NEW, LocalDateTime.now());
+
+        when(ticketRepository.compareAndSetStatus(eq(ticketId), eq(Status.IN_PROGRESS), eq(Status.RESOLVED), any())).thenReturn(false);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(newTicket));
+
+        assertThrows(InvalidTicketStateException.class, () -> conditionalTicketService.resolveTicket(ticketId));
+    }
+
+    @Test
+    void givenConditionalTransitions_whenUpdateMatchesNoRowButTicketIsValid_thenThrowConflictException() {
+        Long ticketId = 1L;
+        Ticket inProgressTicket = new Ticket(ticketId, "description", Status.IN_PROGRESS, LocalDateTime.now());
+
+        when(ticketRepository.compareAndSetStatus(eq(ticketId), eq(Status.IN_PROGRESS), eq(Status.RESOLVED), any())).thenReturn(false);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(inProgressTicket));
+
+        assertThrows(TicketConflictException.class, () -> conditionalTicketService.resolveTicket(ticketId));
+    }
+
     @Test
     void givenNonexistentTicket_whenResolving_thenThrowException() {
         Long nonExistentTicketId = 99L;
@@ -211,6 +318,58 @@ public class TicketServiceTest {
         assertEquals(Status.CLOSED, updatedTicket.getStatus());
     }
 
+    @Test
+    void givenResolvedTicket_whenClosing_thenClosedDateComesFromTheDateTimeProvider() {
+        Long ticketId = 1L;
+        LocalDateTime closedDate = LocalDateTime.of(2024, 5, 1, 9, 30);
+        Ticket ticket = new Ticket(ticketId, "description", Status.RESOLVED, closedDate.minusDays(1));
+        ticket.setResolutionSummary("Summary");
+
+        when(realLocalDateTimeProvider.now()).thenReturn(closedDate);
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ticketMapper.convertToTicketDto(ticket)).thenReturn(new TicketDto(ticketId, "description", Status.CLOSED, closedDate.minusDays(1)));
+
+        ticketService.closeTicket(ticketId);
+
+        assertEquals(Status.CLOSED, ticket.getStatus());
+        assertEquals(closedDate, ticket.getClosedDate());
+    }
+
+    @Test
+    void givenTicketsInMixedStates_whenResolvingBatch_thenOnlyInProgressTicketsAreResolved() {
+        LocalDateTime now = LocalDateTime.now();
+        Ticket inProgressTicket = new Ticket(1L, "Ticket 1", Status.IN_PROGRESS, now);
+        Ticket newTicket = new Ticket(2L, "Ticket 2", Status.NEW, now);
+
+        when(ticketRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(inProgressTicket, newTicket));
+        when(ticketRepository.saveAll(List.of(inProgressTicket))).thenReturn(List.of(inProgressTicket));
+        when(ticketMapper.convertToTicketDto(inProgressTicket)).thenReturn(new TicketDto(1L, "Ticket 1", Status.RESOLVED, now));
+
+        BatchResultDto result = ticketService.resolveTickets(List.of(1L, 2L, 3L));
+
+        assertEquals(Status.RESOLVED, inProgressTicket.getStatus());
+        assertEquals(Status.NEW, newTicket.getStatus());
+        assertEquals(1, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+        assertEquals(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED, result.getItems().get(1).getError());
+        assertEquals(ErrorMessages.TICKET_NOT_FOUND, result.getItems().get(2).getError());
+        assertEquals(1, ticketEventBus.lastSequence());
+    }
+
+    @Test
+    void givenResolvedTicketWithoutSummary_whenClosingBatch_thenItemReportsMissingSummary() {
+        Ticket resolvedTicket = new Ticket(1L, "Ticket 1", Status.RESOLVED, LocalDateTime.now());
+
+        when(ticketRepository.findAllById(List.of(1L))).thenReturn(List.of(resolvedTicket));
+        when(ticketRepository.saveAll(List.of())).thenReturn(List.of());
+
+        BatchResultDto result = ticketService.closeTickets(List.of(1L));
+
+        assertEquals(0, result.getSucceeded());
+        assertEquals(ErrorMessages.RESOLUTION_SUMMARY_REQUIRED, result.getItems().get(0).getError());
+    }
+
     @Test
     void givenNonexistentTicket_whenClosing_thenThrowException() {
         Long nonExistentTicketId = 99L;
@@ -313,6 +472,41 @@ public class TicketServiceTest {
         assertEquals(ticketId, ticketFromDB.getId());
     }
 
+    @Test
+    void givenCachedTicket_whenGettingTicketAgain_thenRepositoryIsNotQueried() {
+        Long ticketId = 1L;
+        Ticket ticket = new Ticket(ticketId, "description", Status.NEW, LocalDateTime.now());
+        TicketDto ticketDto = new TicketDto(ticketId, "description", Status.NEW, LocalDateTime.now());
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketMapper.convertToTicketDto(ticket)).thenReturn(ticketDto);
+
+        ticketService.getTicketById(ticketId);
+        ticketService.getTicketById(ticketId);
+
+        verify(ticketRepository, times(1)).findById(ticketId);
+    }
+
+    @Test
+    void givenCachedTicket_whenResolving_thenGettingTicketReloadsResolvedStatus() {
+        Long ticketId = 1L;
+        Ticket ticket = new Ticket(ticketId, "description", Status.IN_PROGRESS, LocalDateTime.now());
+        TicketDto cachedTicketDto = new TicketDto(ticketId, "description", Status.IN_PROGRESS, LocalDateTime.now());
+        Ticket savedTicket = new Ticket(ticketId, "description", Status.RESOLVED, LocalDateTime.now());
+        TicketDto savedTicketDto = new TicketDto(ticketId, "description", Status.RESOLVED, LocalDateTime.now());
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket), Optional.of(ticket), Optional.of(savedTicket));
+        when(ticketMapper.convertToTicketDto(ticket)).thenReturn(cachedTicketDto);
+        when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
+        when(ticketMapper.convertToTicketDto(savedTicket)).thenReturn(savedTicketDto);
+
+        ticketService.getTicketById(ticketId);
+        ticketService.resolveTicket(ticketId);
+
+        assertEquals(Status.RESOLVED, ticketService.getTicketById(ticketId).getStatus());
+        verify(ticketRepository, times(3)).findById(ticketId);
+    }
+
     @Test
     @DisplayName("Given a nonexistent ticket ID, when getting the ticket, then a TicketNotFoundException is thrown")
     void givenNonexistentTicket_whenGettingTicket_thenThrowException() {
@@ -328,12 +522,12 @@ public class TicketServiceTest {
     @Test
     void givenFilterCriteria_whenGettingTickets_thenReturnFilteredTickets() {
         TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null,null);
-        List<Ticket> filteredTickets = List.of(
-                new Ticket(1L, "Ticket 1", Status.NEW, LocalDateTime.now()),
-                new Ticket(2L, "Ticket 2", Status.NEW, LocalDateTime.now())
+        List<TicketDto> filteredTickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.NEW, LocalDateTime.now()),
+                new TicketDto(2L, "Ticket 2", Status.NEW, LocalDateTime.now())
         );
 
-        when(ticketRepository.findWithFilters(anyList(), any(), any(), any())).thenReturn(filteredTickets);
+        when(ticketRepository.findDtosWithFilters(anyList(), any(), any(), any())).thenReturn(filteredTickets);
 
         List<TicketDto> retrievedTickets = ticketService.getTickets(filterDto);
 
@@ -341,6 +535,32 @@ public class TicketServiceTest {
 
     }
 
+    @Test
+    void givenAgentNameFilter_whenGettingTickets_thenFilterByResolvedAgentIdAndResolveNames() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, "Agent001");
+        TicketDto ticketDto = new TicketDto(1L, "Ticket 1", Status.IN_PROGRESS, LocalDateTime.now());
+        ticketDto.setAssignedAgentId(7L);
+
+        Agent agent = new Agent(7L, "Agent001");
+        when(agentRepository.findByName("Agent001")).thenReturn(Optional.of(agent));
+        when(agentRepository.findById(7L)).thenReturn(Optional.of(agent));
+        when(ticketRepository.findDtosWithFilters(isNull(), isNull(), isNull(), eq(7L))).thenReturn(List.of(ticketDto));
+
+        List<TicketDto> retrievedTickets = ticketService.getTickets(filterDto);
+
+        assertEquals("Agent001", retrievedTickets.get(0).getAssignedAgent());
+    }
+
+    @Test
+    void givenUnknownAgentNameFilter_whenGettingTickets_thenNoAgentIdMatches() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, "Unknown");
+
+        when(agentRepository.findByName("Unknown")).thenReturn(Optional.empty());
+        when(ticketRepository.findDtosWithFilters(isNull(), isNull(), isNull(), eq(-1L))).thenReturn(List.of());
+
+        assertTrue(ticketService.getTickets(filterDto).isEmpty());
+    }
+
     @Test
     @DisplayName("Given an invalid date range, when getting tickets, then an InvalidDateRangeException is thrown")
     void givenInvalidDateRange_whenGettingTickets_thenThrowException() {
@@ -353,6 +573,56 @@ public class TicketServiceTest {
         assertThrows(InvalidDateRangeException.class, () -> ticketService.getTickets(filterDto));
     }
 
+    @Test
+    void givenHourAndDayGrouping_whenAggregatingTickets_thenThrowInvalidGroupingException() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, null);
+
+        assertThrows(InvalidGroupingException.class, () -> ticketService.aggregateTickets(filterDto,
+                Set.of(TicketGrouping.HOUR, TicketGrouping.DAY)));
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void givenMoreTicketsThanLimit_whenGettingTicketPage_thenReturnContinuationTokenOfLastTicket() {
+        LocalDateTime createdDate = LocalDateTime.of(2023, 6, 1, 9, 0);
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null, null, null, 2);
+        List<TicketDto> tickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.NEW, createdDate),
+                new TicketDto(2L, "Ticket 2", Status.NEW, createdDate),
+                new TicketDto(3L, "Ticket 3", Status.NEW, createdDate)
+        );
+
+        when(ticketRepository.findPageWithFilters(anyList(), any(), any(), any(), isNull(), eq(3))).thenReturn(tickets);
+
+        TicketPageDto page = ticketService.getTicketPage(filterDto);
+
+        assertEquals(2, page.getTickets().size());
+        ContinuationToken token = ContinuationToken.decode(page.getContinuationToken());
+        assertEquals(createdDate, token.getCreatedDate());
+        assertEquals(2L, token.getId());
+    }
+
+    @Test
+    void givenLastPage_whenGettingTicketPage_thenContinuationTokenIsNull() {
+        String token = new ContinuationToken(LocalDateTime.of(2023, 6, 1, 9, 0), 2L).encode();
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, null, null, token, 2);
+        List<TicketDto> tickets = List.of(new TicketDto(3L, "Ticket 3", Status.NEW, LocalDateTime.of(2023, 6, 1, 9, 0)));
+
+        when(ticketRepository.findPageWithFilters(isNull(), any(), any(), any(), any(ContinuationToken.class), eq(3))).thenReturn(tickets);
+
+        TicketPageDto page = ticketService.getTicketPage(filterDto);
+
+        assertEquals(1, page.getTickets().size());
+        assertNull(page.getContinuationToken());
+    }
+
+    @Test
+    void givenMalformedContinuationToken_whenGettingTicketPage_thenThrowException() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, null, null, "not-a-token", null);
+
+        assertThrows(InvalidContinuationTokenException.class, () -> ticketService.getTicketPage(filterDto));
+    }
+
 
 
 
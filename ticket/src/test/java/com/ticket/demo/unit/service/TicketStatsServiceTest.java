@@ -0,0 +1,85 @@
+package com.ticket.demo.unit.service;
+
+import com.ticket.dto.TicketCountDto;
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketStatsDto;
+import com.ticket.entity.Status;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventType;
+import com.ticket.ports.repository.TicketRepositoryPort;
+import com.ticket.service.TicketStatsService;
+import com.ticket.util.RealLocalDateTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketStatsServiceTest {
+
+    private static final Long AGENT_ID = 3L;
+
+    @Mock
+    private TicketRepositoryPort ticketRepository;
+
+    private TicketEventBus ticketEventBus;
+    private TicketStatsService ticketStatsService;
+
+    @BeforeEach
+    void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ticketEventBus = new TicketEventBus(16, meterRegistry, new RealLocalDateTimeProvider());
+        ticketStatsService = new TicketStatsService(ticketRepository, ticketEventBus, meterRegistry);
+    }
+
+    @Test
+    void givenTicketLifecycleEvents_whenGettingStats_thenCountersFollowEachTransition() {
+        publish(TicketEventType.CREATED, null, 1L, Status.NEW, null);
+        publish(TicketEventType.CREATED, null, 2L, Status.NEW, null);
+        publish(TicketEventType.ASSIGNED, Status.NEW, 1L, Status.IN_PROGRESS, AGENT_ID);
+        publish(TicketEventType.RESOLVED, Status.IN_PROGRESS, 1L, Status.RESOLVED, AGENT_ID);
+        publish(TicketEventType.UPDATED, Status.RESOLVED, 1L, Status.RESOLVED, AGENT_ID);
+
+        TicketStatsDto stats = ticketStatsService.getStats();
+
+        assertEquals(1L, stats.getByStatus().get(Status.NEW));
+        assertEquals(0L, stats.getByStatus().get(Status.IN_PROGRESS));
+        assertEquals(1L, stats.getByStatus().get(Status.RESOLVED));
+        assertEquals(Map.of(Status.NEW, 0L, Status.IN_PROGRESS, 0L, Status.RESOLVED, 1L, Status.CLOSED, 0L),
+                stats.getByAgent().get(AGENT_ID));
+    }
+
+    @Test
+    void givenCountersThatDrifted_whenReconciling_thenDatabaseCountsReplaceThem() {
+        publish(TicketEventType.CREATED, null, 1L, Status.NEW, null);
+        publish(TicketEventType.ASSIGNED, Status.NEW, 1L, Status.IN_PROGRESS, AGENT_ID);
+        publish(TicketEventType.ASSIGNED, Status.NEW, 2L, Status.IN_PROGRESS, 4L);
+        when(ticketRepository.countByAgentAndStatus()).thenReturn(List.of(
+                new TicketCountDto(null, Status.NEW, 5),
+                new TicketCountDto(AGENT_ID, Status.IN_PROGRESS, 2)));
+
+        ticketStatsService.reconcile();
+
+        TicketStatsDto stats = ticketStatsService.getStats();
+        assertEquals(5L, stats.getByStatus().get(Status.NEW));
+        assertEquals(2L, stats.getByStatus().get(Status.IN_PROGRESS));
+        assertEquals(2L, stats.getByAgent().get(AGENT_ID).get(Status.IN_PROGRESS));
+        assertEquals(0L, stats.getByAgent().get(4L).get(Status.IN_PROGRESS));
+        assertNotNull(stats.getReconciledAt());
+    }
+
+    private void publish(TicketEventType type, Status previousStatus, Long ticketId, Status status, Long agentId) {
+        TicketDto ticketDto = new TicketDto(ticketId, "description", status, LocalDateTime.now());
+        ticketDto.setAssignedAgentId(agentId);
+        ticketEventBus.publish(type, previousStatus, ticketDto);
+    }
+}
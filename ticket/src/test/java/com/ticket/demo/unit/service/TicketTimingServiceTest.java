@@ -0,0 +1,94 @@
+package com.ticket.demo.unit.service;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketDurationDto;
+import com.ticket.dto.TicketTimingsDto;
+import com.ticket.entity.Status;
+import com.ticket.events.TicketEventBus;
+import com.ticket.events.TicketEventType;
+import com.ticket.service.TicketTimingService;
+import com.ticket.util.RealLocalDateTimeProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketTimingServiceTest {
+
+    // Long before the events are published, so only the stamped transition dates can produce the expected durations.
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 5, 1, 12, 0);
+    private static final Long AGENT_ID = 3L;
+    private static final Long OTHER_AGENT_ID = 4L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketEventBus ticketEventBus;
+    private TicketTimingService ticketTimingService;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ticketEventBus = new TicketEventBus(256, meterRegistry, new RealLocalDateTimeProvider());
+        ticketTimingService = new TicketTimingService(ticketEventBus, meterRegistry);
+    }
+
+    @Test
+    void givenAssignmentsAfterKnownDelays_whenGettingTimings_thenPercentilesArePerAgent() {
+        for (int minutes = 1; minutes <= 100; minutes++) {
+            publish(TicketEventType.ASSIGNED, Status.IN_PROGRESS, minutes, AGENT_ID);
+        }
+        publish(TicketEventType.ASSIGNED, Status.IN_PROGRESS, 500, OTHER_AGENT_ID);
+
+        TicketTimingsDto timings = ticketTimingService.getTimings();
+
+        TicketDurationDto agent = timings.getTimeToAssignByAgent().get(AGENT_ID);
+        assertEquals(100, agent.getCount());
+        assertEquals(minutesInMillis(50), agent.getP50(), minutesInMillis(50) * 0.01);
+        assertEquals(minutesInMillis(99), agent.getP99(), minutesInMillis(99) * 0.01);
+        assertEquals(1, timings.getTimeToAssignByAgent().get(OTHER_AGENT_ID).getCount());
+        assertEquals(101, timings.getTimeToAssign().getCount());
+        assertEquals(0, timings.getTimeToResolve().getCount());
+        assertEquals(100, meterRegistry.get("ticket.timing.assign").tag("agent", "3").timer().count());
+    }
+
+    @Test
+    void givenResolutionAndOtherTransitions_whenGettingTimings_thenOnlyResolutionsCountAsTimeToResolve() {
+        publish(TicketEventType.RESOLVED, Status.RESOLVED, 120, AGENT_ID);
+        publish(TicketEventType.CLOSED, Status.CLOSED, 240, AGENT_ID);
+        publish(TicketEventType.UPDATED, Status.CLOSED, 360, AGENT_ID);
+
+        ticketTimingService.getTimings();
+        publish(TicketEventType.RESOLVED, Status.RESOLVED, 60, AGENT_ID);
+        TicketTimingsDto timings = ticketTimingService.getTimings();
+
+        TicketDurationDto resolve = timings.getTimeToResolveByAgent().get(AGENT_ID);
+        assertEquals(2, resolve.getCount());
+        assertEquals(minutesInMillis(120), resolve.getMax(), minutesInMillis(120) * 0.01);
+        assertTrue(timings.getTimeToAssignByAgent().isEmpty());
+    }
+
+    @Test
+    void givenTransitionWithoutStampedDate_whenGettingTimings_thenItIsNotRecorded() {
+        TicketDto ticketDto = new TicketDto(1L, "description", Status.IN_PROGRESS, CREATED_DATE);
+        ticketDto.setAssignedAgentId(AGENT_ID);
+        ticketEventBus.publish(TicketEventType.ASSIGNED, Status.NEW, ticketDto);
+
+        assertEquals(0, ticketTimingService.getTimings().getTimeToAssign().getCount());
+    }
+
+    private void publish(TicketEventType type, Status status, int minutesSinceCreation, Long agentId) {
+        TicketDto ticketDto = new TicketDto(1L, "description", status, CREATED_DATE);
+        LocalDateTime transitionDate = CREATED_DATE.plusMinutes(minutesSinceCreation);
+        ticketDto.setAssignedDate(transitionDate);
+        ticketDto.setResolvedDate(type == TicketEventType.RESOLVED ? transitionDate : null);
+        ticketDto.setClosedDate(type == TicketEventType.CLOSED ? transitionDate : null);
+        ticketDto.setAssignedAgentId(agentId);
+        ticketEventBus.publish(type, null, ticketDto);
+    }
+
+    private static long minutesInMillis(int minutes) {
+        return minutes * 60_000L;
+    }
+}
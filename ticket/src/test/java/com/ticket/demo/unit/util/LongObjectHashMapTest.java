@@ -0,0 +1,49 @@
+package com.ticket.demo.unit.util;
+
+import com.ticket.util.LongObjectHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    void givenCollidingKeys_whenPutting_thenEveryKeyResolvesToItsOwnValue() {
+        List<Long> keys = LongStream.rangeClosed(-500, 500).map(key -> key * 1024).boxed().toList();
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        keys.forEach(key -> assertNull(map.put(key, "value" + key)));
+
+        assertEquals(keys.size(), map.size());
+        keys.forEach(key -> assertEquals("value" + key, map.get(key)));
+        assertNull(map.get(1L));
+    }
+
+    @Test
+    void givenExistingKey_whenPutting_thenPreviousValueIsReplacedAndReturned() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(7L, "first");
+
+        assertEquals("first", map.put(7L, "second"));
+        assertEquals("second", map.get(7L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void givenRemovedKeysInACollisionChain_whenGetting_thenRemainingKeysAreStillFound() {
+        List<Long> keys = LongStream.range(0, 2000).map(key -> key * 4096).boxed().toList();
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        keys.forEach(key -> map.put(key, key));
+
+        keys.stream().filter(key -> key % 3 == 0).forEach(key -> assertEquals(key, map.remove(key)));
+
+        keys.forEach(key -> assertEquals(key % 3 == 0 ? null : key, map.get(key)));
+        assertNull(map.remove(-1L));
+        long[] sum = new long[1];
+        map.forEachValue(value -> sum[0]++);
+        assertEquals(map.size(), sum[0]);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ticket.demo.unit.util;
+
+import com.ticket.util.LongObjectMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectMapTest {
+
+    @Test
+    void givenCollidingKeys_whenGetting_thenEveryKeyResolvesToItsOwnValue() {
+        List<Long> keys = LongStream.rangeClosed(-500, 500).map(key -> key * 1024).boxed().toList();
+
+        LongObjectMap<String> map = LongObjectMap.of(keys, Long::longValue, key -> "value" + key);
+
+        assertEquals(keys.size(), map.size());
+        keys.forEach(key -> assertEquals("value" + key, map.get(key)));
+        assertNull(map.get(1L));
+    }
+
+    @Test
+    void givenDuplicateKeys_whenBuilding_thenLastValueWins() {
+        LongObjectMap<String> map = LongObjectMap.of(List.of("a1", "b1", "a2"), s -> s.charAt(0), Function.identity());
+
+        assertEquals(2, map.size());
+        assertEquals("a2", map.get('a'));
+    }
+
+    @Test
+    void givenEmptyMap_whenGetting_thenNullIsReturned() {
+        assertNull(LongObjectMap.empty().get(0L));
+        assertEquals(0, LongObjectMap.of(List.<Long>of(), Long::longValue, Function.identity()).size());
+    }
+}
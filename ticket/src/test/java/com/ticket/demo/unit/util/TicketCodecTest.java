@@ -0,0 +1,97 @@
+package com.ticket.demo.unit.util;
+
+import com.ticket.dto.TicketDto;
+import com.ticket.dto.TicketPageDto;
+import com.ticket.entity.Agent;
+import com.ticket.entity.Status;
+import com.ticket.entity.Ticket;
+import com.ticket.util.TicketCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketCodecTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000);
+
+    @Test
+    void givenFullyPopulatedTicket_whenRoundTripping_thenEveryFieldIsPreserved() {
+        Ticket ticket = new Ticket(42L, "Printer jam on 3rd floor", Status.CLOSED, CREATED_DATE);
+        ticket.setAssignedDate(CREATED_DATE.plusMinutes(5));
+        ticket.setResolvedDate(CREATED_DATE.plusDays(2).plusNanos(1));
+        // Earlier than the creation date, so the relative offset is negative.
+        ticket.setClosedDate(CREATED_DATE.minusSeconds(30));
+        ticket.setResolutionSummary("Replaced the fuser");
+        ticket.setAssignedAgent(new Agent(7L, "Agent007"));
+        ticket.setVersion(3L);
+        Agent resolvedAgent = new Agent(7L, "Agent007");
+
+        ByteBuffer buffer = ByteBuffer.allocate(TicketCodec.maxEncodedSize(ticket));
+        TicketCodec.encode(ticket, buffer);
+        Ticket decoded = TicketCodec.decodeTicket(buffer.flip(), agentId -> resolvedAgent);
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(42L, decoded.getId());
+        assertEquals(3L, decoded.getVersion());
+        assertEquals("Printer jam on 3rd floor", decoded.getDescription());
+        assertEquals(Status.CLOSED, decoded.getStatus());
+        assertEquals(CREATED_DATE, decoded.getCreatedDate());
+        assertEquals(ticket.getAssignedDate(), decoded.getAssignedDate());
+        assertEquals(ticket.getResolvedDate(), decoded.getResolvedDate());
+        assertEquals(ticket.getClosedDate(), decoded.getClosedDate());
+        assertEquals("Replaced the fuser", decoded.getResolutionSummary());
+        assertSame(resolvedAgent, decoded.getAssignedAgent());
+    }
+
+    @Test
+    void givenSparseAndNonAsciiDtos_whenRoundTrippingAPage_thenAbsentFieldsStayNullAndTextIsPreserved() {
+        TicketDto sparse = new TicketDto(null, null, null, null);
+        TicketDto nonAscii = new TicketDto(1L, "Écran cassé — 画面", Status.NEW, CREATED_DATE);
+        nonAscii.setAssignedAgentId(3L);
+        nonAscii.setAssignedAgent("Agent003");
+        TicketPageDto page = new TicketPageDto(List.of(sparse, nonAscii), "next-token");
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TicketCodec.maxEncodedSize(page));
+        TicketCodec.encode(page, buffer);
+        TicketPageDto decoded = TicketCodec.decodePage(buffer.flip());
+
+        assertEquals(new TicketDto(), decoded.getTickets().get(0));
+        TicketDto expected = new TicketDto(1L, "Écran cassé — 画面", Status.NEW, CREATED_DATE);
+        // Agents travel as ids only.
+        expected.setAssignedAgentId(3L);
+        assertEquals(expected, decoded.getTickets().get(1));
+        assertEquals("next-token", decoded.getContinuationToken());
+    }
+
+    @Test
+    void givenTypicalTicket_whenEncoding_thenItIsFarSmallerThanItsJsonAndUnknownVersionsAreRejected() {
+        TicketDto ticketDto = new TicketDto(123_456L, "Ticket 123456", Status.IN_PROGRESS, CREATED_DATE);
+        ticketDto.setAssignedAgentId(12L);
+        ticketDto.setAssignedDate(CREATED_DATE.plusMinutes(3));
+
+        ByteBuffer buffer = ByteBuffer.allocate(TicketCodec.maxEncodedSize(ticketDto));
+        TicketCodec.encode(ticketDto, buffer);
+
+        assertTrue(buffer.position() <= 40, "encoded size: " + buffer.position());
+        buffer.put(0, (byte) (TicketCodec.FORMAT_VERSION + 1));
+        assertThrows(IllegalArgumentException.class, () -> TicketCodec.decodeDto(buffer.flip()));
+    }
+
+    @Test
+    void givenCountOrLengthBeyondTheBody_whenDecoding_thenTheBodyIsRejectedAsMalformed() {
+        // A count of 2^35 tickets in a six-byte body.
+        ByteBuffer hugeCount = ByteBuffer.wrap(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                (byte) 0x80, 0x01});
+        assertThrows(IllegalArgumentException.class, () -> TicketCodec.decodeDtos(hugeCount));
+
+        TicketDto ticketDto = new TicketDto(1L, "Printer jam", Status.NEW, CREATED_DATE);
+        ByteBuffer buffer = ByteBuffer.allocate(TicketCodec.maxEncodedSize(ticketDto));
+        TicketCodec.encode(ticketDto, buffer);
+        ByteBuffer truncated = buffer.flip().limit(buffer.limit() - 3);
+        assertThrows(IllegalArgumentException.class, () -> TicketCodec.decodeDto(truncated));
+    }
+}